@@ -0,0 +1,37 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/** Sinks shared by the benchmarks, so that results do not depend on a terminal. */
+final class BenchmarkPipes {
+
+	private static final int SYSTEM_OUT_BUFFER = 128;
+
+	private BenchmarkPipes() {
+	}
+
+	/** A {@link PrintStream} built the way the JDK builds {@link System#out}, writing nowhere. */
+	static PrintStream systemOut() {
+		return new PrintStream(
+			new BufferedOutputStream( OutputStream.nullOutputStream(), SYSTEM_OUT_BUFFER ),
+			true
+		);
+	}
+
+}
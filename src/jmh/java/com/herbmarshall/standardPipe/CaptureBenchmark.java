@@ -0,0 +1,116 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/** Capture then read back, {@link ByteArrayOutputStream} against the segmented, tail and compressed capture streams. */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 2 )
+@Measurement( iterations = 5 )
+@Fork( value = 1, jvmArgsAppend = { "-Xmx6g", "-XX:MaxDirectMemorySize=4g" } )
+public class CaptureBenchmark {
+
+	private static final int CHUNK = 8192;
+	private static final int TAIL = 256 * 1024;
+
+	@Param( { "1024", "1048576", "67108864", "1073741824" } )
+	private long size;
+
+	private byte[] chunk;
+	private Path file;
+
+	/** Fill the chunk written repeatedly by every benchmark. */
+	@Setup
+	public void setup() throws IOException {
+		chunk = new byte[ CHUNK ];
+		Arrays.fill( chunk, ( byte ) 'x' );
+		file = Files.createTempFile( "standardPipe", ".capture" );
+	}
+
+	/** Remove the file used by {@link #mappedCaptureStream()}. */
+	@TearDown
+	public void tearDown() throws IOException {
+		Files.deleteIfExists( file );
+	}
+
+	/** Capture, then copy out with {@link ByteArrayOutputStream#toByteArray()}. */
+	@Benchmark
+	public byte[] byteArrayOutputStream() {
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		for ( long written = 0; written < size; written += CHUNK )
+			stream.write( chunk, 0, ( int ) Math.min( CHUNK, size - written ) );
+		return stream.toByteArray();
+	}
+
+	/** Capture, then take read only views. */
+	@Benchmark
+	public Object directCaptureStream() throws IOException {
+		DirectCaptureStream stream = new DirectCaptureStream();
+		for ( long written = 0; written < size; written += CHUNK )
+			stream.write( chunk, 0, ( int ) Math.min( CHUNK, size - written ) );
+		return stream.toByteBuffers();
+	}
+
+	/** Capture into a memory mapped file, then take mapped views. */
+	@Benchmark
+	public Object mappedCaptureStream() throws IOException {
+		MappedCaptureStream stream = new MappedCaptureStream( file );
+		for ( long written = 0; written < size; written += CHUNK )
+			stream.write( chunk, 0, ( int ) Math.min( CHUNK, size - written ) );
+		stream.close();
+		return stream.toByteBuffers();
+	}
+
+	/** Keep only the last {@value #TAIL} bytes, then snapshot them. */
+	@Benchmark
+	public byte[] tailCaptureStream() {
+		TailCaptureStream stream = new TailCaptureStream( TAIL );
+		for ( long written = 0; written < size; written += CHUNK )
+			stream.write( chunk, 0, ( int ) Math.min( CHUNK, size - written ) );
+		return stream.snapshot();
+	}
+
+	/** Compress while capturing, then take the GZIP member. */
+	@Benchmark
+	public byte[] compressedCaptureStream() throws IOException {
+		CompressedCaptureStream stream = new CompressedCaptureStream();
+		for ( long written = 0; written < size; written += CHUNK )
+			stream.write( chunk, 0, ( int ) Math.min( CHUNK, size - written ) );
+		stream.close();
+		return stream.toByteArray();
+	}
+
+}
@@ -0,0 +1,204 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link System#out} shaped output with {@link ChannelOutputStream}, both writing to {@code /dev/null}.
+ * The {@code writes} counter reports time per write system call; dividing it by the score gives lines per call.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class ChannelBenchmark {
+
+	private static final Path DEV_NULL = Path.of( "/dev/null" );
+	private static final int SYSTEM_OUT_BUFFER = 8192;
+
+	@Param( { "48", "1024" } )
+	private int length;
+
+	private String line;
+	private Syscalls syscalls;
+	private Standard systemOut;
+	private Standard channel;
+	private Standard channelLines;
+
+	@Setup( Level.Trial )
+	public void setup() throws IOException {
+		line = "x".repeat( length );
+		syscalls = new Syscalls();
+		FileOutputStream file = new FileOutputStream( DEV_NULL.toFile() );
+		systemOut = new Standard(
+			"OUT",
+			new PrintStream( new BufferedOutputStream( new CountingStream( file, syscalls ), SYSTEM_OUT_BUFFER ), true )
+		);
+		channel = new Standard( "OUT", channelStream( false ) );
+		channelLines = new Standard( "OUT", channelStream( true ) );
+	}
+
+	@TearDown( Level.Trial )
+	public void tearDown() throws IOException {
+		systemOut.toDefaultStream().close();
+		channel.toDefaultStream().close();
+		channelLines.toDefaultStream().close();
+	}
+
+	/** The current path: two {@link PrintStream}s and a {@link BufferedOutputStream}, flushed every line. */
+	@Benchmark
+	public void systemOut( Syscalls counters ) {
+		syscalls.bind( counters );
+		systemOut.println( line );
+	}
+
+	/** Straight to the channel, written when the buffer is full. */
+	@Benchmark
+	public void channel( Syscalls counters ) {
+		syscalls.bind( counters );
+		channel.println( line );
+	}
+
+	/** Straight to the channel, written every line like a terminal. */
+	@Benchmark
+	public void channelLineFlush( Syscalls counters ) {
+		syscalls.bind( counters );
+		channelLines.println( line );
+	}
+
+	private ChannelOutputStream channelStream( boolean lineFlush ) throws IOException {
+		return new ChannelOutputStream(
+			new CountingChannel( FileChannel.open( DEV_NULL, StandardOpenOption.WRITE ), syscalls ),
+			ChannelOutputStream.DEFAULT_BUFFER,
+			lineFlush
+		);
+	}
+
+	/** Write system calls made, reported as time per call. */
+	@State( Scope.Thread )
+	@AuxCounters( AuxCounters.Type.OPERATIONS )
+	public static class Syscalls {
+
+		public long writes;
+
+		private Syscalls target = this;
+
+		void bind( Syscalls counters ) {
+			target = counters;
+		}
+
+		void increment() {
+			target.writes++;
+		}
+
+	}
+
+	private static final class CountingStream extends OutputStream {
+
+		private final OutputStream target;
+		private final Syscalls syscalls;
+
+		CountingStream( OutputStream target, Syscalls syscalls ) {
+			this.target = target;
+			this.syscalls = syscalls;
+		}
+
+		@Override
+		public void write( int i ) throws IOException {
+			syscalls.increment();
+			target.write( i );
+		}
+
+		@Override
+		public void write( byte[] bytes, int offset, int length ) throws IOException {
+			syscalls.increment();
+			target.write( bytes, offset, length );
+		}
+
+		@Override
+		public void close() throws IOException {
+			target.close();
+		}
+
+	}
+
+	private static final class CountingChannel implements GatheringByteChannel {
+
+		private final FileChannel target;
+		private final Syscalls syscalls;
+
+		CountingChannel( FileChannel target, Syscalls syscalls ) {
+			this.target = target;
+			this.syscalls = syscalls;
+		}
+
+		@Override
+		public long write( ByteBuffer[] sources, int offset, int length ) throws IOException {
+			syscalls.increment();
+			return target.write( sources, offset, length );
+		}
+
+		@Override
+		public long write( ByteBuffer[] sources ) throws IOException {
+			return write( sources, 0, sources.length );
+		}
+
+		@Override
+		public int write( ByteBuffer source ) throws IOException {
+			syscalls.increment();
+			return target.write( source );
+		}
+
+		@Override
+		public boolean isOpen() {
+			return target.isOpen();
+		}
+
+		@Override
+		public void close() throws IOException {
+			target.close();
+		}
+
+	}
+
+}
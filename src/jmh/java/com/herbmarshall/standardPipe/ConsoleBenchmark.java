@@ -0,0 +1,80 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/** Printing through an installed {@link System#out}, against the {@link PrintStream} it replaces. */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class ConsoleBenchmark {
+
+	private static final String LINE = "request 0123456789abcdef completed";
+
+	private PrintStream original;
+	private PrintStream installed;
+
+	@Setup
+	public void setup() {
+		original = new PrintStream( OutputStream.nullOutputStream(), true );
+		DivergingOutputStream pipe = new DivergingOutputStream( "CONSOLE", OutputStream.nullOutputStream() );
+		installed = new ConsolePrintStream( pipe );
+	}
+
+	@Benchmark
+	public void original() {
+		original.println( LINE );
+	}
+
+	/** Encoded straight into the pipe, after the re-entry check and the override lookup. */
+	@Benchmark
+	public void installed() {
+		installed.println( LINE );
+	}
+
+	@Benchmark
+	public void original_long() {
+		original.println( 1_234_567_890_123L );
+	}
+
+	@Benchmark
+	public void installed_long() {
+		installed.println( 1_234_567_890_123L );
+	}
+
+	/** Not encoded directly, goes through the {@link PrintStream} writers into a {@link ConsoleOutputStream}. */
+	@Benchmark
+	public void installed_object() {
+		installed.println( ( Object ) LINE );
+	}
+
+}
@@ -0,0 +1,79 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/** The cost of a {@link DeduplicatingOutputStream} per line, for repeated and for distinct lines. */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class DeduplicateBenchmark {
+
+	private static final String LINE = "2024-01-01T00:00:00Z WARN connection refused, retrying";
+
+	private Standard plain;
+	private Standard deduplicated;
+	private int counter;
+
+	@Setup
+	public void setup() {
+		plain = new Standard( "BENCHMARK", OutputStream.nullOutputStream() );
+		deduplicated = plain.deduplicated( Duration.ofSeconds( 1 ) );
+	}
+
+	/** No deduplication. */
+	@Benchmark
+	public void plain() {
+		plain.println( LINE );
+	}
+
+	/** The same line every time, collapsed. */
+	@Benchmark
+	public void repeated() {
+		deduplicated.println( LINE );
+	}
+
+	/** A different line every time, compared and passed. */
+	@Benchmark
+	public void distinct() {
+		deduplicated.print( LINE );
+		deduplicated.println( counter++ );
+	}
+
+	/** A different line every time, without deduplication. */
+	@Benchmark
+	public void distinctPlain() {
+		plain.print( LINE );
+		plain.println( counter++ );
+	}
+
+}
@@ -0,0 +1,75 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+
+/** Encoding text directly against the {@link PrintStream} encoder, for ASCII and mixed script lines. */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class EncodeBenchmark {
+
+	private static final String ASCII = "2024-01-01T00:00:00Z INFO request 0123456789abcdef completed in 12 ms";
+	private static final String MIXED = "2024-01-01T00:00:00Z INFO été 日本語 рус 😀";
+
+	@Param( { "UTF-8", "ISO-8859-1" } )
+	private String charset;
+
+	@Param( { "ascii", "mixed" } )
+	private String text;
+
+	private String line;
+	private PrintStream printStream;
+	private Standard standard;
+
+	@Setup
+	public void setup() {
+		line = text.equals( "ascii" ) ? ASCII : MIXED;
+		Charset chosen = Charset.forName( charset );
+		printStream = new PrintStream( OutputStream.nullOutputStream(), false, chosen );
+		standard = new Standard( "BENCHMARK", OutputStream.nullOutputStream(), chosen );
+	}
+
+	/** The former path, through the {@link PrintStream} writers and encoder. */
+	@Benchmark
+	public void printStream() {
+		printStream.println( line );
+	}
+
+	@Benchmark
+	public void direct() {
+		standard.println( line );
+	}
+
+}
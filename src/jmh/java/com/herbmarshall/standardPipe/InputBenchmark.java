@@ -0,0 +1,98 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/** Reading 4 MiB of short lines, in memory and from a file, against a {@link BufferedReader}. */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class InputBenchmark {
+
+	private static final String LINE = "Processed request 8f0c2a4e in 12 ms\n";
+	private static final int SIZE = 4 * 1024 * 1024;
+
+	private byte[] content;
+	private Path file;
+
+	@Setup
+	public void setup() throws IOException {
+		content = LINE.repeat( SIZE / LINE.length() ).getBytes();
+		file = Files.createTempFile( "standardPipe", ".in" );
+		Files.write( file, content );
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		Files.delete( file );
+	}
+
+	@Benchmark
+	public void bufferedReader( Blackhole blackhole ) throws IOException {
+		BufferedReader reader = new BufferedReader( new InputStreamReader( new ByteArrayInputStream( content ) ) );
+		String line;
+		while ( ( line = reader.readLine() ) != null ) blackhole.consume( line );
+	}
+
+	@Benchmark
+	public long lines( Blackhole blackhole ) {
+		return new StandardInput( "BENCHMARK", new ByteArrayInputStream( content ) ).lines( blackhole::consume );
+	}
+
+	/** As stdin redirected from a file is read through {@link System#in}. */
+	@Benchmark
+	public void bufferedReader_file( Blackhole blackhole ) throws IOException {
+		InputStreamReader source = new InputStreamReader( new FileInputStream( file.toFile() ) );
+		try ( BufferedReader reader = new BufferedReader( source ) ) {
+			String line;
+			while ( ( line = reader.readLine() ) != null ) blackhole.consume( line );
+		}
+	}
+
+	/** As {@link StandardInput#directIn()} reads stdin redirected from a file. */
+	@Benchmark
+	public long lines_file( Blackhole blackhole ) throws IOException {
+		FileChannel channel = FileChannel.open( file );
+		try ( ChannelInputStream stream = new ChannelInputStream( channel, ChannelInputStream.DEFAULT_BUFFER ) ) {
+			return new StandardInput( "BENCHMARK", stream ).lines( blackhole::consume );
+		}
+	}
+
+}
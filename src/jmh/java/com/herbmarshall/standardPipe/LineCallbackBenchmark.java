@@ -0,0 +1,77 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/** Counting lines as they are written, against capturing everything then splitting. */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class LineCallbackBenchmark {
+
+	private static final String LINE = "2024-01-01T00:00:00Z INFO request 0123456789abcdef completed";
+
+	@Param( { "1000", "100000" } )
+	private int lines;
+
+	private Standard standard;
+	private long count;
+
+	@Setup
+	public void setup() {
+		standard = new Standard( "BENCHMARK", OutputStream.nullOutputStream() );
+	}
+
+	/** Capture, then split the whole output. */
+	@Benchmark
+	public long captureThenSplit() {
+		ByteArrayOutputStream capture = new ByteArrayOutputStream();
+		standard.withOverride( capture ).execute( this::print );
+		count = 0;
+		for ( String line : capture.toString().split( "\n" ) ) count += line.length();
+		return count;
+	}
+
+	/** Each line handed over as it ends. */
+	@Benchmark
+	public long lineCallback() {
+		count = 0;
+		standard.withLineOverride( line -> count += line.length() ).execute( this::print );
+		return count;
+	}
+
+	private void print() {
+		for ( int i = 0; i < lines; i++ ) standard.println( LINE );
+	}
+
+}
@@ -0,0 +1,82 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/** Cost of the {@link StandardMetrics} bookkeeping done on every write. */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class MetricsBenchmark {
+
+	private static final int LENGTH = 64;
+
+	private final byte[] line = new byte[ LENGTH ];
+	private StandardMetrics metrics;
+	private DivergingOutputStream stream;
+	private OutputStream target;
+
+	@Setup
+	public void setup() {
+		target = OutputStream.nullOutputStream();
+		stream = new DivergingOutputStream( "BENCHMARK", target );
+		metrics = stream.metrics();
+	}
+
+	/** The bookkeeping alone, sampling plus counters. */
+	@Benchmark
+	public void bookkeeping() {
+		if ( StandardMetrics.sample() ) metrics.recordLatency( LENGTH );
+		metrics.recordWrite( LENGTH );
+	}
+
+	/** The bookkeeping from every available thread, the adders spread it over their cells. */
+	@Benchmark
+	@Threads( Threads.MAX )
+	public void bookkeepingContended() {
+		bookkeeping();
+	}
+
+	/** The target alone. */
+	@Benchmark
+	public void targetOnly() throws IOException {
+		target.write( line, 0, LENGTH );
+	}
+
+	/** A full write through the instrumented stream. */
+	@Benchmark
+	public void instrumentedWrite() throws IOException {
+		stream.write( line, 0, LENGTH );
+	}
+
+}
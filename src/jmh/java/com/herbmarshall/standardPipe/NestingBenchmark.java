@@ -0,0 +1,70 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/** Cost of writing through, and installing, nested overrides at increasing depth. */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class NestingBenchmark {
+
+	private static final byte[] LINE = "Processed request 8f0c2a4e\n".getBytes();
+
+	@Param( { "0", "1", "8", "64" } )
+	private int depth;
+
+	private final OutputStream sink = OutputStream.nullOutputStream();
+	private DivergingOutputStream stream;
+
+	/** Install {@link #depth} isolated overrides. */
+	@Setup
+	public void setup() {
+		stream = new DivergingOutputStream( "NESTED", OutputStream.nullOutputStream() );
+		for ( int i = 0; i < depth; i++ ) stream.override( OutputStream.nullOutputStream() );
+	}
+
+	/** Write to the innermost override. */
+	@Benchmark
+	public void write() throws IOException {
+		stream.write( LINE, 0, LINE.length );
+	}
+
+	/** Install and clear one more override on top of the others. */
+	@Benchmark
+	public void push_pop() {
+		stream.override( sink );
+		stream.reset( sink );
+	}
+
+}
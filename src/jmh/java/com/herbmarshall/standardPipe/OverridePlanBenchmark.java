@@ -0,0 +1,89 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/** Setup and teardown cost of {@link OverridePlan#execute}. */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class OverridePlanBenchmark {
+
+	private final OutputStream sink = OutputStream.nullOutputStream();
+
+	private Standard standard;
+	private OverridePlan plan;
+	private Runnable println;
+
+	/** Build a {@link Standard} per thread, overrides are exclusive per pipe. */
+	@Setup
+	public void setup() {
+		standard = new Standard( "BENCHMARK", BenchmarkPipes.systemOut() );
+		plan = standard.withOverride( sink );
+		println = () -> standard.println( "captured" );
+	}
+
+	/** Create a plan and execute an empty action. */
+	@Benchmark
+	public void withOverride_execute() {
+		standard.withOverride( sink ).execute( () -> { } );
+	}
+
+	/** Execute an empty action on an existing plan. */
+	@Benchmark
+	public void execute() {
+		plan.execute( () -> { } );
+	}
+
+	/** Execute an action writing a single line. */
+	@Benchmark
+	public void execute_println() {
+		plan.execute( println );
+	}
+
+	/** Capture a single line into a fresh {@link ByteArrayOutputStream}, the way most tests do. */
+	@Benchmark
+	public int byteArray_println() {
+		ByteArrayOutputStream capture = new ByteArrayOutputStream();
+		standard.withOverride( capture ).execute( println );
+		return capture.size();
+	}
+
+	/** Capture a single line into a pooled {@link CaptureBuffer}, gc.alloc.rate.norm should be zero. */
+	@Benchmark
+	public int capture_println() {
+		try ( CaptureBuffer capture = standard.capture( println ) ) {
+			return capture.size();
+		}
+	}
+
+}
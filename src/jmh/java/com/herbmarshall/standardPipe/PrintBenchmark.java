@@ -0,0 +1,106 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/** Printing numbers and text through the overloads, against building a {@link String} first. */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class PrintBenchmark {
+
+	private Standard standard;
+	private StringBuilder text;
+	private char[] chars;
+	private long counter = 1_234_567_890_123L;
+
+	@Setup
+	public void setup() {
+		standard = new Standard( "BENCHMARK", OutputStream.nullOutputStream() );
+		text = new StringBuilder( "request 0123456789abcdef completed" );
+		chars = text.toString().toCharArray();
+	}
+
+	/** The only option before the overloads. */
+	@Benchmark
+	public void longAsString() {
+		standard.println( Long.toString( counter++ ) );
+	}
+
+	@Benchmark
+	public void longValue() {
+		standard.println( counter++ );
+	}
+
+	@Benchmark
+	public void intValue() {
+		standard.println( ( int ) counter++ );
+	}
+
+	/** Whole values are formatted without {@link Double#toString(double)}. */
+	@Benchmark
+	public void doubleWhole() {
+		standard.println( ( double ) ( counter++ & 0xFFFFF ) );
+	}
+
+	/** Other values still go through {@link Double#toString(double)}, and allocate. */
+	@Benchmark
+	public void doubleFraction() {
+		standard.println( ( counter++ & 0xFFFFF ) + 0.5 );
+	}
+
+	@Benchmark
+	public void charValue() {
+		standard.print( 'x' );
+	}
+
+	/** The only option before the overloads. */
+	@Benchmark
+	public void charSequenceAsString() {
+		standard.println( text.toString() );
+	}
+
+	@Benchmark
+	public void charSequence() {
+		standard.println( text );
+	}
+
+	@Benchmark
+	public void charSequenceSlice() {
+		standard.println( text, 8, 24 );
+	}
+
+	@Benchmark
+	public void charArraySlice() {
+		standard.println( chars, 8, 16 );
+	}
+
+}
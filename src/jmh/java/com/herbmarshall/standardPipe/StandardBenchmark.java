@@ -0,0 +1,103 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link Standard#print(String)} and {@link Standard#println(String)}.
+ * Runs single threaded, {@link Contended} repeats every benchmark with one thread per core.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@Threads( 1 )
+public class StandardBenchmark {
+
+	private static final String LINE = "Processed request 8f0c2a4e in 12 ms with status OK";
+
+	private PrintStream systemOut;
+	private Standard standard;
+	private Standard overridden;
+
+	/** Build one {@link Standard} on the default pipe and one with an override in place. */
+	@Setup
+	public void setup() {
+		systemOut = BenchmarkPipes.systemOut();
+		standard = new Standard( "DEFAULT", BenchmarkPipes.systemOut() );
+		overridden = new Standard( "OVERRIDE", BenchmarkPipes.systemOut() );
+		( ( DivergingOutputStream ) overridden.toStream() ).override( OutputStream.nullOutputStream() );
+	}
+
+	/** Clear the override installed by {@link #setup()}. */
+	@TearDown
+	public void tearDown() {
+		( ( DivergingOutputStream ) overridden.toStream() ).reset();
+	}
+
+	/** Baseline, a {@link PrintStream} shaped like {@link System#out}. */
+	@Benchmark
+	public void systemOut_println() {
+		systemOut.println( LINE );
+	}
+
+	/** {@link Standard#print(String)} to the default pipe. */
+	@Benchmark
+	public void default_print() {
+		standard.print( LINE );
+	}
+
+	/** {@link Standard#println(String)} to the default pipe. */
+	@Benchmark
+	public void default_println() {
+		standard.println( LINE );
+	}
+
+	/** {@link Standard#print(String)} while overridden. */
+	@Benchmark
+	public void override_print() {
+		overridden.print( LINE );
+	}
+
+	/** {@link Standard#println(String)} while overridden. */
+	@Benchmark
+	public void override_println() {
+		overridden.println( LINE );
+	}
+
+	/** Every benchmark of {@link StandardBenchmark} with one thread per core sharing each pipe. */
+	@Threads( Threads.MAX )
+	public static class Contended extends StandardBenchmark {
+	}
+
+}
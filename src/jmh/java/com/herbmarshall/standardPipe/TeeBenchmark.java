@@ -0,0 +1,94 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/** Cost added to the console path by tee sinks, including one far slower than the console. */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class TeeBenchmark {
+
+	private static final String LINE = "x".repeat( 80 );
+	private static final int SINK_CAPACITY = 1024 * 1024;
+
+	private Standard console;
+	private Standard fastSink;
+	private Standard slowSink;
+
+	@Setup
+	public void setup() {
+		console = new Standard( "BENCHMARK", BenchmarkPipes.systemOut() );
+		fastSink = console.withSink( OutputStream.nullOutputStream(), SINK_CAPACITY, OverflowPolicy.DROP_NEWEST );
+		slowSink = console.withSink( new SlowStream(), SINK_CAPACITY, OverflowPolicy.DROP_NEWEST );
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		fastSink.toDefaultStream().close();
+		slowSink.toDefaultStream().close();
+	}
+
+	/** Console only. */
+	@Benchmark
+	public void console() {
+		console.println( LINE );
+	}
+
+	/** Console plus a sink keeping up. */
+	@Benchmark
+	public void fastSink() {
+		fastSink.println( LINE );
+	}
+
+	/** Console plus a sink taking a millisecond per batch, so it is always full. */
+	@Benchmark
+	public void slowSink() {
+		slowSink.println( LINE );
+	}
+
+	private static final class SlowStream extends OutputStream {
+
+		@Override
+		public void write( int i ) {
+		}
+
+		@Override
+		public void write( byte[] bytes, int offset, int length ) {
+			LockSupport.parkNanos( TimeUnit.MILLISECONDS.toNanos( 1 ) );
+		}
+
+	}
+
+}
@@ -0,0 +1,91 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/** Cost of resolving thread scoped overrides on the write path. */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@Threads( Threads.MAX )
+public class ThreadOverrideBenchmark {
+
+	private static final byte[] LINE = "Processed request 8f0c2a4e\n".getBytes();
+
+	private final DivergingOutputStream idle = new DivergingOutputStream( "IDLE", OutputStream.nullOutputStream() );
+	private final DivergingOutputStream busy = new DivergingOutputStream( "BUSY", OutputStream.nullOutputStream() );
+
+	/** Every benchmark thread installs its own override on {@link #busy}. */
+	@State( Scope.Thread )
+	public static class Bound {
+
+		private final OutputStream sink = OutputStream.nullOutputStream();
+		private ThreadOverrideBenchmark shared;
+		private Runnable propagated;
+
+		/** Install the override for this thread and bind a task to it. */
+		@Setup
+		public void setup( ThreadOverrideBenchmark benchmark ) {
+			shared = benchmark;
+			benchmark.busy.override( sink, OverrideScope.THREAD );
+			propagated = benchmark.busy.propagate( () -> { } );
+		}
+
+		/** Remove the override of this thread. */
+		@TearDown
+		public void tearDown() {
+			shared.busy.reset( sink, OverrideScope.THREAD );
+		}
+
+	}
+
+	/** No thread override anywhere, the counter check short circuits. */
+	@Benchmark
+	public void write_noOverride() throws IOException {
+		idle.write( LINE, 0, LINE.length );
+	}
+
+	/** Thread override in place, resolved through the thread local. */
+	@Benchmark
+	public void write_threadOverride( Bound bound ) throws IOException {
+		busy.write( LINE, 0, LINE.length );
+	}
+
+	/** Bind and unbind a propagated override around an empty task. */
+	@Benchmark
+	public void run_propagated( Bound bound ) {
+		bound.propagated.run();
+	}
+
+}
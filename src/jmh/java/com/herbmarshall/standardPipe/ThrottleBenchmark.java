@@ -0,0 +1,71 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/** The cost a {@link ThrottledOutputStream} adds to a line, when passing it and when suppressing it. */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class ThrottleBenchmark {
+
+	private static final String LINE = "2024-01-01T00:00:00Z INFO request 0123456789abcdef completed";
+
+	private Standard plain;
+	private Standard passing;
+	private Standard suppressing;
+
+	@Setup
+	public void setup() {
+		plain = new Standard( "BENCHMARK", OutputStream.nullOutputStream() );
+		passing = plain.throttled( Long.MAX_VALUE / 2, Long.MAX_VALUE / 2, ThrottlePolicy.SUMMARIZE );
+		suppressing = plain.throttled( ThrottledOutputStream.UNLIMITED, 1, ThrottlePolicy.SUMMARIZE );
+	}
+
+	/** No throttle. */
+	@Benchmark
+	public void plain() {
+		plain.println( LINE );
+	}
+
+	/** Both buckets taken from on every line. */
+	@Benchmark
+	public void passing() {
+		passing.println( LINE );
+	}
+
+	/** Every line suppressed, and summarized once a second. */
+	@Benchmark
+	public void suppressing() {
+		suppressing.println( LINE );
+	}
+
+}
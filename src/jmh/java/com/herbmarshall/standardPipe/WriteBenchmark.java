@@ -0,0 +1,77 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/** Compares the bulk write path of {@link DivergingOutputStream} with per byte dispatch. */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class WriteBenchmark {
+
+	@Param( { "16", "200", "4096" } )
+	private int length;
+
+	private DivergingOutputStream stream;
+	private byte[] line;
+	private ByteBuffer direct;
+
+	/** Build a stream resembling {@link System#out}, minus the file descriptor. */
+	@Setup
+	public void setup() {
+		stream = new DivergingOutputStream( "BENCHMARK", BenchmarkPipes.systemOut() );
+		line = new byte[ length ];
+		Arrays.fill( line, ( byte ) 'x' );
+		direct = ByteBuffer.allocateDirect( length ).put( line ).flip();
+	}
+
+	/** Bulk slice, one pipe resolution per call. */
+	@Benchmark
+	public void bulk() throws IOException {
+		stream.write( line, 0, line.length );
+	}
+
+	/** The former behaviour, one pipe resolution and one monitor per byte. */
+	@Benchmark
+	public void perByte() throws IOException {
+		for ( byte b : line ) stream.write( b );
+	}
+
+	/** Bulk from an off heap buffer. */
+	@Benchmark
+	public void byteBuffer() throws IOException {
+		stream.write( direct.rewind() );
+	}
+
+}
@@ -0,0 +1,319 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * An {@link OutputStream} that hands bytes to a background thread, which writes them to a target in large batches.
+ * Writers copy into a preallocated, lock free ring of fixed size slots and never wait on the target,
+ * unless the ring is full and the {@link OverflowPolicy} is {@link OverflowPolicy#BLOCK}.
+ * Writes of up to {@value #SLOT_SIZE} bytes are kept whole, larger writes may interleave with other threads.
+ * Every write takes at least one slot however few bytes it holds, so the ring is full once
+ * {@code capacity / SLOT_SIZE} writes are pending, and a {@link OverflowPolicy} applies from then on;
+ * single bytes and short writes are best gathered before reaching it, by a {@link LineBufferedOutputStream} say.
+ * The target is only ever used by the background thread, streams still open when the JVM exits are flushed
+ * by a shutdown hook shared by every instance.
+ */
+public final class AsyncOutputStream extends OutputStream {
+
+	/** Bytes held by each slot of the ring. */
+	public static final int SLOT_SIZE = 256;
+
+	private static final int BATCH_SIZE = 64 * 1024;
+	private static final long IDLE_PARK = TimeUnit.MILLISECONDS.toNanos( 10 );
+	private static final long FULL_PARK = TimeUnit.MICROSECONDS.toNanos( 50 );
+
+	private final OutputStream target;
+	private final OverflowPolicy policy;
+
+	private final int mask;
+	private final byte[][] slots;
+	private final int[] lengths;
+	private final AtomicLongArray sequences;
+	private final AtomicLong enqueued = new AtomicLong();
+	private final AtomicLong dequeued = new AtomicLong();
+	private final AtomicLong completed = new AtomicLong();
+	private final LongAdder droppedBytes = new LongAdder();
+
+	private final Thread drainer;
+	private volatile boolean sleeping;
+	private volatile boolean running = true;
+	private volatile long flushed;
+	/** What stopped the background thread, if anything did. */
+	private volatile Throwable failure;
+
+	/**
+	 * Start an {@link AsyncOutputStream} and its background thread.
+	 * @param target The {@link OutputStream} receiving the batches.
+	 * @param capacity Bytes of ring, rounded up to a power of two number of {@link #SLOT_SIZE} slots, two at least.
+	 * @param policy What to do with writes once every slot is pending.
+	 * @throws NullPointerException if {@code target} or {@code policy} is null
+	 * @throws IllegalArgumentException if {@code capacity} is less than {@link #SLOT_SIZE}
+	 */
+	public AsyncOutputStream( OutputStream target, int capacity, OverflowPolicy policy ) {
+		this.target = Objects.requireNonNull( target );
+		this.policy = Objects.requireNonNull( policy );
+		if ( capacity < SLOT_SIZE ) throw new IllegalArgumentException( capacityError( capacity ) );
+		int count = slotCount( capacity );
+		this.mask = count - 1;
+		this.slots = new byte[ count ][ SLOT_SIZE ];
+		this.lengths = new int[ count ];
+		this.sequences = new AtomicLongArray( count );
+		for ( int i = 0; i < count; i++ ) sequences.set( i, i );
+		this.drainer = new Thread( this::drain, "standardPipe-async" );
+		this.drainer.setDaemon( true );
+		this.drainer.start();
+		Open.STREAMS.add( this );
+	}
+
+	@Override
+	public void write( int i ) throws IOException {
+		if ( ! running ) throw new IOException( closedError() );
+		long position = claim( 1 );
+		if ( position < 0 ) return;
+		int index = ( int ) position & mask;
+		slots[ index ][ 0 ] = ( byte ) i;
+		publish( index, position, 1 );
+	}
+
+	@Override
+	public void write( byte[] bytes, int offset, int length ) throws IOException {
+		Objects.checkFromIndexSize( offset, length, bytes.length );
+		if ( ! running ) throw new IOException( closedError() );
+		for ( int done = 0; done < length; done += SLOT_SIZE ) {
+			int size = Math.min( SLOT_SIZE, length - done );
+			long position = claim( size );
+			if ( position < 0 ) continue;
+			int index = ( int ) position & mask;
+			System.arraycopy( bytes, offset + done, slots[ index ], 0, size );
+			publish( index, position, size );
+		}
+	}
+
+	/** Wait until every byte written so far has been handed to the target, and the target flushed. */
+	@Override
+	public void flush() {
+		long goal = enqueued.get();
+		while ( flushed < goal && drainer.isAlive() ) {
+			LockSupport.unpark( drainer );
+			LockSupport.parkNanos( this, FULL_PARK );
+		}
+	}
+
+	/** Drain pending bytes, stop the background thread and close the target. */
+	@Override
+	public void close() throws IOException {
+		if ( ! running ) return;
+		flush();
+		running = false;
+		LockSupport.unpark( drainer );
+		try {
+			drainer.join();
+		}
+		catch ( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+		}
+		Open.STREAMS.remove( this );
+		target.close();
+	}
+
+	/** Returns the number of bytes discarded by the {@link OverflowPolicy}, or lost to a failing target. */
+	public long droppedBytes() {
+		return droppedBytes.sum();
+	}
+
+	/** Returns the number of slots waiting for the background thread. */
+	public long pendingSlots() {
+		return enqueued.get() - completed.get();
+	}
+
+	/**
+	 * Claim the next free slot for {@code length} bytes, applying the {@link OverflowPolicy} while the ring is full.
+	 * @return The position of the claimed slot, or -1 if the bytes were dropped.
+	 * @throws IOException if the background thread failed, as nothing would free a slot again
+	 */
+	private long claim( int length ) throws IOException {
+		while ( true ) {
+			Throwable failed = failure;
+			if ( failed != null ) throw new IOException( failedError(), failed );
+			long position = tryClaim();
+			if ( position >= 0 ) return position;
+			if ( policy == OverflowPolicy.DROP_NEWEST ) {
+				droppedBytes.add( length );
+				return -1;
+			}
+			if ( policy == OverflowPolicy.DROP_OLDEST ) {
+				int dropped = poll( null, 0 );
+				if ( dropped >= 0 ) {
+					droppedBytes.add( dropped );
+					completed.incrementAndGet();
+				}
+			}
+			else {
+				LockSupport.unpark( drainer );
+				LockSupport.parkNanos( this, FULL_PARK );
+			}
+		}
+	}
+
+	/** Claim the next slot if it is free, see Vyukov's bounded queue. Returns its position, or -1 if full. */
+	private long tryClaim() {
+		long position = enqueued.get();
+		while ( true ) {
+			int index = ( int ) position & mask;
+			long difference = sequences.getAcquire( index ) - position;
+			if ( difference == 0 ) {
+				if ( enqueued.compareAndSet( position, position + 1 ) ) return position;
+				position = enqueued.get();
+			}
+			else if ( difference < 0 ) return -1;
+			else position = enqueued.get();
+		}
+	}
+
+	/** Hand the filled slot at {@code index} to the background thread. */
+	private void publish( int index, long position, int length ) {
+		lengths[ index ] = length;
+		sequences.setRelease( index, position + 1 );
+		if ( sleeping ) LockSupport.unpark( drainer );
+	}
+
+	/**
+	 * Take the oldest published slot, copying it into {@code into} unless null.
+	 * @return The length of the slot, or -1 if none is ready.
+	 */
+	private int poll( byte[] into, int offset ) {
+		long position = dequeued.get();
+		while ( true ) {
+			int index = ( int ) position & mask;
+			long difference = sequences.getAcquire( index ) - ( position + 1 );
+			if ( difference == 0 ) {
+				if ( dequeued.compareAndSet( position, position + 1 ) ) {
+					int length = lengths[ index ];
+					if ( into != null ) System.arraycopy( slots[ index ], 0, into, offset, length );
+					sequences.setRelease( index, position + mask + 1 );
+					return length;
+				}
+				position = dequeued.get();
+			}
+			else if ( difference < 0 ) return -1;
+			else position = dequeued.get();
+		}
+	}
+
+	private void drain() {
+		try {
+			drainBatches();
+		}
+		catch ( Throwable e ) {
+			failure = e;
+		}
+	}
+
+	private void drainBatches() {
+		byte[] batch = new byte[ BATCH_SIZE ];
+		while ( true ) {
+			int size = 0;
+			int count = 0;
+			while ( size + SLOT_SIZE <= batch.length ) {
+				int length = poll( batch, size );
+				if ( length < 0 ) break;
+				size += length;
+				count++;
+			}
+			if ( count > 0 ) {
+				writeTarget( batch, size );
+				completed.addAndGet( count );
+				continue;
+			}
+			long done = completed.get();
+			if ( flushed < done ) {
+				flushTarget();
+				flushed = done;
+			}
+			if ( ! running ) return;
+			sleeping = true;
+			if ( completed.get() >= enqueued.get() ) LockSupport.parkNanos( this, IDLE_PARK );
+			sleeping = false;
+		}
+	}
+
+	private void writeTarget( byte[] batch, int size ) {
+		try {
+			target.write( batch, 0, size );
+		}
+		catch ( IOException e ) {
+			droppedBytes.add( size );
+		}
+	}
+
+	private void flushTarget() {
+		try {
+			target.flush();
+		}
+		catch ( IOException ignored ) {
+			// Nothing left to retry, the bytes were already handed over
+		}
+	}
+
+	private void flushQuietly() {
+		if ( running ) flush();
+	}
+
+	/** At least two slots, with one the published and free sequences of a slot coincide. */
+	private static int slotCount( int capacity ) {
+		int needed = Math.max( 2, ( capacity + SLOT_SIZE - 1 ) / SLOT_SIZE );
+		int count = Integer.highestOneBit( needed );
+		return count < needed ? count << 1 : count;
+	}
+
+	static String capacityError( int capacity ) {
+		return "Capacity must be at least " + SLOT_SIZE + " bytes: " + capacity;
+	}
+
+	static String closedError() {
+		return "Asynchronous pipe is closed";
+	}
+
+	static String failedError() {
+		return "Asynchronous pipe stopped writing to its target";
+	}
+
+	/** Streams not yet closed, flushed by one shutdown hook rather than one each. */
+	private static final class Open {
+
+		private static final Set<AsyncOutputStream> STREAMS = ConcurrentHashMap.newKeySet();
+
+		static {
+			Runtime.getRuntime().addShutdownHook( new Thread( Open::flushAll, "standardPipe-async-shutdown" ) );
+		}
+
+		private static void flushAll() {
+			for ( AsyncOutputStream stream : STREAMS ) stream.flushQuietly();
+		}
+
+	}
+
+}
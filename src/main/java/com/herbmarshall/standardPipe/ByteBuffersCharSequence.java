@@ -0,0 +1,90 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/** A {@link CharSequence} view of a sequence of {@link ByteBuffer}, one {@code char} per byte ( ISO-8859-1 ). */
+final class ByteBuffersCharSequence implements CharSequence {
+
+	private static final int BYTE_MASK = 0xFF;
+
+	private final ByteBuffer[] buffers;
+	private final int[] starts;
+	private final int offset;
+	private final int length;
+
+	/** Views {@code length} bytes of {@code buffers}, from their positions, starting {@code offset} bytes in. */
+	ByteBuffersCharSequence( ByteBuffer[] buffers, int offset, int length ) {
+		this( buffers, starts( buffers ), offset, length );
+	}
+
+	private ByteBuffersCharSequence( ByteBuffer[] buffers, int[] starts, int offset, int length ) {
+		this.buffers = buffers;
+		this.starts = starts;
+		this.offset = offset;
+		this.length = length;
+	}
+
+	@Override
+	public int length() {
+		return length;
+	}
+
+	@Override
+	public char charAt( int index ) {
+		Objects.checkIndex( index, length );
+		int absolute = offset + index;
+		int segment = segmentOf( absolute );
+		ByteBuffer buffer = buffers[ segment ];
+		return ( char ) ( buffer.get( buffer.position() + absolute - starts[ segment ] ) & BYTE_MASK );
+	}
+
+	@Override
+	public CharSequence subSequence( int start, int end ) {
+		Objects.checkFromToIndex( start, end, length );
+		return new ByteBuffersCharSequence( buffers, starts, offset + start, end - start );
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder( length );
+		for ( int i = 0; i < length; i++ ) builder.append( charAt( i ) );
+		return builder.toString();
+	}
+
+	private int segmentOf( int absolute ) {
+		int low = 0;
+		int high = starts.length - 1;
+		while ( low < high ) {
+			int middle = ( low + high + 1 ) >>> 1;
+			if ( starts[ middle ] <= absolute ) low = middle;
+			else high = middle - 1;
+		}
+		return low;
+	}
+
+	private static int[] starts( ByteBuffer[] buffers ) {
+		int[] starts = new int[ buffers.length ];
+		int total = 0;
+		for ( int i = 0; i < buffers.length; i++ ) {
+			starts[ i ] = total;
+			total += buffers[ i ].remaining();
+		}
+		return starts;
+	}
+
+}
@@ -0,0 +1,62 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/** An {@link InputStream} reading a sequence of {@link ByteBuffer}, without copying them up front. */
+final class ByteBuffersInputStream extends InputStream {
+
+	private static final int BYTE_MASK = 0xFF;
+
+	private final ByteBuffer[] buffers;
+	private int index;
+
+	ByteBuffersInputStream( ByteBuffer[] buffers ) {
+		this.buffers = buffers;
+	}
+
+	@Override
+	public int read() {
+		ByteBuffer buffer = next();
+		return buffer == null ? -1 : buffer.get() & BYTE_MASK;
+	}
+
+	@Override
+	public int read( byte[] bytes, int offset, int length ) {
+		Objects.checkFromIndexSize( offset, length, bytes.length );
+		if ( length == 0 ) return 0;
+		ByteBuffer buffer = next();
+		if ( buffer == null ) return -1;
+		int size = Math.min( length, buffer.remaining() );
+		buffer.get( bytes, offset, size );
+		return size;
+	}
+
+	@Override
+	public int available() {
+		long total = 0;
+		for ( int i = index; i < buffers.length; i++ ) total += buffers[ i ].remaining();
+		return ( int ) Math.min( total, Integer.MAX_VALUE );
+	}
+
+	private ByteBuffer next() {
+		while ( index < buffers.length && ! buffers[ index ].hasRemaining() ) index++;
+		return index < buffers.length ? buffers[ index ] : null;
+	}
+
+}
@@ -0,0 +1,167 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A pooled, pre-sized capture of a {@link Standard}, as returned by {@link Standard#capture(Runnable)}.
+ * The captured bytes are exposed without copying until {@link #close()} returns the buffer to its pool,
+ * after which the buffer must no longer be used, as it may already hold another capture.
+ * Views taken before then keep reading the bytes captured so far: closing leaves the memory they share to them
+ * and gives the pooled buffer fresh memory, so a later capture never writes under a view.
+ */
+public final class CaptureBuffer extends OutputStream {
+
+	/** Bytes a buffer holds before it has to grow. */
+	public static final int INITIAL_SIZE = 4 * 1024;
+
+	/** Largest buffer kept when returned to the pool, larger ones are dropped for a fresh one. */
+	public static final int MAX_RETAINED = 1024 * 1024;
+
+	private final DivergingOutputStream pipe;
+	private final Pool<CaptureBuffer> pool;
+	private final OverridePlan[] plans = new OverridePlan[ OverrideScope.values().length ];
+	private final ReentrantLock lock = new ReentrantLock();
+	private byte[] data = new byte[ INITIAL_SIZE ];
+	private int size;
+	/** Whether a view shares {@link #data}, which must then not be reused. */
+	private boolean shared;
+	private boolean released;
+
+	CaptureBuffer( DivergingOutputStream pipe, Pool<CaptureBuffer> pool ) {
+		this.pipe = Objects.requireNonNull( pipe );
+		this.pool = Objects.requireNonNull( pool );
+	}
+
+	@Override
+	public void write( int i ) {
+		lock.lock();
+		try {
+			ensure( 1 );
+			data[ size++ ] = ( byte ) i;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void write( byte[] bytes, int offset, int length ) {
+		Objects.checkFromIndexSize( offset, length, bytes.length );
+		lock.lock();
+		try {
+			ensure( length );
+			System.arraycopy( bytes, offset, data, size, length );
+			size += length;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Return this buffer to its pool, calling this again has no effect.
+	 * Nothing may write to the buffer any more, the capture that filled it has completed.
+	 */
+	@Override
+	public void close() {
+		if ( released ) return;
+		released = true;
+		size = 0;
+		if ( shared || data.length > MAX_RETAINED ) data = new byte[ INITIAL_SIZE ];
+		shared = false;
+		pool.release( this );
+	}
+
+	/** Returns the number of bytes captured. */
+	public int size() {
+		ensureLeased();
+		return size;
+	}
+
+	/** Returns a read only view of the captured bytes, sharing memory with this buffer. */
+	public ByteBuffer toByteBuffer() {
+		ensureLeased();
+		shared = true;
+		return ByteBuffer.wrap( data, 0, size ).slice().asReadOnlyBuffer();
+	}
+
+	/** Returns an {@link InputStream} reading the captured bytes, without copying them. */
+	public InputStream toInputStream() {
+		ensureLeased();
+		shared = true;
+		return new ByteArrayInputStream( data, 0, size );
+	}
+
+	/**
+	 * Returns a {@link CharSequence} view of the captured bytes, one {@code char} per byte ( ISO-8859-1 ).
+	 * This matches the captured text as long as it is ASCII.
+	 */
+	public CharSequence toCharSequence() {
+		ensureLeased();
+		shared = true;
+		return new ByteBuffersCharSequence( new ByteBuffer[] { ByteBuffer.wrap( data, 0, size ) }, 0, size );
+	}
+
+	/** Returns the captured bytes decoded with {@code charset}, this copies. */
+	public String toString( Charset charset ) {
+		ensureLeased();
+		return new String( data, 0, size, charset );
+	}
+
+	/** Returns the captured bytes decoded with the default charset, this copies. */
+	@Override
+	public String toString() {
+		return toString( Charset.defaultCharset() );
+	}
+
+	/** Mark this buffer, empty and just taken from its pool, as in use. */
+	CaptureBuffer open() {
+		released = false;
+		return this;
+	}
+
+	/** Returns the {@link OverridePlan} capturing into this buffer within {@code scope}, created once. */
+	OverridePlan plan( OverrideScope scope ) {
+		OverridePlan plan = plans[ scope.ordinal() ];
+		if ( plan == null ) {
+			plan = new OverridePlan( pipe, this, scope );
+			plans[ scope.ordinal() ] = plan;
+		}
+		return plan;
+	}
+
+	private void ensure( int extra ) {
+		int needed = size + extra;
+		if ( needed > data.length ) data = Arrays.copyOf( data, Math.max( needed, data.length * 2 ) );
+	}
+
+	private void ensureLeased() {
+		if ( released ) throw new IllegalStateException( releasedError() );
+	}
+
+	static String releasedError() {
+		return "Capture was returned to its pool";
+	}
+
+}
@@ -0,0 +1,135 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An {@link InputStream} reading straight from a {@link ReadableByteChannel}, such as the channel of a
+ * {@link FileDescriptor}, through its own direct buffer.
+ * Each read of the channel fills as much of the buffer as it can, so input redirected from a file is read
+ * in large blocks whatever size the caller reads.
+ */
+public final class ChannelInputStream extends InputStream {
+
+	/** Buffer size used when none is given. */
+	public static final int DEFAULT_BUFFER = 64 * 1024;
+
+	private static final int BYTE_MASK = 0xFF;
+
+	private final ReadableByteChannel channel;
+	private final ByteBuffer buffer;
+	private final ReentrantLock lock = new ReentrantLock();
+
+	/**
+	 * Create a {@link ChannelInputStream}.
+	 * @param channel The {@link ReadableByteChannel} to read from.
+	 * @param bufferSize Bytes to read at once.
+	 * @throws NullPointerException if {@code channel} is null
+	 * @throws IllegalArgumentException if {@code bufferSize} is not positive
+	 */
+	public ChannelInputStream( ReadableByteChannel channel, int bufferSize ) {
+		this.channel = Objects.requireNonNull( channel );
+		if ( bufferSize <= 0 ) throw new IllegalArgumentException( ChannelOutputStream.bufferError( bufferSize ) );
+		this.buffer = ByteBuffer.allocateDirect( bufferSize ).limit( 0 );
+	}
+
+	/**
+	 * Create a {@link ChannelInputStream} reading from {@code descriptor}.
+	 * @param descriptor Usually {@link FileDescriptor#in}.
+	 * @return A new {@link ChannelInputStream}.
+	 * @throws NullPointerException if {@code descriptor} is null
+	 */
+	public static ChannelInputStream of( FileDescriptor descriptor ) {
+		return new ChannelInputStream(
+			new FileInputStream( Objects.requireNonNull( descriptor ) ).getChannel(),
+			DEFAULT_BUFFER
+		);
+	}
+
+	@Override
+	public int read() throws IOException {
+		lock.lock();
+		try {
+			return fill() ? buffer.get() & BYTE_MASK : -1;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public int read( byte[] bytes, int offset, int length ) throws IOException {
+		Objects.checkFromIndexSize( offset, length, bytes.length );
+		if ( length == 0 ) return 0;
+		lock.lock();
+		try {
+			if ( ! fill() ) return -1;
+			int count = Math.min( length, buffer.remaining() );
+			buffer.get( bytes, offset, count );
+			return count;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/** Counts the buffered bytes, plus what is left of a file the channel reads. */
+	@Override
+	public int available() throws IOException {
+		lock.lock();
+		try {
+			return ( int ) Math.min( Integer.MAX_VALUE, buffer.remaining() + pending() );
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	/** Refill the buffer if empty, returns false at the end of the channel. */
+	private boolean fill() throws IOException {
+		if ( buffer.hasRemaining() ) return true;
+		buffer.clear();
+		int read;
+		do read = channel.read( buffer );
+		while ( read == 0 );
+		buffer.flip();
+		return read > 0;
+	}
+
+	private long pending() {
+		if ( ! ( channel instanceof SeekableByteChannel seekable ) ) return 0;
+		try {
+			return Math.max( 0, seekable.size() - seekable.position() );
+		}
+		catch ( IOException e ) {
+			return 0;
+		}
+	}
+
+}
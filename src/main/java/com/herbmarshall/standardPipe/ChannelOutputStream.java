@@ -0,0 +1,172 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An {@link OutputStream} writing straight to a {@link GatheringByteChannel}, such as the channel of a
+ * {@link FileDescriptor}, through its own direct buffer.
+ * When a write does not fit, the buffer and the write are sent together in a single gathering write.
+ * With line flushing on, any write containing a line end is sent immediately, like a terminal expects.
+ */
+public final class ChannelOutputStream extends OutputStream {
+
+	/** Buffer size used when none is given. */
+	public static final int DEFAULT_BUFFER = 64 * 1024;
+
+	private static final byte LINE_END = '\n';
+
+	private final GatheringByteChannel channel;
+	private final ByteBuffer buffer;
+	private final boolean lineFlush;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final ByteBuffer[] gather = new ByteBuffer[ 2 ];
+
+	/**
+	 * Create a {@link ChannelOutputStream}.
+	 * @param channel The {@link GatheringByteChannel} to write to.
+	 * @param bufferSize Bytes to gather before writing.
+	 * @param lineFlush Whether writes containing a line end are sent immediately.
+	 * @throws NullPointerException if {@code channel} is null
+	 * @throws IllegalArgumentException if {@code bufferSize} is not positive
+	 */
+	public ChannelOutputStream( GatheringByteChannel channel, int bufferSize, boolean lineFlush ) {
+		this.channel = Objects.requireNonNull( channel );
+		if ( bufferSize <= 0 ) throw new IllegalArgumentException( bufferError( bufferSize ) );
+		this.buffer = ByteBuffer.allocateDirect( bufferSize );
+		this.lineFlush = lineFlush;
+	}
+
+	/**
+	 * Create a {@link ChannelOutputStream} writing to {@code descriptor}, flushed when the JVM exits.
+	 * @param descriptor Usually {@link FileDescriptor#out} or {@link FileDescriptor#err}.
+	 * @param lineFlush Whether writes containing a line end are sent immediately.
+	 * @return A new {@link ChannelOutputStream}.
+	 * @throws NullPointerException if {@code descriptor} is null
+	 */
+	public static ChannelOutputStream of( FileDescriptor descriptor, boolean lineFlush ) {
+		ChannelOutputStream stream = new ChannelOutputStream(
+			new FileOutputStream( Objects.requireNonNull( descriptor ) ).getChannel(),
+			DEFAULT_BUFFER,
+			lineFlush
+		);
+		Runtime.getRuntime().addShutdownHook( new Thread( stream::flushQuietly, "standardPipe-channel-shutdown" ) );
+		return stream;
+	}
+
+	@Override
+	public void write( int i ) throws IOException {
+		lock.lock();
+		try {
+			if ( ! buffer.hasRemaining() ) drain();
+			buffer.put( ( byte ) i );
+			if ( lineFlush && i == LINE_END ) drain();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void write( byte[] bytes, int offset, int length ) throws IOException {
+		Objects.checkFromIndexSize( offset, length, bytes.length );
+		if ( length == 0 ) return;
+		lock.lock();
+		try {
+			if ( length <= buffer.remaining() ) {
+				buffer.put( bytes, offset, length );
+				if ( lineFlush && containsLineEnd( bytes, offset, length ) ) drain();
+			}
+			else gather( ByteBuffer.wrap( bytes, offset, length ) );
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void flush() throws IOException {
+		lock.lock();
+		try {
+			drain();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		lock.lock();
+		try ( channel ) {
+			drain();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	private void drain() throws IOException {
+		buffer.flip();
+		try {
+			while ( buffer.hasRemaining() ) channel.write( buffer );
+		}
+		finally {
+			buffer.clear();
+		}
+	}
+
+	/** Send the buffer and {@code tail} with as few system calls as the channel allows. */
+	private void gather( ByteBuffer tail ) throws IOException {
+		buffer.flip();
+		gather[ 0 ] = buffer;
+		gather[ 1 ] = tail;
+		try {
+			while ( tail.hasRemaining() ) channel.write( gather );
+		}
+		finally {
+			gather[ 1 ] = null;
+			buffer.clear();
+		}
+	}
+
+	private void flushQuietly() {
+		try {
+			flush();
+		}
+		catch ( IOException ignored ) {
+			// Nowhere left to report it
+		}
+	}
+
+	private static boolean containsLineEnd( byte[] bytes, int offset, int length ) {
+		for ( int i = offset + length - 1; i >= offset; i-- )
+			if ( bytes[ i ] == LINE_END ) return true;
+		return false;
+	}
+
+	static String bufferError( int size ) {
+		return "Buffer size must be positive: " + size;
+	}
+
+}
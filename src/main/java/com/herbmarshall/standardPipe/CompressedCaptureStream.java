@@ -0,0 +1,271 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * An {@link OutputStream} capturing bytes as GZIP, compressed as they arrive, for use as an {@link OverridePlan}
+ * target. Only the compressed bytes are ever held, so a capture costs roughly its compressed size in heap.
+ * <p>
+ * Each capture leases a {@link Deflater} and its input buffer from a shared pool, and returns them on
+ * {@link #close()}, so repeated captures do not each pay for the native zlib state.
+ * The GZIP member is complete once closed, which {@link #toByteArray()} and the readers require.
+ */
+public final class CompressedCaptureStream extends OutputStream {
+
+	/** Deflaters kept for reuse once their captures close. */
+	static final int POOL_SIZE = 8;
+
+	private static final int INPUT_SIZE = 8 * 1024;
+	private static final int INITIAL_OUTPUT = 1024;
+	private static final byte[] HEADER = { 0x1f, ( byte ) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0 };
+	/** CRC-32 then size, each four bytes. */
+	private static final int TRAILER = 2 * Integer.BYTES;
+
+	private static final Pool<Compressor> POOL = new Pool<>( POOL_SIZE, Compressor::new );
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final CRC32 crc = new CRC32();
+	private Compressor compressor;
+	private int pending;
+	private byte[] output = new byte[ INITIAL_OUTPUT ];
+	private int outputSize;
+	private volatile long size;
+	private volatile boolean closed;
+
+	/** Create a {@link CompressedCaptureStream} using {@link Deflater#DEFAULT_COMPRESSION}. */
+	public CompressedCaptureStream() {
+		this( Deflater.DEFAULT_COMPRESSION );
+	}
+
+	/**
+	 * Create a {@link CompressedCaptureStream}.
+	 * @param level The {@link Deflater} compression level, from 0 to 9, or {@link Deflater#DEFAULT_COMPRESSION}.
+	 * @throws IllegalArgumentException if {@code level} is not a compression level
+	 */
+	public CompressedCaptureStream( int level ) {
+		boolean known = level >= Deflater.NO_COMPRESSION && level <= Deflater.BEST_COMPRESSION;
+		if ( ! known && level != Deflater.DEFAULT_COMPRESSION )
+			throw new IllegalArgumentException( levelError( level ) );
+		compressor = POOL.lease();
+		compressor.deflater.setLevel( level );
+		System.arraycopy( HEADER, 0, output, 0, HEADER.length );
+		outputSize = HEADER.length;
+	}
+
+	@Override
+	public void write( int i ) throws IOException {
+		lock.lock();
+		try {
+			ensureOpen();
+			if ( pending == INPUT_SIZE ) compress( compressor.input, 0, pending );
+			compressor.input[ pending++ ] = ( byte ) i;
+			size++;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void write( byte[] bytes, int offset, int length ) throws IOException {
+		Objects.checkFromIndexSize( offset, length, bytes.length );
+		lock.lock();
+		try {
+			ensureOpen();
+			if ( pending + length <= INPUT_SIZE ) {
+				System.arraycopy( bytes, offset, compressor.input, pending, length );
+				pending += length;
+			}
+			else {
+				compress( compressor.input, 0, pending );
+				if ( length < INPUT_SIZE ) {
+					System.arraycopy( bytes, offset, compressor.input, 0, length );
+					pending = length;
+				}
+				else compress( bytes, offset, length );
+			}
+			size += length;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Finish the GZIP member and return the {@link Deflater} to the pool.
+	 * Later writes will throw {@link IOException}, the compressed bytes remain readable.
+	 */
+	@Override
+	public void close() throws IOException {
+		lock.lock();
+		try {
+			if ( closed ) return;
+			compress( compressor.input, 0, pending );
+			Deflater deflater = compressor.deflater;
+			deflater.finish();
+			while ( ! deflater.finished() ) drain( deflater );
+			ensureOutput( TRAILER );
+			writeInt( ( int ) crc.getValue() );
+			writeInt( ( int ) size );
+			release( compressor );
+			compressor = null;
+			closed = true;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/** Returns the number of bytes captured, before compression. */
+	public long size() {
+		return size;
+	}
+
+	/** Returns the number of compressed bytes held so far, including the GZIP header and, once closed, trailer. */
+	public long compressedSize() {
+		lock.lock();
+		try {
+			return outputSize;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/** Returns {@link #size()} divided by {@link #compressedSize()}, so higher is better. */
+	public double ratio() {
+		lock.lock();
+		try {
+			return ( double ) size / outputSize;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns a copy of the GZIP member.
+	 * @throws IllegalStateException if the capture is not closed
+	 */
+	public byte[] toByteArray() {
+		ensureClosed();
+		return Arrays.copyOf( output, outputSize );
+	}
+
+	/**
+	 * Returns an {@link InputStream} reading the GZIP member, without copying it.
+	 * @throws IllegalStateException if the capture is not closed
+	 */
+	public InputStream toInputStream() {
+		ensureClosed();
+		return new ByteArrayInputStream( output, 0, outputSize );
+	}
+
+	/**
+	 * Returns an {@link InputStream} reading the captured bytes, decompressing as they are read.
+	 * @throws IllegalStateException if the capture is not closed
+	 */
+	public InputStream toDecompressedStream() {
+		try {
+			return new GZIPInputStream( toInputStream() );
+		}
+		catch ( IOException e ) {
+			throw new IllegalStateException( e );
+		}
+	}
+
+	/**
+	 * Returns the captured bytes decompressed and decoded with the default charset.
+	 * @throws IllegalStateException if the capture is not closed
+	 */
+	@Override
+	public String toString() {
+		try ( InputStream stream = toDecompressedStream() ) {
+			return new String( stream.readAllBytes() );
+		}
+		catch ( IOException e ) {
+			throw new IllegalStateException( e );
+		}
+	}
+
+	private void compress( byte[] bytes, int offset, int length ) {
+		if ( length == 0 ) return;
+		crc.update( bytes, offset, length );
+		Deflater deflater = compressor.deflater;
+		deflater.setInput( bytes, offset, length );
+		while ( ! deflater.needsInput() ) drain( deflater );
+		pending = 0;
+	}
+
+	private void drain( Deflater deflater ) {
+		ensureOutput( 1 );
+		outputSize += deflater.deflate( output, outputSize, output.length - outputSize );
+	}
+
+	private void ensureOutput( int extra ) {
+		if ( output.length - outputSize >= extra ) return;
+		output = Arrays.copyOf( output, Math.max( outputSize + extra, output.length * 2 ) );
+	}
+
+	private void writeInt( int value ) {
+		for ( int i = 0; i < Integer.BYTES; i++ ) output[ outputSize++ ] = ( byte ) ( value >>> ( Byte.SIZE * i ) );
+	}
+
+	private void ensureOpen() throws IOException {
+		if ( closed ) throw new IOException( SegmentedCaptureStream.closedError() );
+	}
+
+	private void ensureClosed() {
+		if ( ! closed ) throw new IllegalStateException( openError() );
+	}
+
+	/** Returns the number of {@link Deflater}s waiting in the pool, exposed for testing. */
+	static int pooled() {
+		return POOL.pooled();
+	}
+
+	private static void release( Compressor compressor ) {
+		compressor.deflater.reset();
+		if ( ! POOL.release( compressor ) ) compressor.deflater.end();
+	}
+
+	static String levelError( int level ) {
+		return "Not a compression level: " + level;
+	}
+
+	static String openError() {
+		return "Capture is still open";
+	}
+
+	/** A raw {@link Deflater}, the GZIP framing is written here, with the buffer gathering small writes for it. */
+	private static final class Compressor {
+
+		private final Deflater deflater = new Deflater( Deflater.DEFAULT_COMPRESSION, true );
+		private final byte[] input = new byte[ INPUT_SIZE ];
+
+	}
+
+}
@@ -0,0 +1,97 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+
+/**
+ * The {@link OutputStream} behind an installed {@link System#out} or {@link System#err}, writing through a
+ * {@link DivergingOutputStream} so its overrides apply.
+ * An override writing back to the installed stream, on the same thread, reaches the default pipe instead of
+ * recursing forever.
+ */
+final class ConsoleOutputStream extends OutputStream {
+
+	private final DivergingOutputStream pipe;
+	private final ThreadLocal<boolean[]> writing = ThreadLocal.withInitial( () -> new boolean[ 1 ] );
+
+	ConsoleOutputStream( DivergingOutputStream pipe ) {
+		this.pipe = Objects.requireNonNull( pipe );
+	}
+
+	/**
+	 * Mark the calling thread as writing through {@link #pipe}.
+	 * @return The flag to clear once done, or null if the thread is already writing, e.g. from an override.
+	 */
+	boolean[] enter() {
+		boolean[] entered = writing.get();
+		if ( entered[ 0 ] ) return null;
+		entered[ 0 ] = true;
+		return entered;
+	}
+
+	@Override
+	public void write( int i ) throws IOException {
+		boolean[] entered = enter();
+		if ( entered == null ) {
+			pipe.defaultPipe().write( i );
+			return;
+		}
+		try {
+			pipe.write( i );
+		}
+		finally {
+			entered[ 0 ] = false;
+		}
+	}
+
+	@Override
+	public void write( byte[] bytes, int offset, int length ) throws IOException {
+		boolean[] entered = enter();
+		if ( entered == null ) {
+			pipe.defaultPipe().write( bytes, offset, length );
+			return;
+		}
+		try {
+			pipe.write( bytes, offset, length );
+		}
+		finally {
+			entered[ 0 ] = false;
+		}
+	}
+
+	@Override
+	public void flush() throws IOException {
+		boolean[] entered = enter();
+		if ( entered == null ) {
+			pipe.defaultPipe().flush();
+			return;
+		}
+		try {
+			pipe.flush();
+		}
+		finally {
+			entered[ 0 ] = false;
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		pipe.close();
+	}
+
+}
@@ -0,0 +1,144 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import java.io.PrintStream;
+
+/**
+ * The {@link PrintStream} installed as {@link System#out} or {@link System#err}.
+ * Text, characters and whole numbers are encoded straight into the {@link DivergingOutputStream}, without the
+ * intermediate {@link String}s and writers of {@link PrintStream}, everything else goes through a
+ * {@link ConsoleOutputStream}.
+ * A direct print the target fails sets the error state, as {@link PrintStream} does.
+ */
+final class ConsolePrintStream extends PrintStream {
+
+	private final DivergingOutputStream pipe;
+	private final ConsoleOutputStream console;
+
+	ConsolePrintStream( DivergingOutputStream pipe ) {
+		this( pipe, new ConsoleOutputStream( pipe ) );
+	}
+
+	private ConsolePrintStream( DivergingOutputStream pipe, ConsoleOutputStream console ) {
+		super( console, true, pipe.charset() );
+		this.pipe = pipe;
+		this.console = console;
+	}
+
+	@Override
+	public void print( String value ) {
+		boolean[] entered = console.enter();
+		if ( entered == null ) {
+			super.print( value );
+			return;
+		}
+		try {
+			synchronized ( this ) {
+				if ( ! pipe.print( value, false ) ) setError();
+			}
+		}
+		finally {
+			entered[ 0 ] = false;
+		}
+	}
+
+	@Override
+	public void println( String value ) {
+		boolean[] entered = console.enter();
+		if ( entered == null ) {
+			super.println( value );
+			return;
+		}
+		try {
+			synchronized ( this ) {
+				if ( ! pipe.print( value, true ) ) setError();
+			}
+		}
+		finally {
+			entered[ 0 ] = false;
+		}
+	}
+
+	@Override
+	public void println() {
+		println( "" );
+	}
+
+	@Override
+	public void print( char value ) {
+		print( value, false );
+	}
+
+	@Override
+	public void println( char value ) {
+		print( value, true );
+	}
+
+	@Override
+	public void print( int value ) {
+		print( ( long ) value, false );
+	}
+
+	@Override
+	public void println( int value ) {
+		print( ( long ) value, true );
+	}
+
+	@Override
+	public void print( long value ) {
+		print( value, false );
+	}
+
+	@Override
+	public void println( long value ) {
+		print( value, true );
+	}
+
+	private void print( char value, boolean line ) {
+		boolean[] entered = console.enter();
+		if ( entered == null ) {
+			super.print( String.valueOf( value ) );
+			if ( line ) super.println();
+			return;
+		}
+		try {
+			synchronized ( this ) {
+				if ( ! pipe.print( value, line ) ) setError();
+			}
+		}
+		finally {
+			entered[ 0 ] = false;
+		}
+	}
+
+	private void print( long value, boolean line ) {
+		boolean[] entered = console.enter();
+		if ( entered == null ) {
+			super.print( String.valueOf( value ) );
+			if ( line ) super.println();
+			return;
+		}
+		try {
+			synchronized ( this ) {
+				if ( ! pipe.print( value, line ) ) setError();
+			}
+		}
+		finally {
+			entered[ 0 ] = false;
+		}
+	}
+
+}
@@ -0,0 +1,329 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * An {@link OutputStream} that collapses consecutive identical lines into the first of them,
+ * followed by a line such as {@code "... last line repeated 120 times"}.
+ * The summary is written when a different line arrives, on {@link #flush()}, and once {@code timeout} has passed
+ * since the run of repeats started, even if nothing else is written.
+ * A run still pending when the JVM exits is summarized by a shutdown hook shared by every instance.
+ * <p>
+ * Lines are compared in the order they reach the stream, so lines written by several threads should be
+ * whole writes, or pass through a {@link LineBufferedOutputStream} first.
+ * A partial line is held until its line end arrives, lines longer than {@value #MAX_LINE} bytes are
+ * written through and never collapsed.
+ */
+public final class DeduplicatingOutputStream extends OutputStream {
+
+	/** Bytes a line may hold and still be collapsed. */
+	public static final int MAX_LINE = 64 * 1024;
+
+	private static final int INITIAL_SIZE = 256;
+	private static final byte LINE_END = '\n';
+
+	private final OutputStream target;
+	private final long timeout;
+	private final LongSupplier clock;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final byte[] single = new byte[ 1 ];
+
+	private byte[] partial = new byte[ INITIAL_SIZE ];
+	private int partialSize;
+	private boolean passing;
+	private byte[] last = new byte[ INITIAL_SIZE ];
+	private int lastSize = -1;
+	private long repeats;
+	private long firstRepeat;
+	private ScheduledFuture<?> expiry;
+	private long collapsed;
+
+	/**
+	 * Create a {@link DeduplicatingOutputStream}.
+	 * @param target The {@link OutputStream} receiving distinct lines and summaries.
+	 * @param timeout Longest a run of repeats goes without a summary.
+	 * @throws NullPointerException if {@code target} or {@code timeout} is null
+	 * @throws IllegalArgumentException if {@code timeout} is not positive
+	 */
+	public DeduplicatingOutputStream( OutputStream target, Duration timeout ) {
+		this( target, timeout, System::nanoTime );
+	}
+
+	/** Exposed for testing. */
+	DeduplicatingOutputStream( OutputStream target, Duration timeout, LongSupplier clock ) {
+		this.target = Objects.requireNonNull( target );
+		if ( timeout.isNegative() || timeout.isZero() ) throw new IllegalArgumentException( timeoutError( timeout ) );
+		this.timeout = timeout.toNanos();
+		this.clock = Objects.requireNonNull( clock );
+	}
+
+	@Override
+	public void write( int i ) throws IOException {
+		lock.lock();
+		try {
+			single[ 0 ] = ( byte ) i;
+			write( single, 0, 1 );
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void write( byte[] bytes, int offset, int length ) throws IOException {
+		Objects.checkFromIndexSize( offset, length, bytes.length );
+		if ( length == 0 ) return;
+		lock.lock();
+		try {
+			expire();
+			int end = offset + length;
+			int position = offset;
+			if ( partialSize > 0 || passing ) {
+				int lineEnd = indexOf( bytes, position, end );
+				int next = lineEnd < 0 ? end : lineEnd + 1;
+				append( bytes, position, next - position );
+				if ( lineEnd < 0 ) return;
+				position = next;
+				if ( passing ) passing = false;
+				else complete();
+			}
+			int run = position;
+			byte[] lastData = last;
+			int lastOffset = 0;
+			int lastLength = lastSize;
+			while ( position < end ) {
+				// The last line holds its only line end as its final byte, so an equal line needs no scan
+				int next = position + lastLength;
+				if (
+					lastLength > 0 && next <= end &&
+					Arrays.equals( bytes, position, next, lastData, lastOffset, lastOffset + lastLength )
+				) {
+					if ( run < position ) target.write( bytes, run, position - run );
+					repeated();
+					run = next;
+					position = next;
+					continue;
+				}
+				int lineEnd = indexOf( bytes, position, end );
+				if ( lineEnd < 0 ) break;
+				summarize();
+				lastData = bytes;
+				lastOffset = position;
+				lastLength = lineEnd + 1 - position;
+				if ( lastLength > MAX_LINE ) lastLength = -1;
+				position = lineEnd + 1;
+			}
+			if ( run < position ) target.write( bytes, run, position - run );
+			if ( lastData == bytes ) remember( bytes, lastOffset, lastLength );
+			if ( position < end ) append( bytes, position, end - position );
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/** Write any pending summary and partial line, then flush the target. */
+	@Override
+	public void flush() throws IOException {
+		lock.lock();
+		try {
+			release();
+			target.flush();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/** Write any pending summary and partial line, then close the target. */
+	@Override
+	public void close() throws IOException {
+		lock.lock();
+		try {
+			release();
+			target.close();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/** Returns the number of lines collapsed so far. */
+	public long collapsedLines() {
+		lock.lock();
+		try {
+			return collapsed;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/** Hold a partial line, or write it through once it is too long to collapse. */
+	private void append( byte[] bytes, int offset, int length ) throws IOException {
+		if ( passing ) {
+			target.write( bytes, offset, length );
+			return;
+		}
+		int needed = partialSize + length;
+		if ( needed > partial.length ) partial = Arrays.copyOf( partial, Math.max( needed, partial.length * 2 ) );
+		System.arraycopy( bytes, offset, partial, partialSize, length );
+		partialSize = needed;
+		if ( partialSize > MAX_LINE ) release();
+	}
+
+	/** Handle the line completed in {@link #partial}. */
+	private void complete() throws IOException {
+		int size = partialSize;
+		partialSize = 0;
+		if ( size == lastSize && Arrays.equals( partial, 0, size, last, 0, size ) ) {
+			repeated();
+			return;
+		}
+		summarize();
+		target.write( partial, 0, size );
+		byte[] swap = last;
+		last = partial;
+		lastSize = size;
+		partial = swap;
+	}
+
+	private void remember( byte[] bytes, int offset, int length ) {
+		if ( length < 0 ) {
+			lastSize = -1;
+			return;
+		}
+		if ( length > last.length ) last = new byte[ Math.max( length, last.length * 2 ) ];
+		System.arraycopy( bytes, offset, last, 0, length );
+		lastSize = length;
+	}
+
+	/** Count a repeat, reading the clock and scheduling the summary on the first of a run. */
+	private void repeated() {
+		collapsed++;
+		if ( repeats++ > 0 ) return;
+		firstRepeat = clock.getAsLong();
+		Pending.STREAMS.add( this );
+		expiry = Pending.SCHEDULER.schedule( this::timedOut, timeout, TimeUnit.NANOSECONDS );
+	}
+
+	/** Scheduled {@code timeout} after a run of repeats started, summarize it if nothing else has. */
+	private void timedOut() {
+		lock.lock();
+		try {
+			if ( repeats == 0 ) return;
+			summarize();
+			target.flush();
+		}
+		catch ( IOException ignored ) {
+			// No caller to report it to, the next write meets the failure itself
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/** Write the pending summary if its run of repeats started {@code timeout} ago. */
+	private void expire() throws IOException {
+		if ( repeats > 0 && clock.getAsLong() - firstRepeat >= timeout ) summarize();
+	}
+
+	private void summarize() throws IOException {
+		if ( repeats == 0 ) return;
+		long count = repeats;
+		repeats = 0;
+		if ( expiry != null ) {
+			expiry.cancel( false );
+			expiry = null;
+		}
+		Pending.STREAMS.remove( this );
+		target.write( summary( count ).getBytes( StandardCharsets.US_ASCII ) );
+	}
+
+	/** Write the pending summary and partial line, passing the rest of that line straight through. */
+	private void release() throws IOException {
+		summarize();
+		if ( partialSize == 0 ) return;
+		int size = partialSize;
+		partialSize = 0;
+		passing = true;
+		lastSize = -1;
+		target.write( partial, 0, size );
+	}
+
+	private void flushQuietly() {
+		try {
+			flush();
+		}
+		catch ( IOException ignored ) {
+			// Nowhere left to report it
+		}
+	}
+
+	static String summary( long repeats ) {
+		return "... last line repeated " + repeats + " times\n";
+	}
+
+	static String timeoutError( Duration timeout ) {
+		return "Timeout must be positive: " + timeout;
+	}
+
+	private static int indexOf( byte[] bytes, int from, int to ) {
+		for ( int i = from; i < to; i++ )
+			if ( bytes[ i ] == LINE_END ) return i;
+		return -1;
+	}
+
+	/** Runs of repeats waiting on their summary, held only while one is pending. */
+	private static final class Pending {
+
+		private static final ScheduledThreadPoolExecutor SCHEDULER =
+			new ScheduledThreadPoolExecutor( 1, Pending::newThread );
+		private static final Set<DeduplicatingOutputStream> STREAMS = ConcurrentHashMap.newKeySet();
+
+		static {
+			SCHEDULER.setRemoveOnCancelPolicy( true );
+			Runtime.getRuntime().addShutdownHook(
+				new Thread( Pending::flushAll, "standardPipe-deduplicate-shutdown" )
+			);
+		}
+
+		private static Thread newThread( Runnable runnable ) {
+			Thread thread = new Thread( runnable, "standardPipe-deduplicate" );
+			thread.setDaemon( true );
+			return thread;
+		}
+
+		private static void flushAll() {
+			for ( DeduplicatingOutputStream stream : STREAMS ) stream.flushQuietly();
+		}
+
+	}
+
+}
@@ -0,0 +1,38 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * An {@link OutputStream} capturing bytes off heap, for use as an {@link OverridePlan} target.
+ * Bytes are kept in direct {@link ByteBuffer} segments that double in size as the capture grows,
+ * so nothing is ever copied to grow, and the captured bytes are exposed as read only views.
+ */
+public final class DirectCaptureStream extends SegmentedCaptureStream {
+
+	private static final int INITIAL_SEGMENT = 4 * 1024;
+	private static final int MAX_SEGMENT = 64 * 1024 * 1024;
+
+	@Override
+	ByteBuffer nextSegment( ByteBuffer previous, int wanted ) {
+		int size = previous == null ?
+			Math.max( INITIAL_SEGMENT, Math.min( wanted, MAX_SEGMENT ) ) :
+			( int ) Math.min( ( long ) previous.capacity() * 2, MAX_SEGMENT );
+		return ByteBuffer.allocateDirect( size );
+	}
+
+}
@@ -0,0 +1,88 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * An {@link InputStream} reading from a default pipe, or from whichever override is innermost for the
+ * calling thread: a {@link OverrideScope#THREAD} or {@link OverrideScope#INHERITED} override first,
+ * then a {@link OverrideScope#GLOBAL} one.
+ * Each read resolves its source once, overrides nest as they do for {@link DivergingOutputStream}.
+ */
+@SuppressWarnings( "resource" )
+class DivergingInputStream extends InputStream {
+
+	private final String name;
+	private final InputStream defaultPipe;
+	/** Reads never bubble, so an override is only ever read from itself. */
+	private final OverrideStack<InputStream> overrides;
+
+	DivergingInputStream( String name, InputStream defaultPipe ) {
+		this.name = Objects.requireNonNull( name );
+		this.defaultPipe = Objects.requireNonNull( defaultPipe );
+		this.overrides = new OverrideStack<>( defaultPipe, defaultPipe, ( pipe, nesting, beneath ) -> pipe );
+	}
+
+	InputStream defaultPipe() {
+		return defaultPipe;
+	}
+
+	/**
+	 * Install an override for the threads described by {@code scope}, nested in any override of the same scope.
+	 * @throws NullPointerException if {@code pipe} or {@code scope} is null
+	 */
+	void override( InputStream pipe, OverrideScope scope ) {
+		Objects.requireNonNull( scope );
+		if ( scope == OverrideScope.GLOBAL ) overrides.overrideGlobal( pipe, NestingPolicy.ISOLATE );
+		else overrides.overrideThread( pipe, scope == OverrideScope.INHERITED, NestingPolicy.ISOLATE );
+	}
+
+	/** Clear the innermost override of {@code pipe} in {@code scope}, its outer override applies again. */
+	void reset( InputStream pipe, OverrideScope scope ) {
+		if ( scope == OverrideScope.GLOBAL ) overrides.resetGlobal( pipe );
+		else overrides.resetThread();
+	}
+
+	@Override
+	public int read() throws IOException {
+		return overrides.resolve().read();
+	}
+
+	@Override
+	public int read( byte[] bytes, int offset, int length ) throws IOException {
+		return overrides.resolve().read( bytes, offset, length );
+	}
+
+	@Override
+	public int available() throws IOException {
+		return overrides.resolve().available();
+	}
+
+	@Override
+	public void close() throws IOException {
+		defaultPipe.close();
+		InputStream global = overrides.globalOverride();
+		if ( global != null ) global.close();
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
+
+}
@@ -17,61 +17,316 @@ package com.herbmarshall.standardPipe;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import java.util.Objects;
+import java.util.concurrent.Callable;
 
 @SuppressWarnings( "resource" )
 class DivergingOutputStream extends OutputStream {
 
+	private static final int TRANSFER_SIZE = 8192;
+	private static final String NULL = "null";
+
 	private final String name;
 	private final OutputStream defaultPipe;
-	private OutputStream pipe;
+	private final OverrideStack<OutputStream> overrides;
 
-	private final PrintStream printer;
+	private final Charset charset;
+	private final ThreadLocal<TextEncoder> encoder;
+	private final StandardMetrics metrics;
 
 	DivergingOutputStream( String name, OutputStream defaultPipe ) {
+		this( name, defaultPipe, Charset.defaultCharset() );
+	}
+
+	DivergingOutputStream( String name, OutputStream defaultPipe, Charset charset ) {
 		this.name = Objects.requireNonNull( name );
 		this.defaultPipe = Objects.requireNonNull( defaultPipe );
-		this.printer = new PrintStream( this );
+		this.overrides = new OverrideStack<>( defaultPipe, new GlobalPipe(), DivergingOutputStream::target );
+		this.charset = Objects.requireNonNull( charset );
+		this.encoder = ThreadLocal.withInitial( () -> new TextEncoder( charset ) );
+		this.metrics = new StandardMetrics( name );
+		if ( FlightRecording.AVAILABLE ) ThroughputEvent.track( metrics );
+	}
+
+	OutputStream defaultPipe() {
+		return defaultPipe;
+	}
+
+	StandardMetrics metrics() {
+		return metrics;
+	}
+
+	/** Returns the {@link Charset} text is printed in. */
+	Charset charset() {
+		return charset;
 	}
 
 	/** @see PrintStream#print(String) */
 	public void print( String value ) {
-		printer.print( value );
+		print( value, false );
 	}
 
 	/** @see PrintStream#println(String) */
 	public void println( String value ) {
-		printer.println( value );
+		print( value, true );
+	}
+
+	/**
+	 * Print {@code value} in decimal, followed by a line separator if {@code line}, without allocating.
+	 * @return Whether the target took it, a failure is dropped for the caller to record, as {@link PrintStream} does
+	 */
+	boolean print( long value, boolean line ) {
+		TextEncoder text = encoder();
+		try {
+			text.appendLong( value ).appendLineSeparator( line ).finish();
+			return true;
+		}
+		catch ( IOException e ) {
+			return false;
+		}
+		finally {
+			text.abandon();
+		}
+	}
+
+	/** @see #print(long, boolean) */
+	boolean print( double value, boolean line ) {
+		TextEncoder text = encoder();
+		try {
+			text.appendDouble( value ).appendLineSeparator( line ).finish();
+			return true;
+		}
+		catch ( IOException e ) {
+			return false;
+		}
+		finally {
+			text.abandon();
+		}
+	}
+
+	/** @see #print(long, boolean) */
+	boolean print( char value, boolean line ) {
+		TextEncoder text = encoder();
+		try {
+			text.append( value ).appendLineSeparator( line ).finish();
+			return true;
+		}
+		catch ( IOException e ) {
+			return false;
+		}
+		finally {
+			text.abandon();
+		}
 	}
 
-	synchronized void override( OutputStream pipe ) {
-		if ( this.pipe != null ) throw new IllegalStateException( doubleOverrideError( name ) );
-		this.pipe = Objects.requireNonNull( pipe );
+	/**
+	 * Print {@code count} characters of {@code value} from {@code offset}, without allocating.
+	 * @return Whether the target took it, see {@link #print(long, boolean)}
+	 */
+	boolean print( char[] value, int offset, int count, boolean line ) {
+		Objects.checkFromIndexSize( offset, count, value.length );
+		TextEncoder text = encoder();
+		try {
+			text.append( value, offset, count ).appendLineSeparator( line ).finish();
+			return true;
+		}
+		catch ( IOException e ) {
+			return false;
+		}
+		finally {
+			text.abandon();
+		}
 	}
 
+	/**
+	 * Print {@code value}, or {@code "null"}, without allocating.
+	 * @return Whether the target took it, see {@link #print(long, boolean)}
+	 */
+	boolean print( CharSequence value, boolean line ) {
+		CharSequence checked = value == null ? NULL : value;
+		return print( checked, 0, checked.length(), line );
+	}
+
+	/**
+	 * Print characters {@code start} to {@code end} of {@code value}, without allocating.
+	 * A null {@code value} prints as {@code "null"}, as {@link Appendable#append(CharSequence, int, int)} does.
+	 * @return Whether the target took it, see {@link #print(long, boolean)}
+	 */
+	boolean print( CharSequence value, int start, int end, boolean line ) {
+		CharSequence checked = value == null ? NULL : value;
+		Objects.checkFromToIndex( start, end, checked.length() );
+		TextEncoder text = encoder();
+		try {
+			text.append( checked, start, end ).appendLineSeparator( line ).finish();
+			return true;
+		}
+		catch ( IOException e ) {
+			return false;
+		}
+		finally {
+			text.abandon();
+		}
+	}
+
+	/** Returns the encoder of this thread, or a fresh one when a pipe prints back into this stream. */
+	private TextEncoder encoder() {
+		TextEncoder text = encoder.get();
+		return ( text.busy() ? new TextEncoder( charset ) : text ).start( this );
+	}
+
+	/** @see #override(OutputStream, NestingPolicy) */
+	void override( OutputStream pipe ) {
+		override( pipe, NestingPolicy.ISOLATE );
+	}
+
+	/**
+	 * Install a global override, nested in any global override already in place.
+	 * Any write starting after this returns, on any thread, is sent to {@code pipe}.
+	 * @throws NullPointerException if {@code pipe} or {@code nesting} is null
+	 */
+	void override( OutputStream pipe, NestingPolicy nesting ) {
+		overrides.overrideGlobal( pipe, nesting );
+		metrics.overrideStarted();
+	}
+
+	/** Clear the innermost global override. */
 	void reset() {
-		this.pipe = null;
+		OverrideStack.Layer<OutputStream> removed = overrides.resetGlobal();
+		if ( removed != null ) metrics.overrideEnded( removed.start() );
+	}
+
+	/**
+	 * Clear the innermost global override of {@code pipe}, if it is still in place.
+	 * Overrides are normally cleared innermost first, in which case this is a single swap.
+	 * Otherwise the overrides nested inside it are rebuilt, so they no longer bubble into {@code pipe}.
+	 */
+	void reset( OutputStream pipe ) {
+		OverrideStack.Layer<OutputStream> removed = overrides.resetGlobal( pipe );
+		if ( removed != null ) metrics.overrideEnded( removed.start() );
+	}
+
+	void override( OutputStream pipe, OverrideScope scope ) {
+		override( pipe, scope, NestingPolicy.ISOLATE );
+	}
+
+	/**
+	 * Install an override for the threads described by {@code scope}, nested in any override of the same scope.
+	 * A {@link NestingPolicy#BUBBLE} thread override nested in nothing bubbles to the global override, if any.
+	 */
+	void override( OutputStream pipe, OverrideScope scope, NestingPolicy nesting ) {
+		if ( scope == OverrideScope.GLOBAL ) override( pipe, nesting );
+		else {
+			overrides.overrideThread( pipe, scope == OverrideScope.INHERITED, nesting );
+			metrics.overrideStarted();
+		}
+	}
+
+	void reset( OutputStream pipe, OverrideScope scope ) {
+		if ( scope == OverrideScope.GLOBAL ) reset( pipe );
+		else {
+			OverrideStack.ThreadOverride<OutputStream> removed = overrides.resetThread();
+			if ( removed != null ) metrics.overrideEnded( removed.start() );
+		}
+	}
+
+	/**
+	 * Bind the thread override of the calling thread, if any, to {@code action}.
+	 * The returned {@link Runnable} routes writes to that override on whichever thread runs it,
+	 * for as long as the override is in place.
+	 * @throws NullPointerException if {@code action} is null
+	 */
+	Runnable propagate( Runnable action ) {
+		return overrides.propagate( action );
+	}
+
+	/** @see #propagate(Runnable) */
+	<T> Callable<T> propagate( Callable<T> action ) {
+		return overrides.propagate( action );
 	}
 
 	@Override
 	public void write( int i ) throws IOException {
-		resolvePipe().write( i );
+		OutputStream target = overrides.resolve();
+		SlowWriteEvent event = FlightRecording.AVAILABLE ? SlowWriteEvent.start() : null;
+		if ( StandardMetrics.sample() ) {
+			long start = System.nanoTime();
+			target.write( i );
+			metrics.recordLatency( System.nanoTime() - start );
+		}
+		else target.write( i );
+		metrics.recordWrite( 1 );
+		if ( event != null ) SlowWriteEvent.end( event, name, 1 );
+	}
+
+	@Override
+	public void write( byte[] bytes, int offset, int length ) throws IOException {
+		Objects.checkFromIndexSize( offset, length, bytes.length );
+		if ( length == 0 ) return;
+		send( overrides.resolve(), bytes, offset, length );
+	}
+
+	/**
+	 * Write the remaining bytes of {@code buffer}, resolving the target pipe only once.
+	 * A buffer without an accessible array is copied through the scratch space of this thread's encoder,
+	 * in chunks of up to {@value #TRANSFER_SIZE} bytes.
+	 * The position of {@code buffer} will be advanced to its limit.
+	 * @throws NullPointerException if {@code buffer} is null
+	 */
+	void write( ByteBuffer buffer ) throws IOException {
+		int length = buffer.remaining();
+		if ( length == 0 ) return;
+		OutputStream target = overrides.resolve();
+		if ( buffer.hasArray() ) {
+			send( target, buffer.array(), buffer.arrayOffset() + buffer.position(), length );
+			buffer.position( buffer.limit() );
+			return;
+		}
+		TextEncoder text = encoder();
+		try {
+			byte[] chunk = text.scratch( Math.min( length, TRANSFER_SIZE ) );
+			while ( buffer.hasRemaining() ) {
+				int size = Math.min( buffer.remaining(), TRANSFER_SIZE );
+				buffer.get( chunk, 0, size );
+				send( target, chunk, 0, size );
+			}
+		}
+		finally {
+			text.abandon();
+		}
+	}
+
+	/** Write to the resolved {@code target}, recording the write and sampling its latency. */
+	private void send( OutputStream target, byte[] bytes, int offset, int length ) throws IOException {
+		SlowWriteEvent event = FlightRecording.AVAILABLE ? SlowWriteEvent.start() : null;
+		if ( StandardMetrics.sample() ) {
+			long start = System.nanoTime();
+			target.write( bytes, offset, length );
+			metrics.recordLatency( System.nanoTime() - start );
+		}
+		else target.write( bytes, offset, length );
+		metrics.recordWrite( length );
+		if ( event != null ) SlowWriteEvent.end( event, name, length );
 	}
 
 	@Override
 	public void flush() throws IOException {
+		metrics.recordFlush();
+		SlowFlushEvent event = FlightRecording.AVAILABLE ? SlowFlushEvent.start() : null;
 		defaultPipe.flush();
-		if ( pipe != null ) pipe.flush();
+		OutputStream global = overrides.resolveGlobal();
+		if ( global != defaultPipe ) global.flush();
+		OutputStream local = overrides.resolveThread();
+		if ( local != null ) local.flush();
+		if ( event != null ) SlowFlushEvent.end( event, name );
 	}
 
 	@Override
 	public void close() throws IOException {
 		defaultPipe.close();
-		if ( pipe != null ) pipe.close();
-	}
-
-	private OutputStream resolvePipe() {
-		return Objects.requireNonNullElse( pipe, defaultPipe );
+		OutputStream global = overrides.globalOverride();
+		if ( global != null ) global.close();
 	}
 
 	@Override
@@ -79,8 +334,60 @@ class DivergingOutputStream extends OutputStream {
 		return name;
 	}
 
-	static String doubleOverrideError( String pipeName ) {
-		return "Double override of standard pipe " + pipeName;
+	/** The {@link OutputStream} written to, for a {@link NestingPolicy#BUBBLE} override. */
+	private static OutputStream target( OutputStream pipe, NestingPolicy nesting, OutputStream beneath ) {
+		return nesting == NestingPolicy.BUBBLE ? new BubblingOutputStream( pipe, beneath ) : pipe;
+	}
+
+	/** Writes to an override, then to what it is nested in. */
+	private static final class BubblingOutputStream extends OutputStream {
+
+		private final OutputStream inner;
+		private final OutputStream outer;
+
+		private BubblingOutputStream( OutputStream inner, OutputStream outer ) {
+			this.inner = inner;
+			this.outer = outer;
+		}
+
+		@Override
+		public void write( int i ) throws IOException {
+			inner.write( i );
+			outer.write( i );
+		}
+
+		@Override
+		public void write( byte[] bytes, int offset, int length ) throws IOException {
+			inner.write( bytes, offset, length );
+			outer.write( bytes, offset, length );
+		}
+
+		@Override
+		public void flush() throws IOException {
+			inner.flush();
+			outer.flush();
+		}
+
+	}
+
+	/** Whatever global override is in place when written to, for thread overrides bubbling past their own. */
+	private final class GlobalPipe extends OutputStream {
+
+		@Override
+		public void write( int i ) throws IOException {
+			overrides.resolveGlobal().write( i );
+		}
+
+		@Override
+		public void write( byte[] bytes, int offset, int length ) throws IOException {
+			overrides.resolveGlobal().write( bytes, offset, length );
+		}
+
+		@Override
+		public void flush() throws IOException {
+			overrides.resolveGlobal().flush();
+		}
+
 	}
 
 }
@@ -0,0 +1,29 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+/**
+ * Guard of the JFR events, which cannot even be loaded on a runtime without the {@code jdk.jfr} module.
+ * Callers check {@link #AVAILABLE} before touching an event class, so such a runtime never resolves one.
+ */
+final class FlightRecording {
+
+	/** Whether the {@code jdk.jfr} module is present. */
+	static final boolean AVAILABLE = ModuleLayer.boot().findModule( "jdk.jfr" ).isPresent();
+
+	private FlightRecording() {
+	}
+
+}
@@ -0,0 +1,69 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/** Safely override the {@link InputStream} of a {@link StandardInput}. */
+public class InputOverridePlan {
+
+	private final DivergingInputStream stream;
+	private final InputStream override;
+	private final OverrideScope scope;
+
+	InputOverridePlan( DivergingInputStream stream, InputStream override, OverrideScope scope ) {
+		this.stream = Objects.requireNonNull( stream );
+		this.override = Objects.requireNonNull( override );
+		this.scope = Objects.requireNonNull( scope );
+	}
+
+	/**
+	 * Execute {@code action} reading from the override {@link InputStream}.
+	 * Override will be cleared after {@code action} has executed, any override it was nested in applies again.
+	 * @param action {@link Runnable} code to execute.
+	 * @throws NullPointerException if {@code action} is null
+	 */
+	public void execute( Runnable action ) {
+		Objects.requireNonNull( action );
+		stream.override( override, scope );
+		try {
+			action.run();
+		}
+		finally {
+			stream.reset( override, scope );
+		}
+	}
+
+	/**
+	 * Execute {@code action} reading from the override {@link InputStream}.
+	 * Override will be cleared after {@code action} has executed, any override it was nested in applies again.
+	 * @param action {@link Supplier} that will return a value from this method.
+	 * @return The output {@code action}.
+	 * @throws NullPointerException if {@code action} is null
+	 */
+	public <T> T execute( Supplier<T> action ) {
+		Objects.requireNonNull( action );
+		stream.override( override, scope );
+		try {
+			return action.get();
+		}
+		finally {
+			stream.reset( override, scope );
+		}
+	}
+
+}
@@ -0,0 +1,166 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * An {@link OutputStream} that gathers bytes in a reusable buffer per thread,
+ * and only hands complete lines to the target, each batch of lines as a single write.
+ * Lines from different threads are therefore never torn, unless one grows past {@value #MAX_LINE} bytes.
+ * A partial line is kept until its thread writes the line end or calls {@link #flush()}.
+ * The partial line of a thread that ended is written by the next {@link #flush()}, and {@link #close()} writes all.
+ */
+public final class LineBufferedOutputStream extends OutputStream {
+
+	/** Bytes a partial line may hold before it is written out regardless. */
+	public static final int MAX_LINE = 64 * 1024;
+
+	private static final int INITIAL_SIZE = 256;
+	/** A buffer grown past this is replaced once written, so a single long line does not stay allocated. */
+	private static final int RETAINED_SIZE = 8 * 1024;
+	private static final byte LINE_END = '\n';
+
+	private final OutputStream target;
+	private final Queue<Buffer> registered = new ConcurrentLinkedQueue<>();
+	private final ThreadLocal<Buffer> buffers = ThreadLocal.withInitial( this::register );
+
+	/**
+	 * Create a {@link LineBufferedOutputStream}.
+	 * @param target The {@link OutputStream} receiving complete lines.
+	 * @throws NullPointerException if {@code target} is null
+	 */
+	public LineBufferedOutputStream( OutputStream target ) {
+		this.target = Objects.requireNonNull( target );
+	}
+
+	@Override
+	public void write( int i ) throws IOException {
+		Buffer buffer = buffers.get();
+		synchronized ( buffer ) {
+			buffer.append( ( byte ) i );
+			if ( i == LINE_END || buffer.size >= MAX_LINE ) publish( buffer );
+		}
+	}
+
+	@Override
+	public void write( byte[] bytes, int offset, int length ) throws IOException {
+		Objects.checkFromIndexSize( offset, length, bytes.length );
+		if ( length == 0 ) return;
+		Buffer buffer = buffers.get();
+		int end = lastLineEnd( bytes, offset, length );
+		synchronized ( buffer ) {
+			if ( end < 0 ) {
+				buffer.append( bytes, offset, length );
+				if ( buffer.size >= MAX_LINE ) publish( buffer );
+				return;
+			}
+			int complete = end + 1 - offset;
+			if ( buffer.size == 0 ) target.write( bytes, offset, complete );
+			else {
+				buffer.append( bytes, offset, complete );
+				publish( buffer );
+			}
+			buffer.append( bytes, offset + complete, length - complete );
+			if ( buffer.size >= MAX_LINE ) publish( buffer );
+		}
+	}
+
+	/** Write the partial line of the calling thread and of any thread that ended, then flush the target. */
+	@Override
+	public void flush() throws IOException {
+		Buffer own = buffers.get();
+		for ( Buffer buffer : registered ) {
+			boolean ended = ! buffer.owner.isAlive();
+			if ( buffer == own || ended ) drain( buffer );
+			if ( ended ) registered.remove( buffer );
+		}
+		target.flush();
+	}
+
+	/** Write the partial line of every thread, then close the target. */
+	@Override
+	public void close() throws IOException {
+		for ( Buffer buffer : registered ) drain( buffer );
+		registered.clear();
+		buffers.remove();
+		target.close();
+	}
+
+	/** Create and register the buffer of the calling thread, forgetting empty buffers of threads that ended. */
+	private Buffer register() {
+		registered.removeIf( buffer -> buffer.size == 0 && ! buffer.owner.isAlive() );
+		Buffer buffer = new Buffer( Thread.currentThread() );
+		registered.add( buffer );
+		return buffer;
+	}
+
+	private void drain( Buffer buffer ) throws IOException {
+		synchronized ( buffer ) {
+			if ( buffer.size > 0 ) publish( buffer );
+		}
+	}
+
+	private void publish( Buffer buffer ) throws IOException {
+		try {
+			target.write( buffer.data, 0, buffer.size );
+		}
+		finally {
+			buffer.size = 0;
+			if ( buffer.data.length > RETAINED_SIZE ) buffer.data = new byte[ INITIAL_SIZE ];
+		}
+	}
+
+	private static int lastLineEnd( byte[] bytes, int offset, int length ) {
+		for ( int i = offset + length - 1; i >= offset; i-- )
+			if ( bytes[ i ] == LINE_END ) return i;
+		return -1;
+	}
+
+	/** Growable bytes written by a single thread, and drained by others only once it ended or on close. */
+	private static final class Buffer {
+
+		private final Thread owner;
+		private byte[] data = new byte[ INITIAL_SIZE ];
+		private int size;
+
+		private Buffer( Thread owner ) {
+			this.owner = owner;
+		}
+
+		private void append( byte value ) {
+			ensure( 1 );
+			data[ size++ ] = value;
+		}
+
+		private void append( byte[] bytes, int offset, int length ) {
+			ensure( length );
+			System.arraycopy( bytes, offset, data, size, length );
+			size += length;
+		}
+
+		private void ensure( int extra ) {
+			int needed = size + extra;
+			if ( needed > data.length ) data = Arrays.copyOf( data, Math.max( needed, data.length * 2 ) );
+		}
+
+	}
+
+}
@@ -0,0 +1,123 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * An {@link OutputStream} decoding each complete line written and handing it to a callback, as soon as it ends.
+ * Only the line being written is held, so memory does not grow with the total output.
+ * The {@link CharSequence} given to the callback is a reused view, valid only until the callback returns,
+ * and holds the line without its {@code \n} or {@code \r\n}.
+ * Lines are found by their {@code \n} byte, so {@code charset} must encode ASCII as ASCII, as UTF-8 does.
+ */
+public final class LineCallbackOutputStream extends OutputStream {
+
+	private static final int INITIAL_LINE = 256;
+	private static final byte LINE_END = '\n';
+
+	private final Consumer<CharSequence> callback;
+	private final LineDecoder decoder;
+	private final ReentrantLock lock = new ReentrantLock();
+	private byte[] bytes = new byte[ INITIAL_LINE ];
+	private int length;
+
+	/**
+	 * Create a {@link LineCallbackOutputStream}.
+	 * @param callback Receives each line.
+	 * @param charset The {@link Charset} lines are written in.
+	 * @throws NullPointerException if {@code callback} or {@code charset} is null
+	 */
+	public LineCallbackOutputStream( Consumer<CharSequence> callback, Charset charset ) {
+		this.callback = Objects.requireNonNull( callback );
+		this.decoder = new LineDecoder( charset );
+	}
+
+	@Override
+	public void write( int i ) {
+		lock.lock();
+		try {
+			if ( i == LINE_END ) deliver();
+			else {
+				ensure( 1 );
+				bytes[ length++ ] = ( byte ) i;
+			}
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void write( byte[] bytes, int offset, int length ) {
+		Objects.checkFromIndexSize( offset, length, bytes.length );
+		lock.lock();
+		try {
+			int start = offset;
+			int end = offset + length;
+			for ( int i = offset; i < end; i++ ) {
+				if ( bytes[ i ] != LINE_END ) continue;
+				append( bytes, start, i - start );
+				deliver();
+				start = i + 1;
+			}
+			append( bytes, start, end - start );
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/** Hand any unterminated line to the callback, as if it had ended. */
+	public void finish() {
+		lock.lock();
+		try {
+			if ( length > 0 ) deliver();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/** @see #finish() */
+	@Override
+	public void close() {
+		finish();
+	}
+
+	private void append( byte[] source, int offset, int count ) {
+		if ( count == 0 ) return;
+		ensure( count );
+		System.arraycopy( source, offset, bytes, length, count );
+		length += count;
+	}
+
+	private void ensure( int needed ) {
+		if ( bytes.length - length < needed )
+			bytes = Arrays.copyOf( bytes, Math.max( bytes.length * 2, length + needed ) );
+	}
+
+	private void deliver() {
+		int end = length;
+		length = 0;
+		callback.accept( decoder.line( bytes, 0, end ) );
+	}
+
+}
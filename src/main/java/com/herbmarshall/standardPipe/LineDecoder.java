@@ -0,0 +1,71 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+
+/**
+ * Decodes lines into a reused {@link CharBuffer}, copying directly while they are ASCII.
+ * Not thread safe, each line is only valid until the next one is decoded.
+ */
+final class LineDecoder {
+
+	private static final int INITIAL_LINE = 256;
+	private static final byte RETURN = '\r';
+
+	private final CharsetDecoder decoder;
+	private char[] chars = new char[ INITIAL_LINE ];
+	private CharBuffer view = CharBuffer.wrap( chars );
+
+	LineDecoder( Charset charset ) {
+		this.decoder = charset.newDecoder()
+			.onMalformedInput( CodingErrorAction.REPLACE )
+			.onUnmappableCharacter( CodingErrorAction.REPLACE );
+	}
+
+	/** Decode the {@code count} bytes of a line from {@code offset}, without the {@code \r} of a {@code \r\n}. */
+	CharBuffer line( byte[] bytes, int offset, int count ) {
+		int end = count > 0 && bytes[ offset + count - 1 ] == RETURN ? count - 1 : count;
+		if ( chars.length < end ) {
+			chars = new char[ Math.max( chars.length * 2, end ) ];
+			view = CharBuffer.wrap( chars );
+		}
+		int i = 0;
+		while ( i < end && bytes[ offset + i ] >= 0 ) {
+			chars[ i ] = ( char ) bytes[ offset + i ];
+			i++;
+		}
+		view.clear();
+		if ( i == end ) return view.limit( end );
+		view.position( i );
+		decoder.reset();
+		ByteBuffer in = ByteBuffer.wrap( bytes, offset + i, end - i );
+		while ( decoder.decode( in, view, true ).isOverflow() ) grow();
+		while ( decoder.flush( view ).isOverflow() ) grow();
+		return view.flip();
+	}
+
+	/** Double the decoded space, keeping what was decoded so far. */
+	private void grow() {
+		chars = Arrays.copyOf( chars, chars.length * 2 );
+		view = CharBuffer.wrap( chars ).position( view.position() );
+	}
+
+}
@@ -0,0 +1,93 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Reads an {@link InputStream} in large chunks, handing each line to a callback straight from the chunk.
+ * Only a line crossing the end of a chunk is moved, and the buffer only grows for a line longer than it.
+ * Lines are found by their {@code \n} byte, so {@code charset} must encode ASCII as ASCII, as UTF-8 does.
+ * Not thread safe, reuse it from one thread at a time.
+ */
+final class LineReader {
+
+	/** Bytes read at once, and the size the buffer returns to after a longer line. */
+	static final int CHUNK = 64 * 1024;
+
+	private static final byte LINE_END = '\n';
+
+	private final LineDecoder decoder;
+	private byte[] buffer = new byte[ CHUNK ];
+
+	LineReader( Charset charset ) {
+		this.decoder = new LineDecoder( charset );
+	}
+
+	/**
+	 * Read {@code in} to its end, handing each line to {@code callback}.
+	 * The {@link CharSequence} is a reused view, valid only until the callback returns, and holds the line
+	 * without its {@code \n} or {@code \r\n}. An unterminated last line is handed over too.
+	 * @return The number of lines.
+	 */
+	long read( InputStream in, Consumer<CharSequence> callback ) throws IOException {
+		try {
+			return lines( in, callback );
+		}
+		finally {
+			if ( buffer.length > CHUNK ) buffer = new byte[ CHUNK ];
+		}
+	}
+
+	private long lines( InputStream in, Consumer<CharSequence> callback ) throws IOException {
+		long count = 0;
+		int start = 0;
+		int end = 0;
+		while ( true ) {
+			if ( end == buffer.length ) {
+				if ( start == 0 ) buffer = Arrays.copyOf( buffer, buffer.length * 2 );
+				else {
+					System.arraycopy( buffer, start, buffer, 0, end - start );
+					end -= start;
+					start = 0;
+				}
+			}
+			int read = in.read( buffer, end, buffer.length - end );
+			if ( read < 0 ) break;
+			int limit = end + read;
+			for ( int i = end; i < limit; i++ ) {
+				if ( buffer[ i ] != LINE_END ) continue;
+				callback.accept( decoder.line( buffer, start, i - start ) );
+				count++;
+				start = i + 1;
+			}
+			end = limit;
+			if ( start == end ) {
+				start = 0;
+				end = 0;
+			}
+		}
+		if ( start < end ) {
+			callback.accept( decoder.line( buffer, start, end - start ) );
+			count++;
+		}
+		return count;
+	}
+
+}
@@ -0,0 +1,141 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * An {@link OutputStream} capturing bytes into a memory mapped file, for use as an {@link OverridePlan} target.
+ * Only the region being written is held mapped, so neither the heap nor the mapped memory held grows with the output.
+ * Views of the captured bytes map the file read only when taken, and stay valid for as long as they are referenced.
+ * Once closed the file is truncated to the captured size, and the captured bytes remain readable as mapped views.
+ * Regions written earlier are unmapped once garbage collected, as a mapping can not be released explicitly.
+ */
+public final class MappedCaptureStream extends SegmentedCaptureStream {
+
+	/** Bytes mapped at a time when no region size is given. */
+	public static final int DEFAULT_REGION = 64 * 1024 * 1024;
+
+	private final Path file;
+	private final FileChannel channel;
+	private final int region;
+	/** The furthest byte of the file any view was mapped up to, which the file is never truncated below. */
+	private long viewed;
+	private ByteBuffer[] closedViews;
+
+	/**
+	 * Create, or truncate, {@code file} and capture into it using {@link #DEFAULT_REGION} sized regions.
+	 * @param file The file to capture into.
+	 * @throws NullPointerException if {@code file} is null
+	 * @throws IOException if {@code file} can not be opened
+	 */
+	public MappedCaptureStream( Path file ) throws IOException {
+		this( file, DEFAULT_REGION );
+	}
+
+	/**
+	 * Create, or truncate, {@code file} and capture into it.
+	 * @param file The file to capture into.
+	 * @param region Bytes to map at a time.
+	 * @throws NullPointerException if {@code file} is null
+	 * @throws IllegalArgumentException if {@code region} is not positive
+	 * @throws IOException if {@code file} can not be opened
+	 */
+	public MappedCaptureStream( Path file, int region ) throws IOException {
+		super( false );
+		this.file = Objects.requireNonNull( file );
+		if ( region <= 0 ) throw new IllegalArgumentException( regionError( region ) );
+		this.region = region;
+		this.channel = FileChannel.open(
+			file,
+			StandardOpenOption.CREATE,
+			StandardOpenOption.TRUNCATE_EXISTING,
+			StandardOpenOption.READ,
+			StandardOpenOption.WRITE
+		);
+	}
+
+	/** Returns the file being captured into. */
+	public Path file() {
+		return file;
+	}
+
+	/**
+	 * Map the region following the captured bytes, {@code previous} is full and no longer referenced.
+	 * @throws UncheckedIOException if the next region can not be mapped
+	 */
+	@Override
+	ByteBuffer nextSegment( ByteBuffer previous, int wanted ) {
+		try {
+			return channel.map( FileChannel.MapMode.READ_WRITE, size(), region );
+		}
+		catch ( IOException e ) {
+			throw new UncheckedIOException( e );
+		}
+	}
+
+	/** @throws UncheckedIOException if the captured bytes can not be mapped */
+	@Override
+	ByteBuffer[] views() {
+		if ( closedViews != null ) {
+			ByteBuffer[] views = new ByteBuffer[ closedViews.length ];
+			for ( int i = 0; i < views.length; i++ ) views[ i ] = closedViews[ i ].duplicate();
+			return views;
+		}
+		try {
+			return mapCaptured();
+		}
+		catch ( IOException e ) {
+			throw new UncheckedIOException( e );
+		}
+	}
+
+	/**
+	 * Trim the file to the captured size, map it read only for later views, and close it.
+	 * The region written last was already dropped. Views taken before a {@link #clear()} may reach past the
+	 * captured size, the file then keeps their bytes, as accessing a mapping past the end of its file fails.
+	 */
+	@Override
+	void release() throws IOException {
+		try ( channel ) {
+			channel.truncate( Math.max( size(), viewed ) );
+			closedViews = mapCaptured();
+		}
+	}
+
+	/** Map the captured bytes read only, a region at a time. */
+	private ByteBuffer[] mapCaptured() throws IOException {
+		long size = size();
+		ByteBuffer[] views = new ByteBuffer[ ( int ) ( ( size + region - 1 ) / region ) ];
+		for ( int i = 0; i < views.length; i++ ) {
+			long position = ( long ) i * region;
+			views[ i ] = channel.map( FileChannel.MapMode.READ_ONLY, position, Math.min( region, size - position ) );
+		}
+		viewed = Math.max( viewed, size );
+		return views;
+	}
+
+	static String regionError( int region ) {
+		return "Region size must be positive: " + region;
+	}
+
+}
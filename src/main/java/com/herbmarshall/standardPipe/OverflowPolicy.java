@@ -0,0 +1,29 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+/** What an {@link AsyncOutputStream} does with a write once every slot of its ring is pending. */
+public enum OverflowPolicy {
+
+	/** Wait for the background writer to make room. */
+	BLOCK,
+
+	/** Discard the write that does not fit. */
+	DROP_NEWEST,
+
+	/** Discard the oldest pending slot, a whole short write or part of a longer one, to make room. */
+	DROP_OLDEST
+
+}
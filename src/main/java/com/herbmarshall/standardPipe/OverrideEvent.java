@@ -0,0 +1,61 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** JFR event spanning an {@link OverridePlan} execution. */
+@Name( "com.herbmarshall.standardPipe.Override" )
+@Label( "Standard Override" )
+@Category( "Standard Pipe" )
+@Description( "An override of a Standard, from install to reset" )
+final class OverrideEvent extends jdk.jfr.Event {
+
+	@Label( "Pipe" )
+	String pipe;
+
+	@Label( "Scope" )
+	String scope;
+
+	@Label( "Bytes Captured" )
+	@Description( "Bytes written through the Standard to the override" )
+	@DataAmount
+	long bytes;
+
+	/** Only asked whether the event is enabled, see {@link SlowWriteEvent#start()}. */
+	private static final OverrideEvent PROBE = new OverrideEvent();
+
+	/** Returns a begun event, or null without allocating while the event is disabled. */
+	static OverrideEvent start() {
+		if ( ! PROBE.isEnabled() ) return null;
+		OverrideEvent event = new OverrideEvent();
+		event.begin();
+		return event;
+	}
+
+	/** Commit {@code event} if it was started and is still enabled. */
+	static void end( OverrideEvent event, String pipe, OverrideScope scope, long bytes ) {
+		if ( event == null || ! event.shouldCommit() ) return;
+		event.pipe = pipe;
+		event.scope = scope.name();
+		event.bytes = bytes;
+		event.commit();
+	}
+
+}
@@ -14,8 +14,10 @@
 
 package com.herbmarshall.standardPipe;
 
+import java.io.IOException;
 import java.io.OutputStream;
 import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -25,73 +27,168 @@ public class OverridePlan {
 
 	private final DivergingOutputStream stream;
 	private final OutputStream override;
+	private final OverrideScope scope;
+	private final NestingPolicy nesting;
+	private final Runnable completion;
 
 	OverridePlan( DivergingOutputStream stream, OutputStream override ) {
+		this( stream, override, OverrideScope.GLOBAL );
+	}
+
+	OverridePlan( DivergingOutputStream stream, OutputStream override, OverrideScope scope ) {
+		this( stream, override, scope, () -> { } );
+	}
+
+	OverridePlan( DivergingOutputStream stream, OutputStream override, OverrideScope scope, NestingPolicy nesting ) {
+		this( stream, override, scope, nesting, () -> { } );
+	}
+
+	/** @param completion Run once the override is cleared, e.g. to deliver what {@code override} still holds. */
+	OverridePlan( DivergingOutputStream stream, OutputStream override, OverrideScope scope, Runnable completion ) {
+		this( stream, override, scope, NestingPolicy.ISOLATE, completion );
+	}
+
+	OverridePlan(
+		DivergingOutputStream stream,
+		OutputStream override,
+		OverrideScope scope,
+		NestingPolicy nesting,
+		Runnable completion
+	) {
 		this.stream = Objects.requireNonNull( stream );
 		this.override = Objects.requireNonNull( override );
+		this.scope = Objects.requireNonNull( scope );
+		this.nesting = Objects.requireNonNull( nesting );
+		this.completion = Objects.requireNonNull( completion );
 	}
 
 	/**
 	 * Execute {@code action} using the override {@link OutputStream}.
-	 * Override will be cleared after {@code action} has executed.
+	 * Override will be cleared after {@code action} has executed, any override it was nested in applies again.
 	 * @param action {@link Runnable} code to execute.
-	 * @throws IllegalStateException If an override is already in place
 	 * @throws NullPointerException if {@code action} is null
 	 */
 	public void execute( Runnable action ) {
 		Objects.requireNonNull( action );
-		execute( pipe -> {
+		OutputStream installed = install();
+		try {
 			action.run();
-			return null;
-		} );
+		}
+		finally {
+			uninstall( installed );
+		}
 	}
 
 	/**
 	 * Execute {@code action} using the override {@link OutputStream}.
-	 * Override will be cleared after {@code action} has executed.
+	 * Override will be cleared after {@code action} has executed, any override it was nested in applies again.
 	 * @param action {@link Consumer} that will accept the updated {@link OutputStream}
-	 * @throws IllegalStateException If an override is already in place
 	 * @throws NullPointerException if {@code action} is null
 	 */
 	public void execute( Consumer<OutputStream> action ) {
 		Objects.requireNonNull( action );
-		execute( pipe -> {
-			action.accept( pipe );
-			return null;
-		} );
+		OutputStream installed = install();
+		try {
+			action.accept( override );
+		}
+		finally {
+			uninstall( installed );
+		}
 	}
 
 	/**
 	 * Execute {@code action} using the override {@link OutputStream}.
-	 * Override will be cleared after {@code action} has executed.
+	 * Override will be cleared after {@code action} has executed, any override it was nested in applies again.
 	 * @param action {@link Supplier} that will return a value from this method.
 	 * @return The output {@code action}.
-	 * @throws IllegalStateException If an override is already in place
 	 * @throws NullPointerException if {@code action} is null
 	 */
 	public <T> T execute( Supplier<T> action ) {
 		Objects.requireNonNull( action );
-		Function<OutputStream, T> wrapped = pipe -> action.get();
-		return execute( wrapped );
+		OutputStream installed = install();
+		try {
+			return action.get();
+		}
+		finally {
+			uninstall( installed );
+		}
 	}
 
 	/**
 	 * Execute {@code action} using the override {@link OutputStream}.
-	 * Override will be cleared after {@code action} has executed.
+	 * Override will be cleared after {@code action} has executed, any override it was nested in applies again.
 	 * @param action {@link Function} that will accept a {@link OutputStream} and return a value from this method.
 	 * @return The output {@code action}.
-	 * @throws IllegalStateException If an override is already in place
 	 * @throws NullPointerException if {@code action} is null
 	 */
 	public <T> T execute( Function<OutputStream, T> action ) {
 		Objects.requireNonNull( action );
-		stream.override( override );
+		OutputStream installed = install();
 		try {
 			return action.apply( override );
 		}
 		finally {
-			stream.reset();
+			uninstall( installed );
 		}
 	}
 
+	/**
+	 * Install the override, wrapped to count its bytes while an {@link OverrideEvent} is recorded.
+	 * Each kind of action is run by its own {@code execute}, rather than adapted to a {@link Function},
+	 * which keeps execution allocation free.
+	 * @return What was installed, for {@link #uninstall(OutputStream)}.
+	 */
+	private OutputStream install() {
+		OverrideEvent event = FlightRecording.AVAILABLE ? OverrideEvent.start() : null;
+		OutputStream installed = event == null ? override : new CountingOutputStream( override, event );
+		stream.override( installed, scope, nesting );
+		return installed;
+	}
+
+	/** Clear what {@link #install()} installed, then complete the plan and end its event, if any. */
+	private void uninstall( OutputStream installed ) {
+		stream.reset( installed, scope );
+		completion.run();
+		if ( installed instanceof CountingOutputStream ) {
+			CountingOutputStream counted = ( CountingOutputStream ) installed;
+			OverrideEvent.end( counted.event, stream.toString(), scope, counted.count.sum() );
+		}
+	}
+
+	/** Counts bytes on their way to the override, only while its {@link OverrideEvent} is recorded. */
+	private static final class CountingOutputStream extends OutputStream {
+
+		private final OutputStream target;
+		private final OverrideEvent event;
+		private final LongAdder count = new LongAdder();
+
+		private CountingOutputStream( OutputStream target, OverrideEvent event ) {
+			this.target = target;
+			this.event = event;
+		}
+
+		@Override
+		public void write( int i ) throws IOException {
+			target.write( i );
+			count.increment();
+		}
+
+		@Override
+		public void write( byte[] bytes, int offset, int length ) throws IOException {
+			target.write( bytes, offset, length );
+			count.add( length );
+		}
+
+		@Override
+		public void flush() throws IOException {
+			target.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			target.close();
+		}
+
+	}
+
 }
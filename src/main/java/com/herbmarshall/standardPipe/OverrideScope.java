@@ -0,0 +1,29 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+/** Which threads an {@link OverridePlan} applies to. */
+public enum OverrideScope {
+
+	/** Every thread writing to the {@link Standard}. */
+	GLOBAL,
+
+	/** Only the thread executing the {@link OverridePlan}. */
+	THREAD,
+
+	/** The thread executing the {@link OverridePlan}, and any thread it starts while the override is in place. */
+	INHERITED
+
+}
@@ -0,0 +1,315 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The overrides of a diverging stream, each nested in the override of the same scope it was installed over.
+ * {@link OverrideScope#GLOBAL} overrides are a stack shared by every thread, swapped in a single compare and set.
+ * Thread overrides are a stack per thread, resolving one costs a single counter read while no thread has any.
+ * @param <T> The type of stream overridden.
+ */
+final class OverrideStack<T> {
+
+	/** Builds what is written to for an override, from its pipe and what it is nested in. */
+	@FunctionalInterface
+	interface Nesting<T> {
+
+		/** Returns the stream used in place of {@code pipe}, which {@code beneath} was in place of before. */
+		T target( T pipe, NestingPolicy nesting, T beneath );
+
+	}
+
+	private final T defaultPipe;
+	private final T globalPipe;
+	private final Nesting<T> nesting;
+	private final AtomicReference<Layer<T>> global = new AtomicReference<>();
+	/** The last cleared global override, kept until the next override replaces or reuses it. */
+	private final AtomicReference<Layer<T>> spare = new AtomicReference<>();
+
+	private final ThreadLocal<ThreadOverride<T>> threadPipe = new InheritableThreadLocal<>() {
+		@Override
+		protected ThreadOverride<T> childValue( ThreadOverride<T> parent ) {
+			ThreadOverride<T> inherited = parent;
+			while ( inherited != null && ! ( inherited.inherit && inherited.active() ) ) inherited = inherited.outer;
+			return inherited;
+		}
+	};
+	private final AtomicInteger threadOverrides = new AtomicInteger();
+
+	/**
+	 * Create an {@link OverrideStack}.
+	 * @param defaultPipe The stream in place while no global override is.
+	 * @param globalPipe The stream a thread override nested in nothing is in place of, following the global stack.
+	 * @param nesting Builds the stream used for each override.
+	 */
+	OverrideStack( T defaultPipe, T globalPipe, Nesting<T> nesting ) {
+		this.defaultPipe = Objects.requireNonNull( defaultPipe );
+		this.globalPipe = Objects.requireNonNull( globalPipe );
+		this.nesting = Objects.requireNonNull( nesting );
+	}
+
+	/**
+	 * Install a global override, nested in any global override already in place.
+	 * @throws NullPointerException if {@code pipe} or {@code policy} is null
+	 */
+	void overrideGlobal( T pipe, NestingPolicy policy ) {
+		Objects.requireNonNull( pipe );
+		Objects.requireNonNull( policy );
+		long start = System.nanoTime();
+		Layer<T> outer;
+		Layer<T> layer;
+		do {
+			outer = global.get();
+			layer = reuse( pipe, policy, outer );
+			if ( layer == null ) layer = new Layer<>( pipe, policy, outer, target( pipe, policy, outer ) );
+			layer.start = start;
+		}
+		while ( ! global.compareAndSet( outer, layer ) );
+	}
+
+	/** Take the last cleared {@link Layer} if it matches, so repeatedly installing an override allocates nothing. */
+	private Layer<T> reuse( T pipe, NestingPolicy policy, Layer<T> outer ) {
+		Layer<T> cleared = spare.get();
+		if ( cleared == null || cleared.pipe != pipe || cleared.policy != policy || cleared.outer != outer ) {
+			return null;
+		}
+		return spare.compareAndSet( cleared, null ) ? cleared : null;
+	}
+
+	/**
+	 * Clear the innermost global override.
+	 * @return The override cleared, or null if none was in place.
+	 */
+	Layer<T> resetGlobal() {
+		Layer<T> top;
+		do {
+			top = global.get();
+			if ( top == null ) return null;
+		}
+		while ( ! global.compareAndSet( top, top.outer ) );
+		spare.set( top );
+		return top;
+	}
+
+	/**
+	 * Clear the innermost global override of {@code pipe}, if it is still in place.
+	 * Overrides are normally cleared innermost first, in which case this is a single swap.
+	 * Otherwise the overrides nested inside it are rebuilt, so they no longer reach {@code pipe}.
+	 * @return The override cleared, or null if none was in place.
+	 */
+	Layer<T> resetGlobal( T pipe ) {
+		while ( true ) {
+			Layer<T> top = global.get();
+			Layer<T> removed = top;
+			while ( removed != null && removed.pipe != pipe ) removed = removed.outer;
+			if ( removed == null ) return null;
+			if ( global.compareAndSet( top, without( top, removed ) ) ) {
+				spare.set( removed );
+				return removed;
+			}
+		}
+	}
+
+	private Layer<T> without( Layer<T> layer, Layer<T> removed ) {
+		if ( layer == removed ) return removed.outer;
+		Layer<T> outer = without( layer.outer, removed );
+		Layer<T> rebuilt = new Layer<>( layer.pipe, layer.policy, outer, target( layer.pipe, layer.policy, outer ) );
+		rebuilt.start = layer.start;
+		return rebuilt;
+	}
+
+	private T target( T pipe, NestingPolicy policy, Layer<T> outer ) {
+		return nesting.target( pipe, policy, outer == null ? defaultPipe : outer.target );
+	}
+
+	/**
+	 * Install an override for the calling thread, nested in its thread override, if any.
+	 * An {@code inherit} override also applies to threads it starts while in place.
+	 * @throws NullPointerException if {@code pipe} or {@code policy} is null
+	 */
+	void overrideThread( T pipe, boolean inherit, NestingPolicy policy ) {
+		Objects.requireNonNull( pipe );
+		Objects.requireNonNull( policy );
+		ThreadOverride<T> outer = activeThreadOverride();
+		T beneath = outer == null ? globalPipe : outer.target;
+		threadPipe.set( new ThreadOverride<>( inherit, outer, nesting.target( pipe, policy, beneath ) ) );
+		threadOverrides.incrementAndGet();
+	}
+
+	/**
+	 * Clear the innermost thread override of the calling thread, its outer override applies again.
+	 * @return The override cleared, or null if none was in place.
+	 */
+	ThreadOverride<T> resetThread() {
+		ThreadOverride<T> current = threadPipe.get();
+		if ( current == null ) return null;
+		restore( current.outer );
+		if ( ! current.active() ) return null;
+		current.clear();
+		threadOverrides.decrementAndGet();
+		return current;
+	}
+
+	/**
+	 * Bind the thread override of the calling thread, if any, to {@code action}.
+	 * The returned {@link Runnable} resolves to that override on whichever thread runs it,
+	 * for as long as the override is in place.
+	 * @throws NullPointerException if {@code action} is null
+	 */
+	Runnable propagate( Runnable action ) {
+		Objects.requireNonNull( action );
+		ThreadOverride<T> captured = activeThreadOverride();
+		if ( captured == null ) return action;
+		return () -> {
+			ThreadOverride<T> previous = bind( captured );
+			try {
+				action.run();
+			}
+			finally {
+				restore( previous );
+			}
+		};
+	}
+
+	/** @see #propagate(Runnable) */
+	<V> Callable<V> propagate( Callable<V> action ) {
+		Objects.requireNonNull( action );
+		ThreadOverride<T> captured = activeThreadOverride();
+		if ( captured == null ) return action;
+		return () -> {
+			ThreadOverride<T> previous = bind( captured );
+			try {
+				return action.call();
+			}
+			finally {
+				restore( previous );
+			}
+		};
+	}
+
+	/** Returns the stream of the innermost override for the calling thread, or the default pipe. */
+	T resolve() {
+		T local = resolveThread();
+		return local == null ? resolveGlobal() : local;
+	}
+
+	/** Returns the stream of the innermost global override, or the default pipe. */
+	T resolveGlobal() {
+		Layer<T> top = global.get();
+		return top == null ? defaultPipe : top.target;
+	}
+
+	/** Returns the stream of the innermost thread override of the calling thread, or null. */
+	T resolveThread() {
+		if ( threadOverrides.get() == 0 ) return null;
+		ThreadOverride<T> local = threadPipe.get();
+		if ( local == null ) return null;
+		T target = local.target;
+		if ( target == null ) threadPipe.remove();
+		return target;
+	}
+
+	/** Returns the pipe of the innermost global override, as installed, or null. */
+	T globalOverride() {
+		Layer<T> top = global.get();
+		return top == null ? null : top.pipe;
+	}
+
+	/** Returns the active thread override of the calling thread, dropping a binding left by a reset override. */
+	private ThreadOverride<T> activeThreadOverride() {
+		ThreadOverride<T> current = threadPipe.get();
+		if ( current == null || current.active() ) return current;
+		threadPipe.remove();
+		return null;
+	}
+
+	private ThreadOverride<T> bind( ThreadOverride<T> captured ) {
+		ThreadOverride<T> previous = threadPipe.get();
+		threadPipe.set( captured );
+		return previous;
+	}
+
+	private void restore( ThreadOverride<T> previous ) {
+		if ( previous == null || ! previous.active() ) threadPipe.remove();
+		else threadPipe.set( previous );
+	}
+
+	/**
+	 * A global override, and the global overrides it is nested in.
+	 * Holds the stream used in its place, so a lookup resolves it in a single read.
+	 * Only {@code start} changes, before the layer is installed again.
+	 */
+	static final class Layer<T> {
+
+		private final T pipe;
+		private final NestingPolicy policy;
+		private final Layer<T> outer;
+		private final T target;
+		private long start;
+
+		private Layer( T pipe, NestingPolicy policy, Layer<T> outer, T target ) {
+			this.pipe = pipe;
+			this.policy = policy;
+			this.outer = outer;
+			this.target = target;
+		}
+
+		/** Returns the {@link System#nanoTime()} at which the override was installed. */
+		long start() {
+			return start;
+		}
+
+	}
+
+	/**
+	 * Override owned by a single thread, inherited threads share the instance.
+	 * Once reset it lets go of its stream, as threads it was inherited by may keep it bound until their next lookup.
+	 */
+	static final class ThreadOverride<T> {
+
+		private final boolean inherit;
+		private ThreadOverride<T> outer;
+		/** Null once reset. */
+		private volatile T target;
+		private final long start = System.nanoTime();
+
+		private ThreadOverride( boolean inherit, ThreadOverride<T> outer, T target ) {
+			this.inherit = inherit;
+			this.outer = outer;
+			this.target = target;
+		}
+
+		/** Returns the {@link System#nanoTime()} at which the override was installed. */
+		long start() {
+			return start;
+		}
+
+		private boolean active() {
+			return target != null;
+		}
+
+		private void clear() {
+			outer = null;
+			target = null;
+		}
+
+	}
+
+}
@@ -0,0 +1,62 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * A small bounded pool of reusable objects, leased and released without locking.
+ * Each slot holds at most one idle object, leasing from an empty pool creates a new one.
+ */
+final class Pool<T> {
+
+	private final AtomicReferenceArray<T> slots;
+	private final Supplier<T> factory;
+
+	Pool( int size, Supplier<T> factory ) {
+		this.slots = new AtomicReferenceArray<>( size );
+		this.factory = Objects.requireNonNull( factory );
+	}
+
+	/** Returns an idle object, or a new one if there is none. */
+	T lease() {
+		for ( int i = 0; i < slots.length(); i++ ) {
+			T value = slots.getAndSet( i, null );
+			if ( value != null ) return value;
+		}
+		return factory.get();
+	}
+
+	/**
+	 * Keep {@code value} for a later {@link #lease()}.
+	 * @return false if the pool is full, so {@code value} was not kept
+	 */
+	boolean release( T value ) {
+		for ( int i = 0; i < slots.length(); i++ )
+			if ( slots.get( i ) == null && slots.compareAndSet( i, null, value ) ) return true;
+		return false;
+	}
+
+	/** Returns the number of idle objects. */
+	int pooled() {
+		int count = 0;
+		for ( int i = 0; i < slots.length(); i++ )
+			if ( slots.get( i ) != null ) count++;
+		return count;
+	}
+
+}
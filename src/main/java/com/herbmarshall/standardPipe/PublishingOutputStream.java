@@ -0,0 +1,245 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * An {@link OutputStream} publishing what is written to any number of {@link Flow.Subscriber}s,
+ * either as byte chunks or as lines, for use as an {@link OverridePlan} target or a {@link Standard#withSink} sink.
+ * Each subscriber pulls at its own rate, with up to {@code maxLag} items buffered for it.
+ * Once a subscriber has that many items pending the {@link OverflowPolicy} applies to it alone:
+ * {@link OverflowPolicy#BLOCK} waits up to {@code maxWait} for it, then drops;
+ * {@link OverflowPolicy#DROP_NEWEST} drops at once.
+ * Items are delivered on the common {@link ForkJoinPool}.
+ * @param <T> {@link ByteBuffer} chunks, or {@link String} lines.
+ */
+public final class PublishingOutputStream<T> extends OutputStream implements Flow.Publisher<T> {
+
+	private final SubmissionPublisher<T> publisher;
+	private final OverflowPolicy policy;
+	private final long maxWaitNanos;
+	private final OutputStream framer;
+	private final LongAdder dropped = new LongAdder();
+
+	private PublishingOutputStream(
+		int maxLag,
+		OverflowPolicy policy,
+		Duration maxWait,
+		Function<Consumer<T>, OutputStream> framing
+	) {
+		if ( maxLag <= 0 ) throw new IllegalArgumentException( lagError( maxLag ) );
+		this.policy = Objects.requireNonNull( policy );
+		if ( policy == OverflowPolicy.DROP_OLDEST ) throw new IllegalArgumentException( policyError( policy ) );
+		this.maxWaitNanos = maxWait.toNanos();
+		this.publisher = new SubmissionPublisher<>( ForkJoinPool.commonPool(), maxLag );
+		this.framer = framing.apply( this::publish );
+	}
+
+	/**
+	 * Create a {@link PublishingOutputStream} of read only {@link ByteBuffer} chunks.
+	 * A chunk is published once {@code chunkSize} bytes are written, or on {@link #flush()}.
+	 * @param chunkSize Bytes gathered into each chunk.
+	 * @param maxLag Chunks buffered per subscriber before {@code policy} applies.
+	 * @param policy {@link OverflowPolicy#BLOCK} or {@link OverflowPolicy#DROP_NEWEST}.
+	 * @param maxWait Longest {@link OverflowPolicy#BLOCK} waits for a lagging subscriber.
+	 * @return A new {@link PublishingOutputStream}.
+	 * @throws NullPointerException if {@code policy} or {@code maxWait} is null
+	 * @throws IllegalArgumentException if {@code chunkSize} or {@code maxLag} is not positive,
+	 * or {@code policy} is {@link OverflowPolicy#DROP_OLDEST}
+	 */
+	public static PublishingOutputStream<ByteBuffer> chunks(
+		int chunkSize,
+		int maxLag,
+		OverflowPolicy policy,
+		Duration maxWait
+	) {
+		if ( chunkSize <= 0 ) throw new IllegalArgumentException( chunkError( chunkSize ) );
+		return new PublishingOutputStream<>( maxLag, policy, maxWait, output -> new Chunker( chunkSize, output ) );
+	}
+
+	/**
+	 * Create a {@link PublishingOutputStream} of lines, without their line ending.
+	 * @param charset The {@link Charset} lines are written in, see {@link LineCallbackOutputStream}.
+	 * @param maxLag Lines buffered per subscriber before {@code policy} applies.
+	 * @param policy {@link OverflowPolicy#BLOCK} or {@link OverflowPolicy#DROP_NEWEST}.
+	 * @param maxWait Longest {@link OverflowPolicy#BLOCK} waits for a lagging subscriber.
+	 * @return A new {@link PublishingOutputStream}.
+	 * @throws NullPointerException if {@code charset}, {@code policy} or {@code maxWait} is null
+	 * @throws IllegalArgumentException if {@code maxLag} is not positive,
+	 * or {@code policy} is {@link OverflowPolicy#DROP_OLDEST}
+	 */
+	public static PublishingOutputStream<String> lines(
+		Charset charset,
+		int maxLag,
+		OverflowPolicy policy,
+		Duration maxWait
+	) {
+		Objects.requireNonNull( charset );
+		return new PublishingOutputStream<>(
+			maxLag,
+			policy,
+			maxWait,
+			output -> new LineCallbackOutputStream( line -> output.accept( line.toString() ), charset )
+		);
+	}
+
+	@Override
+	public void subscribe( Flow.Subscriber<? super T> subscriber ) {
+		publisher.subscribe( subscriber );
+	}
+
+	/** Returns the number of items a subscriber missed, counted once per subscriber. */
+	public long droppedItems() {
+		return dropped.sum();
+	}
+
+	/** Returns the most items pending for a single subscriber. */
+	public int maxLag() {
+		return publisher.estimateMaximumLag();
+	}
+
+	@Override
+	public void write( int i ) throws IOException {
+		framer.write( i );
+	}
+
+	@Override
+	public void write( byte[] bytes, int offset, int length ) throws IOException {
+		framer.write( bytes, offset, length );
+	}
+
+	/** Publish any partial chunk, partial lines are kept until they end. */
+	@Override
+	public void flush() throws IOException {
+		framer.flush();
+	}
+
+	/** Publish anything pending, including a partial line, then complete every subscriber. */
+	@Override
+	public void close() throws IOException {
+		try {
+			framer.close();
+		}
+		finally {
+			publisher.close();
+		}
+	}
+
+	private void publish( T item ) {
+		if ( policy == OverflowPolicy.BLOCK ) publisher.offer( item, maxWaitNanos, TimeUnit.NANOSECONDS, this::drop );
+		else publisher.offer( item, this::drop );
+	}
+
+	private boolean drop( Flow.Subscriber<? super T> subscriber, T item ) {
+		dropped.increment();
+		return false;
+	}
+
+	static String lagError( int maxLag ) {
+		return "Lag must be positive: " + maxLag;
+	}
+
+	static String chunkError( int chunkSize ) {
+		return "Chunk size must be positive: " + chunkSize;
+	}
+
+	static String policyError( OverflowPolicy policy ) {
+		return "Unsupported overflow policy for a publisher: " + policy;
+	}
+
+	/** Gathers bytes into chunks of a fixed size. */
+	private static final class Chunker extends OutputStream {
+
+		private final ReentrantLock lock = new ReentrantLock();
+		private final byte[] buffer;
+		private final Consumer<ByteBuffer> output;
+		private int length;
+
+		Chunker( int chunkSize, Consumer<ByteBuffer> output ) {
+			this.buffer = new byte[ chunkSize ];
+			this.output = output;
+		}
+
+		@Override
+		public void write( int i ) {
+			lock.lock();
+			try {
+				buffer[ length++ ] = ( byte ) i;
+				if ( length == buffer.length ) emit();
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+
+		@Override
+		public void write( byte[] bytes, int offset, int count ) {
+			Objects.checkFromIndexSize( offset, count, bytes.length );
+			lock.lock();
+			try {
+				int done = 0;
+				while ( done < count ) {
+					int chunk = Math.min( count - done, buffer.length - length );
+					System.arraycopy( bytes, offset + done, buffer, length, chunk );
+					length += chunk;
+					done += chunk;
+					if ( length == buffer.length ) emit();
+				}
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+
+		@Override
+		public void flush() {
+			lock.lock();
+			try {
+				if ( length > 0 ) emit();
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+
+		@Override
+		public void close() {
+			flush();
+		}
+
+		private void emit() {
+			byte[] chunk = Arrays.copyOf( buffer, length );
+			length = 0;
+			output.accept( ByteBuffer.wrap( chunk ).asReadOnlyBuffer() );
+		}
+
+	}
+
+}
@@ -0,0 +1,213 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An {@link OutputStream} capturing bytes into a growing list of {@link ByteBuffer} segments.
+ * Segments are never copied, the captured bytes are exposed as read only views.
+ */
+abstract class SegmentedCaptureStream extends OutputStream {
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final boolean retained;
+	private final List<ByteBuffer> segments = new ArrayList<>();
+	private ByteBuffer current;
+	private int currentIndex = -1;
+	private volatile long size;
+	private boolean closed;
+
+	/** Keep every segment, they are exposed as the captured bytes. */
+	SegmentedCaptureStream() {
+		this( true );
+	}
+
+	/**
+	 * @param retained Whether full segments are kept and exposed as the captured bytes.
+	 *                 Otherwise only the segment being written is held, and {@link #views()} must be overridden.
+	 */
+	SegmentedCaptureStream( boolean retained ) {
+		this.retained = retained;
+	}
+
+	@Override
+	public final void write( int i ) throws IOException {
+		lock.lock();
+		try {
+			ensureWritable();
+			writable( 1 ).put( ( byte ) i );
+			size++;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public final void write( byte[] bytes, int offset, int length ) throws IOException {
+		Objects.checkFromIndexSize( offset, length, bytes.length );
+		lock.lock();
+		try {
+			ensureWritable();
+			int done = 0;
+			while ( done < length ) {
+				ByteBuffer target = writable( length - done );
+				int chunk = Math.min( target.remaining(), length - done );
+				target.put( bytes, offset + done, chunk );
+				done += chunk;
+				size += chunk;
+			}
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Stop capturing, the captured bytes remain readable.
+	 * Later writes will throw {@link IOException}.
+	 */
+	@Override
+	public final void close() throws IOException {
+		lock.lock();
+		try {
+			if ( closed ) return;
+			closed = true;
+			if ( ! retained ) current = null;
+			release();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/** Returns the number of bytes captured. */
+	public final long size() {
+		return size;
+	}
+
+	/**
+	 * Discard the captured bytes, keeping the segments for reuse.
+	 * Views taken earlier will show the new bytes as they are written.
+	 * @throws IllegalStateException if the capture is closed
+	 */
+	public final void clear() {
+		lock.lock();
+		try {
+			if ( closed ) throw new IllegalStateException( closedError() );
+			for ( ByteBuffer segment : segments ) segment.clear();
+			current = null;
+			currentIndex = -1;
+			size = 0;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/** Returns read only views of the captured bytes, in order, sharing memory with this stream. */
+	public final ByteBuffer[] toByteBuffers() {
+		lock.lock();
+		try {
+			return views();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/** Returns an {@link InputStream} reading the bytes captured so far, without copying them. */
+	public final InputStream toInputStream() {
+		return new ByteBuffersInputStream( toByteBuffers() );
+	}
+
+	/**
+	 * Returns a {@link CharSequence} view of the bytes captured so far, one {@code char} per byte ( ISO-8859-1 ).
+	 * This matches the captured text as long as it is ASCII.
+	 * @throws IllegalStateException if more than {@link Integer#MAX_VALUE} bytes were captured
+	 */
+	public final CharSequence toCharSequence() {
+		ByteBuffer[] views = toByteBuffers();
+		long total = Arrays.stream( views ).mapToLong( ByteBuffer::remaining ).sum();
+		if ( total > Integer.MAX_VALUE ) throw new IllegalStateException( tooLargeError( total ) );
+		return new ByteBuffersCharSequence( views, 0, ( int ) total );
+	}
+
+	/** Returns the captured bytes decoded with the default charset, this copies. */
+	@Override
+	public final String toString() {
+		try {
+			return new String( toInputStream().readAllBytes() );
+		}
+		catch ( IOException e ) {
+			throw new IllegalStateException( e );
+		}
+	}
+
+	/**
+	 * Provide the segment following {@code previous}.
+	 * @param previous The last segment, or null for the first one.
+	 * @param wanted Bytes waiting to be written, a hint only.
+	 */
+	abstract ByteBuffer nextSegment( ByteBuffer previous, int wanted );
+
+	/** Returns read only views of the captured bytes, called holding the lock. */
+	ByteBuffer[] views() {
+		List<ByteBuffer> views = new ArrayList<>();
+		for ( ByteBuffer segment : segments ) {
+			if ( segment.position() == 0 ) break;
+			views.add( segment.asReadOnlyBuffer().flip() );
+		}
+		return views.toArray( new ByteBuffer[ 0 ] );
+	}
+
+	/** Release resources held for writing, called once by {@link #close()}, holding the lock. */
+	void release() throws IOException {
+	}
+
+	private void ensureWritable() throws IOException {
+		if ( closed ) throw new IOException( closedError() );
+	}
+
+	private ByteBuffer writable( int wanted ) {
+		if ( current != null && current.hasRemaining() ) return current;
+		if ( ! retained ) {
+			current = nextSegment( current, wanted );
+			return current;
+		}
+		currentIndex++;
+		if ( currentIndex == segments.size() ) segments.add( nextSegment( current, wanted ) );
+		current = segments.get( currentIndex );
+		return current;
+	}
+
+	static String closedError() {
+		return "Capture is closed";
+	}
+
+	static String tooLargeError( long size ) {
+		return "Capture too large for a CharSequence: " + size;
+	}
+
+}
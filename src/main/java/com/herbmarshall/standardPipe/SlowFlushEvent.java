@@ -0,0 +1,52 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/** JFR event for a flush of a {@link Standard} taking longer than the threshold. */
+@Name( "com.herbmarshall.standardPipe.SlowFlush" )
+@Label( "Standard Slow Flush" )
+@Category( "Standard Pipe" )
+@Description( "A flush of a Standard exceeding the threshold" )
+@Threshold( "20 ms" )
+final class SlowFlushEvent extends jdk.jfr.Event {
+
+	@Label( "Pipe" )
+	String pipe;
+
+	/** Only asked whether the event is enabled, see {@link SlowWriteEvent#start()}. */
+	private static final SlowFlushEvent PROBE = new SlowFlushEvent();
+
+	/** Returns a begun event, or null without allocating while the event is disabled. */
+	static SlowFlushEvent start() {
+		if ( ! PROBE.isEnabled() ) return null;
+		SlowFlushEvent event = new SlowFlushEvent();
+		event.begin();
+		return event;
+	}
+
+	/** Commit {@code event} if it was started and exceeded the threshold. */
+	static void end( SlowFlushEvent event, String pipe ) {
+		if ( event == null || ! event.shouldCommit() ) return;
+		event.pipe = pipe;
+		event.commit();
+	}
+
+}
@@ -0,0 +1,58 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/** JFR event for a write to the default pipe or an override taking longer than the threshold. */
+@Name( "com.herbmarshall.standardPipe.SlowWrite" )
+@Label( "Standard Slow Write" )
+@Category( "Standard Pipe" )
+@Description( "A write through a Standard exceeding the threshold" )
+@Threshold( "20 ms" )
+final class SlowWriteEvent extends jdk.jfr.Event {
+
+	@Label( "Pipe" )
+	String pipe;
+
+	@Label( "Bytes" )
+	@DataAmount
+	long bytes;
+
+	/** Only asked whether the event is enabled, escape analysis does not remove events allocated per write. */
+	private static final SlowWriteEvent PROBE = new SlowWriteEvent();
+
+	/** Returns a begun event, or null without allocating while the event is disabled. */
+	static SlowWriteEvent start() {
+		if ( ! PROBE.isEnabled() ) return null;
+		SlowWriteEvent event = new SlowWriteEvent();
+		event.begin();
+		return event;
+	}
+
+	/** Commit {@code event} if it was started and exceeded the threshold. */
+	static void end( SlowWriteEvent event, String pipe, long bytes ) {
+		if ( event == null || ! event.shouldCommit() ) return;
+		event.pipe = pipe;
+		event.bytes = bytes;
+		event.commit();
+	}
+
+}
@@ -15,9 +15,16 @@
 package com.herbmarshall.standardPipe;
 
 import java.io.ByteArrayOutputStream;
+import java.io.FileDescriptor;
+import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.time.Duration;
 import java.util.Objects;
+import java.util.concurrent.Callable;
 import java.util.function.Consumer;
 
 /**
@@ -29,11 +36,25 @@ public final class Standard {
 	public static final Standard out = new Standard( "OUT", System.out );
 	public static final Standard err = new Standard( "ERROR", System.err );
 
+	/** Idle {@link CaptureBuffer}s kept by each {@link Standard}. */
+	static final int CAPTURE_POOL = 8;
+
+	private static PrintStream installedOut;
+	private static PrintStream installedErr;
+	private static PrintStream previousOut;
+	private static PrintStream previousErr;
+
 	private final DivergingOutputStream pipe;
+	private final Pool<CaptureBuffer> captures;
 
 	/** Exposed for testing. */
 	Standard( String name, OutputStream pipe ) {
-		this.pipe = new DivergingOutputStream( name, Objects.requireNonNull( pipe ) );
+		this( name, pipe, Charset.defaultCharset() );
+	}
+
+	Standard( String name, OutputStream pipe, Charset charset ) {
+		this.pipe = new DivergingOutputStream( name, Objects.requireNonNull( pipe ), charset );
+		this.captures = new Pool<>( CAPTURE_POOL, this::newCapture );
 	}
 
 	/** @see PrintStream#print(String) */
@@ -46,14 +67,301 @@ public final class Standard {
 		pipe.println( value );
 	}
 
+	/** @see PrintStream#print(int) */
+	public void print( int value ) {
+		pipe.print( value, false );
+	}
+
+	/** @see PrintStream#println(int) */
+	public void println( int value ) {
+		pipe.print( value, true );
+	}
+
+	/** @see PrintStream#print(long) */
+	public void print( long value ) {
+		pipe.print( value, false );
+	}
+
+	/** @see PrintStream#println(long) */
+	public void println( long value ) {
+		pipe.print( value, true );
+	}
+
+	/**
+	 * Whole values below ten million are printed without allocating, other values allocate their {@link String}.
+	 * @see PrintStream#print(double)
+	 */
+	public void print( double value ) {
+		pipe.print( value, false );
+	}
+
+	/**
+	 * Whole values below ten million are printed without allocating, other values allocate their {@link String}.
+	 * @see PrintStream#println(double)
+	 */
+	public void println( double value ) {
+		pipe.print( value, true );
+	}
+
+	/** @see PrintStream#print(char) */
+	public void print( char value ) {
+		pipe.print( value, false );
+	}
+
+	/** @see PrintStream#println(char) */
+	public void println( char value ) {
+		pipe.print( value, true );
+	}
+
+	/**
+	 * Print {@code count} characters of {@code value} starting at {@code offset}.
+	 * @throws NullPointerException if {@code value} is null
+	 * @throws IndexOutOfBoundsException if the range is outside of {@code value}
+	 */
+	public void print( char[] value, int offset, int count ) {
+		pipe.print( value, offset, count, false );
+	}
+
+	/**
+	 * Print {@code count} characters of {@code value} starting at {@code offset}, then a line separator.
+	 * @throws NullPointerException if {@code value} is null
+	 * @throws IndexOutOfBoundsException if the range is outside of {@code value}
+	 */
+	public void println( char[] value, int offset, int count ) {
+		pipe.print( value, offset, count, true );
+	}
+
+	/** Print {@code value}, or {@code "null"}, without creating a {@link String}. */
+	public void print( CharSequence value ) {
+		pipe.print( value, false );
+	}
+
+	/** Print {@code value}, or {@code "null"}, then a line separator, without creating a {@link String}. */
+	public void println( CharSequence value ) {
+		pipe.print( value, true );
+	}
+
+	/**
+	 * Print characters {@code start} to {@code end} of {@code value}.
+	 * A null {@code value} prints as {@code "null"}, as {@link Appendable#append(CharSequence, int, int)} does.
+	 * @throws IndexOutOfBoundsException if the range is outside of {@code value}
+	 */
+	public void print( CharSequence value, int start, int end ) {
+		pipe.print( value, start, end, false );
+	}
+
+	/**
+	 * Print characters {@code start} to {@code end} of {@code value}, then a line separator.
+	 * @throws IndexOutOfBoundsException if the range is outside of {@code value}
+	 */
+	public void println( CharSequence value, int start, int end ) {
+		pipe.print( value, start, end, true );
+	}
+
+	/**
+	 * Write the remaining bytes of {@code buffer} as a single operation.
+	 * The position of {@code buffer} will be advanced to its limit.
+	 * @throws NullPointerException if {@code buffer} is null
+	 * @throws UncheckedIOException if the underlying pipe fails
+	 */
+	public void write( ByteBuffer buffer ) {
+		try {
+			pipe.write( buffer );
+		}
+		catch ( IOException e ) {
+			throw new UncheckedIOException( e );
+		}
+	}
+
 	/** Returns the internal {@link OutputStream}. */
 	public OutputStream toStream() {
 		return pipe;
 	}
 
+	/** Returns the {@link OutputStream} written to while no override is in place. */
+	public OutputStream toDefaultStream() {
+		return pipe.defaultPipe();
+	}
+
+	/** Returns the {@link StandardMetrics} of this {@link Standard}, see {@link StandardMetrics#register()}. */
+	public StandardMetrics metrics() {
+		return pipe.metrics();
+	}
+
+	/** Returns the {@link Charset} text is printed in, the default charset unless chosen with {@link #withCharset}. */
+	public Charset charset() {
+		return pipe.charset();
+	}
+
+	/**
+	 * Will create a {@link Standard} with the same default pipe, named after this one and {@code charset},
+	 * such as {@code OUT/UTF-8}, printing text in {@code charset}.
+	 * US-ASCII, ISO-8859-1 and UTF-8 are encoded directly, characters they cannot encode print as {@code '?'}.
+	 * Overrides of the new {@link Standard} are independent.
+	 * @param charset The {@link Charset} to print text in.
+	 * @return A new {@link Standard}.
+	 * @throws NullPointerException if {@code charset} is null
+	 */
+	public Standard withCharset( Charset charset ) {
+		return new Standard( derivedName( charset.name() ), pipe.defaultPipe(), charset );
+	}
+
+	/**
+	 * Will create a {@link Standard} named after this one, such as {@code OUT/async}, writing to this default pipe
+	 * through an {@link AsyncOutputStream}, so callers do not wait on the pipe.
+	 * Overrides of the new {@link Standard} are independent, and remain synchronous.
+	 * @param capacity Bytes of ring, each write taking at least one {@link AsyncOutputStream#SLOT_SIZE} slot of it.
+	 * @param policy What to do with writes once every slot is pending.
+	 * @return A new {@link Standard}.
+	 * @throws NullPointerException if {@code policy} is null
+	 * @throws IllegalArgumentException if {@code capacity} is less than {@link AsyncOutputStream#SLOT_SIZE}
+	 */
+	public Standard async( int capacity, OverflowPolicy policy ) {
+		return new Standard(
+			derivedName( "async" ),
+			new AsyncOutputStream( pipe.defaultPipe(), capacity, policy ),
+			pipe.charset()
+		);
+	}
+
+	/**
+	 * Will create a {@link Standard} named after this one, such as {@code OUT/lineBuffered},
+	 * writing to this default pipe through a {@link LineBufferedOutputStream},
+	 * so lines written by different threads are never interleaved.
+	 * Overrides of the new {@link Standard} are independent, and not line buffered.
+	 * @return A new {@link Standard}.
+	 */
+	public Standard lineBuffered() {
+		return new Standard(
+			derivedName( "lineBuffered" ),
+			new LineBufferedOutputStream( pipe.defaultPipe() ),
+			pipe.charset()
+		);
+	}
+
+	/**
+	 * Will create a {@link Standard} named after this one, such as {@code OUT/throttled}, writing to this default pipe
+	 * through a {@link ThrottledOutputStream}, so a burst of output cannot saturate the pipe.
+	 * Overrides of the new {@link Standard} are independent, and not throttled.
+	 * @param bytesPerSecond Bytes passed per second, or {@link ThrottledOutputStream#UNLIMITED}.
+	 * @param linesPerSecond Lines passed per second, or {@link ThrottledOutputStream#UNLIMITED}.
+	 * @param policy What to do with writes over the rate.
+	 * @return A new {@link Standard}.
+	 * @throws NullPointerException if {@code policy} is null
+	 * @throws IllegalArgumentException if either rate is not positive
+	 */
+	public Standard throttled( long bytesPerSecond, long linesPerSecond, ThrottlePolicy policy ) {
+		return new Standard(
+			derivedName( "throttled" ),
+			new ThrottledOutputStream( pipe.defaultPipe(), bytesPerSecond, linesPerSecond, policy ),
+			pipe.charset()
+		);
+	}
+
+	/**
+	 * Will create a {@link Standard} named after this one, such as {@code OUT/deduplicated},
+	 * writing to this default pipe through a {@link DeduplicatingOutputStream},
+	 * so a line repeated many times in a row is written once with a count.
+	 * Overrides of the new {@link Standard} are independent, and not deduplicated.
+	 * @param timeout Longest a run of repeats goes without a summary.
+	 * @return A new {@link Standard}.
+	 * @throws NullPointerException if {@code timeout} is null
+	 * @throws IllegalArgumentException if {@code timeout} is not positive
+	 */
+	public Standard deduplicated( Duration timeout ) {
+		return new Standard(
+			derivedName( "deduplicated" ),
+			new DeduplicatingOutputStream( pipe.defaultPipe(), timeout ),
+			pipe.charset()
+		);
+	}
+
+	/**
+	 * Will create a {@link Standard} named after this one, such as {@code OUT/sink}, writing to this default pipe
+	 * and also to {@code sink}, through a {@link TeeOutputStream}.
+	 * The default pipe is still written synchronously, {@code sink} is written by its own {@link AsyncOutputStream}.
+	 * Calling this on a {@link Standard} created here adds another sink alongside the existing ones.
+	 * Overrides of the new {@link Standard} are independent, and replace every sink.
+	 * @param sink The additional {@link OutputStream}.
+	 * @param capacity Bytes of ring for {@code sink}, each write taking at least one
+	 * {@link AsyncOutputStream#SLOT_SIZE} slot of it.
+	 * @param policy What to do with writes to {@code sink} once every slot is pending.
+	 * @return A new {@link Standard}, whose {@link #toDefaultStream()} is the {@link TeeOutputStream}.
+	 * @throws NullPointerException if {@code sink} or {@code policy} is null
+	 * @throws IllegalArgumentException if {@code capacity} is less than {@link AsyncOutputStream#SLOT_SIZE}
+	 */
+	public Standard withSink( OutputStream sink, int capacity, OverflowPolicy policy ) {
+		AsyncOutputStream async = new AsyncOutputStream( sink, capacity, policy );
+		OutputStream current = pipe.defaultPipe();
+		TeeOutputStream tee = current instanceof TeeOutputStream ?
+			( ( TeeOutputStream ) current ).with( async ) :
+			new TeeOutputStream( current, async );
+		return new Standard( derivedName( "sink" ), tee, pipe.charset() );
+	}
+
+	/**
+	 * Returns a {@link Standard} named {@code OUT/direct}, writing to {@link FileDescriptor#out} through a
+	 * {@link ChannelOutputStream} rather than {@link System#out}.
+	 * Output is line flushed when a console is attached, and flushed on demand or when full otherwise.
+	 * Bytes written here and through {@link System#out} may appear out of order.
+	 * @return The same {@link Standard} on every call.
+	 */
+	public static Standard directOut() {
+		return Direct.out;
+	}
+
+	/**
+	 * Returns a {@link Standard} named {@code ERROR/direct}, writing to {@link FileDescriptor#err} through a
+	 * line flushed {@link ChannelOutputStream} rather than {@link System#err}.
+	 * Bytes written here and through {@link System#err} may appear out of order.
+	 * @return The same {@link Standard} on every call.
+	 */
+	public static Standard directErr() {
+		return Direct.err;
+	}
+
+	/**
+	 * Replace {@link System#out} and {@link System#err} with {@link PrintStream}s writing through {@link #out} and
+	 * {@link #err}, so code printing to them directly follows their overrides.
+	 * Both keep writing to the original streams when no override is in place, as {@link #out} and {@link #err}
+	 * captured them before anything was installed.
+	 * An override writing back to {@link System#out} or {@link System#err} reaches the original stream.
+	 * Does nothing if already installed.
+	 */
+	public static synchronized void install() {
+		if ( installedOut != null ) return;
+		previousOut = System.out;
+		previousErr = System.err;
+		installedOut = out.console();
+		installedErr = err.console();
+		System.setOut( installedOut );
+		System.setErr( installedErr );
+	}
+
+	/**
+	 * Restore the {@link System#out} and {@link System#err} in place before {@link #install()}.
+	 * A stream replaced again since then is left alone.
+	 * Does nothing if not installed.
+	 */
+	public static synchronized void uninstall() {
+		if ( installedOut == null ) return;
+		installedOut.flush();
+		installedErr.flush();
+		if ( System.out == installedOut ) System.setOut( previousOut );
+		if ( System.err == installedErr ) System.setErr( previousErr );
+		installedOut = null;
+		installedErr = null;
+		previousOut = null;
+		previousErr = null;
+	}
+
+	/** Returns true if {@link #install()} is in effect. */
+	public static synchronized boolean installed() {
+		return installedOut != null;
+	}
+
 	/**
 	 * Replace the default {@link PrintStream} using a {@link java.io.ByteArrayOutputStream}.
-	 * @throws IllegalStateException If an override is already in place
 	 * @deprecated Please use {@link Standard#withOverride(OutputStream)}
 	 */
 	@Deprecated( since = "1.7", forRemoval = true )
@@ -65,7 +373,6 @@ public final class Standard {
 	 * Replace the default {@link PrintStream} with {@link ByteArrayOutputStream} while executing {@code action}.
 	 * Override will be cleared after {@code action} has executed.
 	 * @param action {@link Consumer} that will accept the updated {@link PrintStream}
-	 * @throws IllegalStateException If an override is already in place
 	 * @deprecated Please use {@link Standard#withOverride(OutputStream)}
 	 */
 	@Deprecated( since = "1.7", forRemoval = true )
@@ -75,7 +382,6 @@ public final class Standard {
 
 	/**
 	 * Replace the default {@link PrintStream}.
-	 * @throws IllegalStateException If an override is already in place
 	 * @deprecated Please use {@link Standard#withOverride(OutputStream)}
 	 */
 	@Deprecated( since = "1.7", forRemoval = true )
@@ -87,7 +393,6 @@ public final class Standard {
 	 * Replace the default {@link PrintStream} while executing {@code action}.
 	 * Override will be cleared after {@code action} has executed.
 	 * @param action {@link Consumer} that will accept {@code pipe}
-	 * @throws IllegalStateException If an override is already in place
 	 * @deprecated Please use {@link Standard#withOverride(OutputStream)}
 	 */
 	@Deprecated( since = "1.7", forRemoval = true )
@@ -97,7 +402,7 @@ public final class Standard {
 			action.accept( new PrintStream( this.pipe ) );
 		}
 		finally {
-			reset();
+			this.pipe.reset( pipe );
 		}
 	}
 
@@ -112,7 +417,113 @@ public final class Standard {
 	}
 
 	/**
-	 * Use the default {@link PrintStream}.
+	 * Will create an {@link OverridePlan} limited to the threads described by {@code scope}.
+	 * Threads outside of {@code scope} keep writing to the default pipe, or to a {@link OverrideScope#GLOBAL} override.
+	 * @param stream The {@link OutputStream} to use for the override.
+	 * @param scope The {@link OverrideScope} of the override.
+	 * @return A new {@link OverridePlan}.
+	 * @throws NullPointerException if {@code stream} or {@code scope} is null
+	 */
+	public OverridePlan withOverride( OutputStream stream, OverrideScope scope ) {
+		return new OverridePlan( pipe, stream, scope );
+	}
+
+	/**
+	 * Will create an {@link OverridePlan} which, when executed inside another override of the same {@code scope},
+	 * sends writes where {@code nesting} says.
+	 * Overrides nest to any depth, writes cost the same at each of them.
+	 * @param stream The {@link OutputStream} to use for the override.
+	 * @param scope The {@link OverrideScope} of the override.
+	 * @param nesting The {@link NestingPolicy} of the override.
+	 * @return A new {@link OverridePlan}.
+	 * @throws NullPointerException if {@code stream}, {@code scope} or {@code nesting} is null
+	 */
+	public OverridePlan withOverride( OutputStream stream, OverrideScope scope, NestingPolicy nesting ) {
+		return new OverridePlan( pipe, stream, scope, nesting );
+	}
+
+	/**
+	 * Execute {@code action} while capturing this {@link Standard} into a pooled {@link CaptureBuffer}.
+	 * Once warm, repeated captures allocate nothing: the buffer, its {@link OverridePlan} and its memory are reused.
+	 * Close the returned buffer to return it to the pool, its memory is only replaced if a view of it was taken.
+	 * @param action {@link Runnable} code to execute.
+	 * @return The {@link CaptureBuffer} holding what {@code action} wrote.
+	 * @throws NullPointerException if {@code action} is null
+	 */
+	public CaptureBuffer capture( Runnable action ) {
+		return capture( action, OverrideScope.GLOBAL );
+	}
+
+	/**
+	 * Execute {@code action} while capturing this {@link Standard} into a pooled {@link CaptureBuffer},
+	 * limited to the threads described by {@code scope}.
+	 * @see #capture(Runnable)
+	 * @see #withOverride(OutputStream, OverrideScope)
+	 * @throws NullPointerException if {@code action} or {@code scope} is null
+	 */
+	public CaptureBuffer capture( Runnable action, OverrideScope scope ) {
+		Objects.requireNonNull( action );
+		Objects.requireNonNull( scope );
+		CaptureBuffer buffer = captures.lease().open();
+		try {
+			buffer.plan( scope ).execute( action );
+		}
+		catch ( RuntimeException | Error e ) {
+			buffer.close();
+			throw e;
+		}
+		return buffer;
+	}
+
+	/**
+	 * Will create an {@link OverridePlan} handing each line written to {@code callback} as soon as it ends,
+	 * through a {@link LineCallbackOutputStream} decoding in {@link #charset()}.
+	 * An unterminated last line is handed over once the action completes.
+	 * @param callback Receives each line, as a view only valid until it returns.
+	 * @return A new {@link OverridePlan}.
+	 * @throws NullPointerException if {@code callback} is null
+	 */
+	public OverridePlan withLineOverride( Consumer<CharSequence> callback ) {
+		return withLineOverride( callback, OverrideScope.GLOBAL );
+	}
+
+	/**
+	 * Will create an {@link OverridePlan} handing each line written to {@code callback}, limited to {@code scope}.
+	 * @see #withLineOverride(Consumer)
+	 * @see #withOverride(OutputStream, OverrideScope)
+	 * @throws NullPointerException if {@code callback} or {@code scope} is null
+	 */
+	public OverridePlan withLineOverride( Consumer<CharSequence> callback, OverrideScope scope ) {
+		LineCallbackOutputStream lines = new LineCallbackOutputStream( callback, pipe.charset() );
+		return new OverridePlan( pipe, lines, scope, lines::finish );
+	}
+
+	/**
+	 * Carry the {@link OverrideScope#THREAD} or {@link OverrideScope#INHERITED} override of the calling thread
+	 * into {@code action}, so it applies on whichever thread eventually runs it ( e.g. an executor pool ).
+	 * The override stops applying once its {@link OverridePlan} completes.
+	 * @param action The task to bind.
+	 * @return A {@link Runnable} bound to the current override, or {@code action} if there is none.
+	 * @throws NullPointerException if {@code action} is null
+	 */
+	public Runnable propagate( Runnable action ) {
+		return pipe.propagate( action );
+	}
+
+	/**
+	 * Carry the {@link OverrideScope#THREAD} or {@link OverrideScope#INHERITED} override of the calling thread
+	 * into {@code action}, so it applies on whichever thread eventually runs it ( e.g. an executor pool ).
+	 * The override stops applying once its {@link OverridePlan} completes.
+	 * @param action The task to bind.
+	 * @return A {@link Callable} bound to the current override, or {@code action} if there is none.
+	 * @throws NullPointerException if {@code action} is null
+	 */
+	public <T> Callable<T> propagate( Callable<T> action ) {
+		return pipe.propagate( action );
+	}
+
+	/**
+	 * Clear the innermost override, using the default {@link PrintStream} once none is left.
 	 * @deprecated Please use {@link Standard#withOverride(OutputStream)}
 	 */
 	@Deprecated( since = "1.8", forRemoval = true )
@@ -130,4 +541,28 @@ public final class Standard {
 		throw new UnsupportedOperationException();
 	}
 
+	private PrintStream console() {
+		return new ConsolePrintStream( pipe );
+	}
+
+	/** The name of a {@link Standard} derived from this one, distinct so both can register their metrics. */
+	private String derivedName( String variant ) {
+		return pipe + "/" + variant;
+	}
+
+	private CaptureBuffer newCapture() {
+		return new CaptureBuffer( pipe, captures );
+	}
+
+	/** Holds the direct {@link Standard}s, so their descriptors are only opened when first used. */
+	private static final class Direct {
+
+		static final Standard out = new Standard(
+			"OUT/direct",
+			ChannelOutputStream.of( FileDescriptor.out, System.console() != null )
+		);
+		static final Standard err = new Standard( "ERROR/direct", ChannelOutputStream.of( FileDescriptor.err, true ) );
+
+	}
+
 }
@@ -0,0 +1,149 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileDescriptor;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A wrapper for the standard input.
+ * The class exists to allow for easy testing of {@link System#in} usage, the counterpart of {@link Standard}.
+ */
+public final class StandardInput {
+
+	public static final StandardInput in = new StandardInput( "IN", System.in );
+
+	/** Idle {@link LineReader}s kept by each {@link StandardInput}. */
+	static final int READER_POOL = 4;
+
+	private final DivergingInputStream pipe;
+	private final Charset charset;
+	private final Pool<LineReader> readers;
+
+	/** Exposed for testing. */
+	StandardInput( String name, InputStream pipe ) {
+		this( name, pipe, Charset.defaultCharset() );
+	}
+
+	StandardInput( String name, InputStream pipe, Charset charset ) {
+		this.pipe = new DivergingInputStream( name, Objects.requireNonNull( pipe ) );
+		this.charset = Objects.requireNonNull( charset );
+		this.readers = new Pool<>( READER_POOL, () -> new LineReader( charset ) );
+	}
+
+	/**
+	 * Read the input to its end, handing each line to {@code callback} as soon as it is read.
+	 * Lines are read in large chunks and decoded into a reused view, so once warm, iterating allocates nothing.
+	 * @param callback Receives each line, as a view only valid until it returns, without its line end.
+	 * @return The number of lines read.
+	 * @throws NullPointerException if {@code callback} is null
+	 * @throws UncheckedIOException if the underlying pipe fails
+	 */
+	public long lines( Consumer<CharSequence> callback ) {
+		Objects.requireNonNull( callback );
+		LineReader reader = readers.lease();
+		try {
+			return reader.read( pipe, callback );
+		}
+		catch ( IOException e ) {
+			throw new UncheckedIOException( e );
+		}
+		finally {
+			readers.release( reader );
+		}
+	}
+
+	/** Returns the {@link InputStream} reading from the current override, or the default pipe. */
+	public InputStream toStream() {
+		return pipe;
+	}
+
+	/** Returns the {@link InputStream} read from while no override is in place. */
+	public InputStream toDefaultStream() {
+		return pipe.defaultPipe();
+	}
+
+	/** Returns the {@link Charset} lines are decoded in, the default one unless set by {@link #withCharset}. */
+	public Charset charset() {
+		return charset;
+	}
+
+	/**
+	 * Will create a {@link StandardInput} with the same name and default pipe, decoding lines in {@code charset}.
+	 * Overrides of the new {@link StandardInput} are independent.
+	 * @param charset The {@link Charset} to decode lines in.
+	 * @return A new {@link StandardInput}.
+	 * @throws NullPointerException if {@code charset} is null
+	 */
+	public StandardInput withCharset( Charset charset ) {
+		return new StandardInput( pipe.toString(), pipe.defaultPipe(), charset );
+	}
+
+	/**
+	 * Returns a {@link StandardInput} reading the standard input descriptor directly, through a
+	 * {@link ChannelInputStream} rather than {@link System#in}.
+	 * Input redirected from a file is read in large blocks straight from its {@link java.nio.channels.FileChannel}.
+	 * Bytes already buffered by {@link System#in} are not seen here.
+	 */
+	public static StandardInput directIn() {
+		return Direct.in;
+	}
+
+	/**
+	 * Will create an {@link InputOverridePlan} for simple overriding of this {@link StandardInput}.
+	 * @param stream The {@link InputStream} to use for the override.
+	 * @return A new {@link InputOverridePlan}.
+	 * @throws NullPointerException if {@code stream} is null
+	 */
+	public InputOverridePlan withInput( InputStream stream ) {
+		return withInput( stream, OverrideScope.GLOBAL );
+	}
+
+	/**
+	 * Will create an {@link InputOverridePlan} limited to the threads described by {@code scope}.
+	 * Threads outside of {@code scope} keep reading the default pipe, or a {@link OverrideScope#GLOBAL} override.
+	 * @param stream The {@link InputStream} to use for the override.
+	 * @param scope The {@link OverrideScope} of the override.
+	 * @return A new {@link InputOverridePlan}.
+	 * @throws NullPointerException if {@code stream} or {@code scope} is null
+	 */
+	public InputOverridePlan withInput( InputStream stream, OverrideScope scope ) {
+		return new InputOverridePlan( pipe, stream, scope );
+	}
+
+	/**
+	 * Will create an {@link InputOverridePlan} reading {@code text}, encoded in {@link #charset()}.
+	 * @param text The input to provide.
+	 * @return A new {@link InputOverridePlan}.
+	 * @throws NullPointerException if {@code text} is null
+	 */
+	public InputOverridePlan withInput( String text ) {
+		return withInput( new ByteArrayInputStream( text.getBytes( charset ) ) );
+	}
+
+	/** Holds the direct {@link StandardInput}, so its descriptor is only opened when first used. */
+	private static final class Direct {
+
+		static final StandardInput in = new StandardInput( "IN", ChannelInputStream.of( FileDescriptor.in ) );
+
+	}
+
+}
@@ -0,0 +1,192 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import javax.management.JMException;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of a {@link Standard}.
+ * Counters are {@link LongAdder}s, so contending writers spread over a bounded set of cells, however many
+ * threads ever wrote, and a write costs no thread local lookup.
+ * One write in {@value #SAMPLE_RATE} is timed at random, into a histogram of power of two buckets.
+ */
+public final class StandardMetrics implements StandardMetricsMBean {
+
+	/** Writes per timed write. */
+	public static final int SAMPLE_RATE = 64;
+
+	private static final String DOMAIN = "com.herbmarshall.standardPipe";
+	private static final int BUCKETS = 64;
+	private static final double P50 = 0.5;
+	private static final double P99 = 0.99;
+	private static final double P999 = 0.999;
+
+	private final String name;
+	private final LongAdder writes = new LongAdder();
+	private final LongAdder bytes = new LongAdder();
+	private final LongAdder flushes = new LongAdder();
+	private final LongAdder overrides = new LongAdder();
+	private final LongAdder activeOverrides = new LongAdder();
+	private final LongAdder overrideNanos = new LongAdder();
+	private final AtomicLongArray latencies = new AtomicLongArray( BUCKETS );
+
+	StandardMetrics( String name ) {
+		this.name = name;
+	}
+
+	/**
+	 * Register with the platform {@link javax.management.MBeanServer}, as
+	 * {@code com.herbmarshall.standardPipe:type=Standard,name=<name>}.
+	 * @throws IllegalStateException if a {@link Standard} of the same name is already registered
+	 */
+	public void register() {
+		try {
+			ManagementFactory.getPlatformMBeanServer().registerMBean( this, objectName() );
+		}
+		catch ( JMException e ) {
+			throw new IllegalStateException( registerError( name ), e );
+		}
+	}
+
+	/** Remove the registration made by {@link #register()}, if any. */
+	public void unregister() {
+		try {
+			ManagementFactory.getPlatformMBeanServer().unregisterMBean( objectName() );
+		}
+		catch ( JMException ignored ) {
+			// Not registered
+		}
+	}
+
+	/** Returns the {@link ObjectName} used by {@link #register()}. */
+	public ObjectName objectName() {
+		try {
+			return new ObjectName( DOMAIN + ":type=Standard,name=" + ObjectName.quote( name ) );
+		}
+		catch ( MalformedObjectNameException e ) {
+			throw new IllegalStateException( e );
+		}
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public long getBytesWritten() {
+		return bytes.sum();
+	}
+
+	@Override
+	public long getWriteCount() {
+		return writes.sum();
+	}
+
+	@Override
+	public long getFlushCount() {
+		return flushes.sum();
+	}
+
+	@Override
+	public long getOverrideCount() {
+		return overrides.sum();
+	}
+
+	@Override
+	public long getActiveOverrides() {
+		return activeOverrides.sum();
+	}
+
+	@Override
+	public long getOverrideNanos() {
+		return overrideNanos.sum();
+	}
+
+	@Override
+	public long[] getWriteLatencyHistogram() {
+		long[] counts = new long[ BUCKETS ];
+		for ( int i = 0; i < BUCKETS; i++ ) counts[ i ] = latencies.get( i );
+		return counts;
+	}
+
+	@Override
+	public long getWriteLatencyP50Nanos() {
+		return percentile( P50 );
+	}
+
+	@Override
+	public long getWriteLatencyP99Nanos() {
+		return percentile( P99 );
+	}
+
+	@Override
+	public long getWriteLatencyP999Nanos() {
+		return percentile( P999 );
+	}
+
+	/** Returns whether the coming write should be timed. */
+	static boolean sample() {
+		return ThreadLocalRandom.current().nextInt( SAMPLE_RATE ) == 0;
+	}
+
+	void recordWrite( int length ) {
+		writes.increment();
+		bytes.add( length );
+	}
+
+	void recordLatency( long nanos ) {
+		latencies.incrementAndGet( Long.SIZE - Long.numberOfLeadingZeros( Math.max( nanos, 0 ) ) );
+	}
+
+	void recordFlush() {
+		flushes.increment();
+	}
+
+	void overrideStarted() {
+		overrides.increment();
+		activeOverrides.increment();
+	}
+
+	void overrideEnded( long startNanos ) {
+		activeOverrides.decrement();
+		overrideNanos.add( System.nanoTime() - startNanos );
+	}
+
+	private long percentile( double fraction ) {
+		long[] counts = getWriteLatencyHistogram();
+		long total = 0;
+		for ( long count : counts ) total += count;
+		if ( total == 0 ) return 0;
+		long goal = ( long ) Math.ceil( total * fraction );
+		long seen = 0;
+		for ( int i = 0; i < BUCKETS; i++ ) {
+			seen += counts[ i ];
+			if ( seen >= goal ) return i == BUCKETS - 1 ? Long.MAX_VALUE : 1L << i;
+		}
+		return Long.MAX_VALUE;
+	}
+
+	static String registerError( String name ) {
+		return "Could not register metrics of standard pipe " + name;
+	}
+
+}
@@ -0,0 +1,56 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+/** Traffic through a {@link Standard}, published over JMX by {@link StandardMetrics#register()}. */
+public interface StandardMetricsMBean {
+
+	/** Returns the name of the {@link Standard}. */
+	String getName();
+
+	/** Returns the bytes written, to the default pipe or an override. */
+	long getBytesWritten();
+
+	/** Returns the number of write calls. */
+	long getWriteCount();
+
+	/** Returns the number of flush calls. */
+	long getFlushCount();
+
+	/** Returns the number of overrides installed, of any {@link OverrideScope}. */
+	long getOverrideCount();
+
+	/** Returns the number of overrides currently in place. */
+	long getActiveOverrides();
+
+	/** Returns the total time overrides were in place, once cleared, in nanoseconds. */
+	long getOverrideNanos();
+
+	/**
+	 * Returns counts of sampled write latencies, where bucket {@code i} counts writes taking
+	 * less than {@code 2^i} nanoseconds, and at least half that.
+	 */
+	long[] getWriteLatencyHistogram();
+
+	/** Returns an upper bound of the median sampled write latency, in nanoseconds. */
+	long getWriteLatencyP50Nanos();
+
+	/** Returns an upper bound of the 99th percentile sampled write latency, in nanoseconds. */
+	long getWriteLatencyP99Nanos();
+
+	/** Returns an upper bound of the 99.9th percentile sampled write latency, in nanoseconds. */
+	long getWriteLatencyP999Nanos();
+
+}
@@ -0,0 +1,180 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An {@link OutputStream} keeping only the most recent bytes written, for use as an {@link OverridePlan} target
+ * around long running work whose output only matters when it fails.
+ * Memory is allocated once, writes never allocate, and {@link #snapshot()} may be taken while writing continues.
+ * When a line limit is given, only the last lines are kept, counting a trailing partial line as one.
+ */
+public final class TailCaptureStream extends OutputStream {
+
+	private static final byte LINE_END = '\n';
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final byte[] ring;
+	private final long[] lineEnds;
+	private final int maxLines;
+	private long written;
+	private long lines;
+
+	/**
+	 * Create a {@link TailCaptureStream} keeping the last {@code capacity} bytes.
+	 * @param capacity Bytes to keep.
+	 * @throws IllegalArgumentException if {@code capacity} is not positive
+	 */
+	public TailCaptureStream( int capacity ) {
+		this( capacity, 0 );
+	}
+
+	/**
+	 * Create a {@link TailCaptureStream} keeping the last {@code maxLines} lines, within {@code capacity} bytes.
+	 * @param capacity Bytes to keep.
+	 * @param maxLines Lines to keep, or zero for no line limit.
+	 * @throws IllegalArgumentException if {@code capacity} is not positive, or {@code maxLines} is negative
+	 */
+	public TailCaptureStream( int capacity, int maxLines ) {
+		if ( capacity <= 0 ) throw new IllegalArgumentException( capacityError( capacity ) );
+		if ( maxLines < 0 ) throw new IllegalArgumentException( linesError( maxLines ) );
+		this.ring = new byte[ capacity ];
+		this.maxLines = maxLines;
+		this.lineEnds = maxLines == 0 ? null : new long[ maxLines + 1 ];
+	}
+
+	@Override
+	public void write( int i ) {
+		lock.lock();
+		try {
+			ring[ ( int ) ( written % ring.length ) ] = ( byte ) i;
+			written++;
+			if ( lineEnds != null && i == LINE_END ) lineEnds[ ( int ) ( lines++ % lineEnds.length ) ] = written;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void write( byte[] bytes, int offset, int length ) {
+		Objects.checkFromIndexSize( offset, length, bytes.length );
+		lock.lock();
+		try {
+			// Bytes that would be overwritten within this call are never copied
+			int skipped = Math.max( 0, length - ring.length );
+			written += skipped;
+			int start = offset + skipped;
+			int end = offset + length;
+			while ( start < end ) {
+				int position = ( int ) ( written % ring.length );
+				int chunk = Math.min( end - start, ring.length - position );
+				System.arraycopy( bytes, start, ring, position, chunk );
+				if ( lineEnds != null ) markLines( bytes, start, chunk );
+				written += chunk;
+				start += chunk;
+			}
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/** Returns a copy of the bytes currently kept, oldest first. */
+	public byte[] snapshot() {
+		lock.lock();
+		try {
+			long first = firstKept();
+			byte[] copy = new byte[ ( int ) ( written - first ) ];
+			int position = ( int ) ( first % ring.length );
+			int chunk = Math.min( copy.length, ring.length - position );
+			System.arraycopy( ring, position, copy, 0, chunk );
+			System.arraycopy( ring, 0, copy, chunk, copy.length - chunk );
+			return copy;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/** Returns the number of bytes currently kept. */
+	public int size() {
+		lock.lock();
+		try {
+			return ( int ) ( written - firstKept() );
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/** Returns the number of bytes written since creation or the last {@link #clear()}, kept or not. */
+	public long written() {
+		lock.lock();
+		try {
+			return written;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/** Discard the bytes kept. */
+	public void clear() {
+		lock.lock();
+		try {
+			written = 0;
+			lines = 0;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/** Returns the bytes currently kept decoded with the default charset. */
+	@Override
+	public String toString() {
+		return new String( snapshot(), Charset.defaultCharset() );
+	}
+
+	private void markLines( byte[] bytes, int offset, int length ) {
+		for ( int i = 0; i < length; i++ )
+			if ( bytes[ offset + i ] == LINE_END )
+				lineEnds[ ( int ) ( lines++ % lineEnds.length ) ] = written + i + 1;
+	}
+
+	/** Returns the absolute offset of the oldest byte kept. */
+	private long firstKept() {
+		long first = Math.max( 0, written - ring.length );
+		if ( lineEnds == null ) return first;
+		boolean partial = lines == 0 || lineEnds[ ( int ) ( ( lines - 1 ) % lineEnds.length ) ] != written;
+		int complete = partial ? maxLines - 1 : maxLines;
+		if ( lines <= complete ) return first;
+		return Math.max( first, lineEnds[ ( int ) ( ( lines - 1 - complete ) % lineEnds.length ) ] );
+	}
+
+	static String capacityError( int capacity ) {
+		return "Capacity must be positive: " + capacity;
+	}
+
+	static String linesError( int maxLines ) {
+		return "Line limit must not be negative: " + maxLines;
+	}
+
+}
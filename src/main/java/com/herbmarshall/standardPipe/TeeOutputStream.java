@@ -0,0 +1,112 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An {@link OutputStream} writing to a primary target, and handing a copy to any number of
+ * {@link AsyncOutputStream} sinks.
+ * The primary target is written synchronously, each sink drains on its own thread with its own
+ * {@link OverflowPolicy}, so a slow or failing sink never delays the primary target or the other sinks.
+ */
+public final class TeeOutputStream extends OutputStream {
+
+	private final OutputStream primary;
+	private final AsyncOutputStream[] sinks;
+
+	/**
+	 * Create a {@link TeeOutputStream}.
+	 * @param primary The {@link OutputStream} written synchronously.
+	 * @param sinks The {@link AsyncOutputStream}s receiving copies.
+	 * @throws NullPointerException if {@code primary} or any of {@code sinks} is null
+	 */
+	public TeeOutputStream( OutputStream primary, AsyncOutputStream... sinks ) {
+		this.primary = Objects.requireNonNull( primary );
+		this.sinks = sinks.clone();
+		for ( AsyncOutputStream sink : this.sinks ) Objects.requireNonNull( sink );
+	}
+
+	/**
+	 * Will create a {@link TeeOutputStream} sharing the primary target and sinks of this one, plus {@code sink}.
+	 * @param sink The {@link AsyncOutputStream} to add.
+	 * @return A new {@link TeeOutputStream}.
+	 * @throws NullPointerException if {@code sink} is null
+	 */
+	public TeeOutputStream with( AsyncOutputStream sink ) {
+		AsyncOutputStream[] extended = Arrays.copyOf( sinks, sinks.length + 1 );
+		extended[ sinks.length ] = Objects.requireNonNull( sink );
+		return new TeeOutputStream( primary, extended );
+	}
+
+	/** Returns the {@link OutputStream} written synchronously. */
+	public OutputStream primary() {
+		return primary;
+	}
+
+	/**
+	 * Returns the sinks, in the order they were added.
+	 * Their {@link AsyncOutputStream#pendingSlots()} and {@link AsyncOutputStream#droppedBytes()}
+	 * report how far behind each sink is, and how much it lost.
+	 */
+	public List<AsyncOutputStream> sinks() {
+		return List.of( sinks );
+	}
+
+	@Override
+	public void write( int i ) throws IOException {
+		primary.write( i );
+		for ( AsyncOutputStream sink : sinks ) {
+			try {
+				sink.write( i );
+			}
+			catch ( IOException ignored ) {
+				// A closed or failed sink must not fail the primary target
+			}
+		}
+	}
+
+	@Override
+	public void write( byte[] bytes, int offset, int length ) throws IOException {
+		Objects.checkFromIndexSize( offset, length, bytes.length );
+		primary.write( bytes, offset, length );
+		for ( AsyncOutputStream sink : sinks ) {
+			try {
+				sink.write( bytes, offset, length );
+			}
+			catch ( IOException ignored ) {
+				// A closed or failed sink must not fail the primary target
+			}
+		}
+	}
+
+	/** Flush the primary target, sinks are flushed by their own threads once idle. */
+	@Override
+	public void flush() throws IOException {
+		primary.flush();
+	}
+
+	/** Drain and close every sink, then close the primary target. */
+	@Override
+	public void close() throws IOException {
+		for ( AsyncOutputStream sink : sinks ) sink.close();
+		primary.close();
+	}
+
+}
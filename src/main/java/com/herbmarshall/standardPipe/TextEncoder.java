@@ -0,0 +1,386 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Per thread scratch space turning numbers and text into bytes of a {@link Charset}, without allocating.
+ * US-ASCII, ISO-8859-1 and UTF-8 are encoded here, other charsets copy their ASCII prefix here
+ * then go through a {@link CharsetEncoder}, unless they are not ASCII compatible or shift state.
+ * The encoding of a charset shifting state is ended after each appended value, which returns it to its initial state.
+ * Characters that cannot be encoded become {@code '?'}, as {@link java.io.PrintStream} does.
+ * Bytes are gathered then handed to the target in one write, the scratch space growing for a long value,
+ * so a printed value and its line separator are never split nor interleaved with another thread's output.
+ */
+final class TextEncoder {
+
+	static final int SIZE = 512;
+	/** Scratch space grown past this is dropped once printing ends, so one long value does not pin it. */
+	private static final int RETAINED_SIZE = 8 * 1024;
+
+	private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes( StandardCharsets.US_ASCII );
+	private static final byte[] MIN_LONG = Long.toString( Long.MIN_VALUE ).getBytes( StandardCharsets.US_ASCII );
+	private static final int RADIX = 10;
+	/** Digits of {@link Long#MAX_VALUE}. */
+	private static final int MAX_DIGITS = 19;
+	/** Characters of the longest {@code long}, with its sign. */
+	private static final int LONG_DIGITS = MAX_DIGITS + 1;
+	private static final long PLAIN_DOUBLE = 10_000_000;
+	private static final byte REPLACEMENT = '?';
+	/** Characters below this are the same single byte in every ASCII compatible charset. */
+	private static final char ASCII_LIMIT = 0x80;
+	/** Characters below this are the same single byte in ISO-8859-1. */
+	private static final char LATIN_1_LIMIT = 0x100;
+	/** Characters below this take two bytes in UTF-8, at least {@link #ASCII_LIMIT}. */
+	private static final char UTF_8_TWO_LIMIT = 0x800;
+	/** Most bytes UTF-8 takes for a code point. */
+	private static final int UTF_8_MAX_BYTES = 4;
+	private static final int UTF_8_TWO_LEAD = 0xC0;
+	private static final int UTF_8_THREE_LEAD = 0xE0;
+	private static final int UTF_8_FOUR_LEAD = 0xF0;
+	private static final int UTF_8_CONTINUATION = 0x80;
+	/** Bits of the code point each UTF-8 continuation byte carries. */
+	private static final int UTF_8_BITS = 6;
+	private static final int UTF_8_BITS_MASK = ( 1 << UTF_8_BITS ) - 1;
+	/** Escape, shift out and shift in, which charsets shifting state use to leave their initial state. */
+	private static final byte[] SHIFTS = { 0x1B, 0x0E, 0x0F };
+	/** Characters tried in turn, the first one a charset can encode shows whether it shifts state. */
+	private static final String SHIFT_PROBES = "\u00e9\u3042\u0416";
+
+	private enum Mode { ASCII, LATIN_1, UTF_8, OTHER }
+
+	private final Charset charset;
+	private final Mode mode;
+	/** Whether the charset leaves its initial state for some characters, as the ISO-2022 charsets do. */
+	private final boolean shifting;
+	/** Characters below this are encoded as a single byte of the same value. */
+	private final char directLimit;
+	private byte[] buffer = new byte[ SIZE ];
+	private final CharArrayView chars = new CharArrayView();
+	private CharsetEncoder encoder;
+	private OutputStream target;
+	private int length;
+
+	TextEncoder( Charset charset ) {
+		this.charset = charset;
+		if ( charset.equals( StandardCharsets.US_ASCII ) ) mode = Mode.ASCII;
+		else if ( charset.equals( StandardCharsets.ISO_8859_1 ) ) mode = Mode.LATIN_1;
+		else if ( charset.equals( StandardCharsets.UTF_8 ) ) mode = Mode.UTF_8;
+		else mode = Mode.OTHER;
+		shifting = mode == Mode.OTHER && charset.canEncode() && shifts( charset );
+		if ( mode == Mode.LATIN_1 ) directLimit = LATIN_1_LIMIT;
+		else if ( mode != Mode.OTHER || asciiCompatible( charset ) && ! shifting ) directLimit = ASCII_LIMIT;
+		else directLimit = 0;
+	}
+
+	/** Returns whether this is between {@link #start(OutputStream)} and {@link #finish()}, i.e. re-entered. */
+	boolean busy() {
+		return target != null;
+	}
+
+	TextEncoder start( OutputStream target ) {
+		this.target = target;
+		this.length = 0;
+		return this;
+	}
+
+	/** Hand any gathered bytes to the target, and release it. */
+	void finish() throws IOException {
+		try {
+			if ( length > 0 ) target.write( buffer, 0, length );
+		}
+		finally {
+			release();
+		}
+	}
+
+	/**
+	 * Release the target whether or not {@link #finish()} was reached, dropping any bytes gathered for a failed write.
+	 * Called once printing ends however it ends, so an exception never leaves this {@link #busy()}.
+	 */
+	void abandon() {
+		release();
+		chars.clear();
+	}
+
+	TextEncoder appendLong( long value ) throws IOException {
+		if ( value == Long.MIN_VALUE ) return appendBytes( MIN_LONG );
+		ensure( LONG_DIGITS );
+		boolean negative = value < 0;
+		long remaining = negative ? -value : value;
+		int end = length + stringSize( remaining ) + ( negative ? 1 : 0 );
+		int position = end;
+		do {
+			buffer[ --position ] = ( byte ) ( '0' + remaining % RADIX );
+			remaining /= RADIX;
+		}
+		while ( remaining != 0 );
+		if ( negative ) buffer[ --position ] = '-';
+		length = end;
+		return this;
+	}
+
+	/**
+	 * Append {@code value} as {@link Double#toString(double)} would.
+	 * Whole values below ten million are formatted here, others go through {@link Double#toString(double)},
+	 * which allocates.
+	 */
+	TextEncoder appendDouble( double value ) throws IOException {
+		long whole = ( long ) value;
+		if ( whole == value && Math.abs( whole ) < PLAIN_DOUBLE && ( whole != 0 || 1 / value > 0 ) ) {
+			appendLong( whole );
+			ensure( 2 );
+			buffer[ length++ ] = '.';
+			buffer[ length++ ] = '0';
+			return this;
+		}
+		String text = Double.toString( value );
+		return append( text, 0, text.length() );
+	}
+
+	TextEncoder append( char value ) throws IOException {
+		if ( value < directLimit ) {
+			ensure( 1 );
+			buffer[ length++ ] = ( byte ) value;
+			return this;
+		}
+		return append( chars.wrap( value ), 0, 1 );
+	}
+
+	TextEncoder append( char[] value, int offset, int count ) throws IOException {
+		return append( chars.wrap( value ), offset, offset + count );
+	}
+
+	/** Append characters {@code start} to {@code end} of {@code value}, copying directly while it allows. */
+	TextEncoder append( CharSequence value, int start, int end ) throws IOException {
+		ensure( end - start );
+		int i = start;
+		while ( i < end ) {
+			char c = value.charAt( i );
+			if ( c >= directLimit ) break;
+			buffer[ length++ ] = ( byte ) c;
+			i++;
+		}
+		if ( i < end ) {
+			if ( mode == Mode.UTF_8 ) appendUtf8( value, i, end );
+			else if ( mode == Mode.OTHER ) appendEncoded( value, i, end );
+			else appendReplaced( value, i, end );
+		}
+		chars.clear();
+		return this;
+	}
+
+	TextEncoder appendLineSeparator( boolean line ) throws IOException {
+		return line ? appendBytes( LINE_SEPARATOR ) : this;
+	}
+
+	private void appendUtf8( CharSequence value, int start, int end ) {
+		for ( int i = start; i < end; i++ ) {
+			char c = value.charAt( i );
+			ensure( UTF_8_MAX_BYTES );
+			if ( c < ASCII_LIMIT ) buffer[ length++ ] = ( byte ) c;
+			else if ( c < UTF_8_TWO_LIMIT ) {
+				buffer[ length++ ] = ( byte ) ( UTF_8_TWO_LEAD | c >> UTF_8_BITS );
+				appendContinuations( c, 1 );
+			}
+			else if ( Character.isSurrogate( c ) ) {
+				if ( pair( value, i, end ) ) {
+					int point = Character.toCodePoint( c, value.charAt( ++i ) );
+					buffer[ length++ ] = ( byte ) ( UTF_8_FOUR_LEAD | point >> UTF_8_BITS * ( UTF_8_MAX_BYTES - 1 ) );
+					appendContinuations( point, UTF_8_MAX_BYTES - 1 );
+				}
+				else buffer[ length++ ] = REPLACEMENT;
+			}
+			else {
+				buffer[ length++ ] = ( byte ) ( UTF_8_THREE_LEAD | c >> UTF_8_BITS * 2 );
+				appendContinuations( c, 2 );
+			}
+		}
+	}
+
+	/** Append the last {@code count} continuation bytes of {@code point}, room for them is ensured. */
+	private void appendContinuations( int point, int count ) {
+		for ( int shift = UTF_8_BITS * ( count - 1 ); shift >= 0; shift -= UTF_8_BITS )
+			buffer[ length++ ] = ( byte ) ( UTF_8_CONTINUATION | point >> shift & UTF_8_BITS_MASK );
+	}
+
+	/** Single byte charsets, anything at or above {@link #directLimit} is replaced, surrogate pairs only once. */
+	private void appendReplaced( CharSequence value, int start, int end ) {
+		ensure( end - start );
+		for ( int i = start; i < end; i++ ) {
+			char c = value.charAt( i );
+			if ( c < directLimit ) buffer[ length++ ] = ( byte ) c;
+			else {
+				buffer[ length++ ] = REPLACEMENT;
+				if ( pair( value, i, end ) ) i++;
+			}
+		}
+	}
+
+	/**
+	 * Encode through the {@link CharsetEncoder}.
+	 * The encoding of a charset shifting state is ended, so it is back in its initial state for whatever follows.
+	 * Otherwise it is kept going, so a byte order mark is only written once, as {@link java.io.PrintStream} does,
+	 * and a trailing lone surrogate it leaves unread is replaced.
+	 */
+	private void appendEncoded( CharSequence value, int start, int end ) {
+		if ( encoder == null ) encoder = charset.newEncoder()
+			.onMalformedInput( CodingErrorAction.REPLACE )
+			.onUnmappableCharacter( CodingErrorAction.REPLACE );
+		CharBuffer in = CharBuffer.wrap( value, start, end );
+		ByteBuffer out = ByteBuffer.wrap( buffer );
+		if ( ! shifting ) {
+			while ( encode( in, out, false ).isOverflow() ) out = grow();
+			if ( in.hasRemaining() ) appendBytes( encoder.replacement() );
+			return;
+		}
+		try {
+			while ( encode( in, out, true ).isOverflow() ) out = grow();
+			while ( encode( null, out, true ).isOverflow() ) out = grow();
+		}
+		finally {
+			encoder.reset();
+		}
+	}
+
+	/** Encode {@code in} into the scratch space, or flush the encoder if {@code in} is null. */
+	private CoderResult encode( CharBuffer in, ByteBuffer out, boolean last ) {
+		out.position( length );
+		CoderResult result = in == null ? encoder.flush( out ) : encoder.encode( in, out, last );
+		length = out.position();
+		return result;
+	}
+
+	private TextEncoder appendBytes( byte[] bytes ) {
+		ensure( bytes.length );
+		System.arraycopy( bytes, 0, buffer, length, bytes.length );
+		length += bytes.length;
+		return this;
+	}
+
+	private void ensure( int needed ) {
+		if ( buffer.length - length < needed )
+			buffer = Arrays.copyOf( buffer, Math.max( buffer.length * 2, length + needed ) );
+	}
+
+	/** Returns the scratch space, grown to at least {@code size} bytes, for copying bytes needing no encoding. */
+	byte[] scratch( int size ) {
+		ensure( size );
+		return buffer;
+	}
+
+	/** Double the scratch space for an encoder that overflowed it, returning a view of the new one. */
+	private ByteBuffer grow() {
+		buffer = Arrays.copyOf( buffer, buffer.length * 2 );
+		return ByteBuffer.wrap( buffer );
+	}
+
+	private void release() {
+		target = null;
+		length = 0;
+		if ( buffer.length > RETAINED_SIZE ) buffer = new byte[ SIZE ];
+	}
+
+	/** Returns the number of decimal digits of a non negative {@code value}. */
+	private static int stringSize( long value ) {
+		long limit = RADIX;
+		for ( int digits = 1; digits < MAX_DIGITS; digits++ ) {
+			if ( value < limit ) return digits;
+			limit *= RADIX;
+		}
+		return MAX_DIGITS;
+	}
+
+	/** Returns whether a surrogate pair starts at {@code index}. */
+	private static boolean pair( CharSequence value, int index, int end ) {
+		return Character.isHighSurrogate( value.charAt( index ) ) &&
+			index + 1 < end &&
+			Character.isLowSurrogate( value.charAt( index + 1 ) );
+	}
+
+	/** Returns whether {@code charset} leaves its initial state for some characters, as the ISO-2022 charsets do. */
+	private static boolean shifts( Charset charset ) {
+		CharsetEncoder probe = charset.newEncoder();
+		for ( int i = 0; i < SHIFT_PROBES.length(); i++ ) {
+			char c = SHIFT_PROBES.charAt( i );
+			if ( ! probe.canEncode( c ) ) continue;
+			for ( byte b : String.valueOf( c ).getBytes( charset ) )
+				for ( byte shift : SHIFTS ) if ( b == shift ) return true;
+			return false;
+		}
+		return false;
+	}
+
+	private static boolean asciiCompatible( Charset charset ) {
+		if ( ! charset.canEncode() ) return false;
+		byte[] ascii = new byte[ ASCII_LIMIT ];
+		for ( int i = 0; i < ascii.length; i++ ) ascii[ i ] = ( byte ) i;
+		return Arrays.equals( ascii, new String( ascii, StandardCharsets.US_ASCII ).getBytes( charset ) );
+	}
+
+	/** A reusable {@link CharSequence} over a {@code char[]} or a single {@code char}, so neither is copied. */
+	private static final class CharArrayView implements CharSequence {
+
+		private final char[] single = new char[ 1 ];
+		private char[] value = single;
+
+		CharArrayView wrap( char[] value ) {
+			this.value = value;
+			return this;
+		}
+
+		CharArrayView wrap( char value ) {
+			single[ 0 ] = value;
+			this.value = single;
+			return this;
+		}
+
+		void clear() {
+			value = single;
+		}
+
+		@Override
+		public int length() {
+			return value.length;
+		}
+
+		@Override
+		public char charAt( int index ) {
+			return value[ index ];
+		}
+
+		@Override
+		public CharSequence subSequence( int start, int end ) {
+			return CharBuffer.wrap( value, start, end - start );
+		}
+
+		@Override
+		public String toString() {
+			return new String( value );
+		}
+
+	}
+
+}
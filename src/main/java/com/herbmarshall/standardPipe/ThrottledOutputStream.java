@@ -0,0 +1,217 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * An {@link OutputStream} that passes writes to the target only while they stay within a rate of bytes and of lines,
+ * each a token bucket holding up to one second of its rate.
+ * Writes over the rate are suppressed whole, so a line written across several writes may lose some of them.
+ * A write larger than a whole second of its rate is only passed once the bucket is full.
+ * <p>
+ * Each bucket is a single {@link AtomicLong}, the time at which it will next be full, so accepting a write
+ * is one compare and set per limited bucket and never takes a lock.
+ * Under {@link ThrottlePolicy#SUMMARIZE} a line such as {@code "... 120 lines suppressed"} is written ahead of
+ * the next write, at most once per {@link #SUMMARY_INTERVAL}, and on {@link #flush()}.
+ * Bytes are counted instead while no whole line was suppressed, as in {@code "... 42 bytes suppressed"}.
+ */
+public final class ThrottledOutputStream extends OutputStream {
+
+	/** Rate of a bucket that never suppresses. */
+	public static final long UNLIMITED = Long.MAX_VALUE;
+
+	/** Least time between two summaries. */
+	public static final long SUMMARY_INTERVAL = TimeUnit.SECONDS.toNanos( 1 );
+
+	private static final long BURST = TimeUnit.SECONDS.toNanos( 1 );
+	private static final byte LINE_END = '\n';
+
+	private final OutputStream target;
+	private final long bytesPerSecond;
+	private final long linesPerSecond;
+	private final ThrottlePolicy policy;
+	private final LongSupplier clock;
+
+	private final AtomicLong bytesFull;
+	private final AtomicLong linesFull;
+	private final AtomicLong nextSummary;
+
+	private final LongAdder suppressedBytes = new LongAdder();
+	private final LongAdder suppressedLines = new LongAdder();
+	/** Suppressed but not yet summarized, taken with {@link AtomicLong#getAndSet(long)} so none are lost. */
+	private final AtomicLong pendingBytes = new AtomicLong();
+	private final AtomicLong pendingLines = new AtomicLong();
+
+	/**
+	 * Create a {@link ThrottledOutputStream}.
+	 * @param target The {@link OutputStream} receiving writes within the rate.
+	 * @param bytesPerSecond Bytes passed per second, or {@link #UNLIMITED}.
+	 * @param linesPerSecond Line ends passed per second, or {@link #UNLIMITED}.
+	 * @param policy What to do with writes over the rate.
+	 * @throws NullPointerException if {@code target} or {@code policy} is null
+	 * @throws IllegalArgumentException if either rate is not positive
+	 */
+	public ThrottledOutputStream(
+		OutputStream target,
+		long bytesPerSecond,
+		long linesPerSecond,
+		ThrottlePolicy policy
+	) {
+		this( target, bytesPerSecond, linesPerSecond, policy, System::nanoTime );
+	}
+
+	/** Exposed for testing. */
+	ThrottledOutputStream(
+		OutputStream target,
+		long bytesPerSecond,
+		long linesPerSecond,
+		ThrottlePolicy policy,
+		LongSupplier clock
+	) {
+		this.target = Objects.requireNonNull( target );
+		this.policy = Objects.requireNonNull( policy );
+		this.clock = Objects.requireNonNull( clock );
+		if ( bytesPerSecond <= 0 ) throw new IllegalArgumentException( rateError( bytesPerSecond ) );
+		if ( linesPerSecond <= 0 ) throw new IllegalArgumentException( rateError( linesPerSecond ) );
+		this.bytesPerSecond = bytesPerSecond;
+		this.linesPerSecond = linesPerSecond;
+		long now = clock.getAsLong();
+		this.bytesFull = new AtomicLong( now );
+		this.linesFull = new AtomicLong( now );
+		this.nextSummary = new AtomicLong( now + SUMMARY_INTERVAL );
+	}
+
+	@Override
+	public void write( int i ) throws IOException {
+		long now = clock.getAsLong();
+		int lines = i == LINE_END ? 1 : 0;
+		if ( accept( 1, lines, now ) ) {
+			summarize( now, false );
+			target.write( i );
+		}
+		else suppress( 1, lines, now );
+	}
+
+	@Override
+	public void write( byte[] bytes, int offset, int length ) throws IOException {
+		Objects.checkFromIndexSize( offset, length, bytes.length );
+		if ( length == 0 ) return;
+		long now = clock.getAsLong();
+		boolean limited = linesPerSecond != UNLIMITED;
+		int lines = limited ? countLines( bytes, offset, length ) : 0;
+		if ( accept( length, lines, now ) ) {
+			summarize( now, false );
+			target.write( bytes, offset, length );
+		}
+		else suppress( length, limited ? lines : countLines( bytes, offset, length ), now );
+	}
+
+	/** Write any pending summary, then flush the target. */
+	@Override
+	public void flush() throws IOException {
+		summarize( clock.getAsLong(), true );
+		target.flush();
+	}
+
+	/** Write any pending summary, then close the target. */
+	@Override
+	public void close() throws IOException {
+		summarize( clock.getAsLong(), true );
+		target.close();
+	}
+
+	/** Returns the number of bytes suppressed so far. */
+	public long suppressedBytes() {
+		return suppressedBytes.sum();
+	}
+
+	/** Returns the number of line ends suppressed so far. */
+	public long suppressedLines() {
+		return suppressedLines.sum();
+	}
+
+	private boolean accept( int bytes, int lines, long now ) {
+		if ( lines > 0 && ! take( linesFull, linesPerSecond, lines, now ) ) return false;
+		if ( take( bytesFull, bytesPerSecond, bytes, now ) ) return true;
+		if ( lines > 0 ) refund( linesFull, linesPerSecond, lines );
+		return false;
+	}
+
+	private static boolean take( AtomicLong full, long rate, int units, long now ) {
+		if ( rate == UNLIMITED ) return true;
+		long cost = cost( rate, units );
+		while ( true ) {
+			long current = full.get();
+			boolean isFull = current - now <= 0;
+			long from = isFull ? now : current;
+			if ( ! isFull && from - now + cost > BURST ) return false;
+			if ( full.compareAndSet( current, from + cost ) ) return true;
+		}
+	}
+
+	private static void refund( AtomicLong full, long rate, int units ) {
+		if ( rate != UNLIMITED ) full.addAndGet( -cost( rate, units ) );
+	}
+
+	/** Returns the nanoseconds of the bucket taken by {@code units}, at least one, so any rate eventually fills up. */
+	static long cost( long rate, int units ) {
+		return Math.max( 1, units * BURST / rate );
+	}
+
+	private void suppress( int bytes, int lines, long now ) throws IOException {
+		suppressedBytes.add( bytes );
+		suppressedLines.add( lines );
+		if ( policy == ThrottlePolicy.DROP ) return;
+		pendingLines.addAndGet( lines );
+		pendingBytes.addAndGet( bytes );
+		summarize( now, false );
+	}
+
+	private void summarize( long now, boolean force ) throws IOException {
+		if ( policy == ThrottlePolicy.DROP ) return;
+		long due = nextSummary.get();
+		if ( ! force && now - due < 0 ) return;
+		if ( ! nextSummary.compareAndSet( due, now + SUMMARY_INTERVAL ) && ! force ) return;
+		long bytes = pendingBytes.getAndSet( 0 );
+		if ( bytes == 0 ) return;
+		long lines = pendingLines.getAndSet( 0 );
+		target.write( summary( lines, bytes ).getBytes( StandardCharsets.US_ASCII ) );
+	}
+
+	static String summary( long lines, long bytes ) {
+		if ( lines == 0 ) return "... " + bytes + " bytes suppressed\n";
+		return "... " + lines + " lines suppressed\n";
+	}
+
+	static String rateError( long rate ) {
+		return "Rate must be positive: " + rate;
+	}
+
+	private static int countLines( byte[] bytes, int offset, int length ) {
+		int lines = 0;
+		for ( int i = offset, end = offset + length; i < end; i++ )
+			if ( bytes[ i ] == LINE_END ) lines++;
+		return lines;
+	}
+
+}
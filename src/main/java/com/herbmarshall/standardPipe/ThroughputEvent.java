@@ -0,0 +1,91 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Periodic JFR event with the traffic of each {@link Standard} since the previous period.
+ * Only used where {@link FlightRecording#AVAILABLE}. The periodic hook is added by the first
+ * {@link #track(StandardMetrics)} when the runtime has a flight recorder, and only runs once it is initialized.
+ */
+@Name( "com.herbmarshall.standardPipe.Throughput" )
+@Label( "Standard Throughput" )
+@Category( "Standard Pipe" )
+@Description( "Traffic through a Standard since the previous period" )
+@Period( "1 s" )
+@StackTrace( false )
+final class ThroughputEvent extends jdk.jfr.Event {
+
+	/** Totals reported by the previous period, per tracked {@link StandardMetrics}. */
+	private static final Map<StandardMetrics, long[]> TRACKED = new WeakHashMap<>();
+	/** Whether the periodic hook was looked into, guarded by {@link #TRACKED}. */
+	private static boolean hooked;
+
+	@Label( "Pipe" )
+	String pipe;
+
+	@Label( "Bytes Written" )
+	@DataAmount
+	long bytes;
+
+	@Label( "Writes" )
+	long writes;
+
+	/** Report {@code metrics} in every period, for as long as it is reachable. */
+	static void track( StandardMetrics metrics ) {
+		synchronized ( TRACKED ) {
+			TRACKED.put( metrics, new long[ 2 ] );
+			if ( hooked ) return;
+			hooked = true;
+		}
+		if ( FlightRecorder.isAvailable() ) FlightRecorder.addListener( new FlightRecorderListener() {
+			@Override
+			public void recorderInitialized( FlightRecorder recorder ) {
+				FlightRecorder.addPeriodicEvent( ThroughputEvent.class, ThroughputEvent::emit );
+			}
+		} );
+	}
+
+	private static void emit() {
+		synchronized ( TRACKED ) {
+			for ( Map.Entry<StandardMetrics, long[]> entry : TRACKED.entrySet() ) {
+				StandardMetrics metrics = entry.getKey();
+				long[] previous = entry.getValue();
+				long bytes = metrics.getBytesWritten();
+				long writes = metrics.getWriteCount();
+				ThroughputEvent event = new ThroughputEvent();
+				event.pipe = metrics.getName();
+				event.bytes = bytes - previous[ 0 ];
+				event.writes = writes - previous[ 1 ];
+				event.commit();
+				previous[ 0 ] = bytes;
+				previous[ 1 ] = writes;
+			}
+		}
+	}
+
+}
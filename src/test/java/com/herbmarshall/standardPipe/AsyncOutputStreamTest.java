@@ -0,0 +1,316 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static com.herbmarshall.standardPipe.AsyncOutputStream.SLOT_SIZE;
+
+class AsyncOutputStreamTest {
+
+	private static final int SLOTS = 4;
+
+	@Nested
+	class constructor {
+
+		@Test
+		void null_parameter() {
+			OutputStream target = new ByteArrayOutputStream();
+			null_parameter( () -> new AsyncOutputStream( null, SLOT_SIZE, OverflowPolicy.BLOCK ) );
+			null_parameter( () -> new AsyncOutputStream( target, SLOT_SIZE, null ) );
+		}
+
+		@Test
+		void capacity_too_small() {
+			// Arrange
+			int capacity = SLOT_SIZE - 1;
+			// Act
+			try {
+				new AsyncOutputStream( new ByteArrayOutputStream(), capacity, OverflowPolicy.BLOCK );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( IllegalArgumentException e ) {
+				Assertions.assertEquals( AsyncOutputStream.capacityError( capacity ), e.getMessage() );
+			}
+		}
+
+		private void null_parameter( Supplier<AsyncOutputStream> constructor ) {
+			// Arrange
+			// Act
+			try {
+				constructor.get();
+				Assertions.fail();
+			}
+			// Assert
+			catch ( NullPointerException ignored ) {
+			}
+		}
+
+	}
+
+	@Nested
+	class write {
+
+		@Test
+		void happyPath() throws IOException {
+			// Arrange
+			ByteArrayOutputStream target = new ByteArrayOutputStream();
+			AsyncOutputStream stream = new AsyncOutputStream( target, SLOT_SIZE * SLOTS, OverflowPolicy.BLOCK );
+			String valueA = randomString();
+			String valueB = randomString();
+			// Act
+			stream.write( valueA.getBytes() );
+			stream.write( '|' );
+			stream.write( valueB.getBytes() );
+			stream.flush();
+			// Assert
+			Assertions.assertEquals( valueA + "|" + valueB, target.toString() );
+			stream.close();
+		}
+
+		@Test
+		void larger_than_slot() throws IOException {
+			// Arrange
+			ByteArrayOutputStream target = new ByteArrayOutputStream();
+			AsyncOutputStream stream = new AsyncOutputStream( target, SLOT_SIZE * SLOTS, OverflowPolicy.BLOCK );
+			byte[] value = new byte[ SLOT_SIZE * SLOTS * 3 + 1 ];
+			Arrays.fill( value, ( byte ) 'x' );
+			// Act
+			stream.write( value );
+			stream.flush();
+			// Assert
+			Assertions.assertArrayEquals( value, target.toByteArray() );
+			stream.close();
+		}
+
+		@Test
+		void smallest_capacity() throws IOException {
+			// Arrange
+			ByteArrayOutputStream target = new ByteArrayOutputStream();
+			AsyncOutputStream stream = new AsyncOutputStream( target, SLOT_SIZE, OverflowPolicy.BLOCK );
+			byte[] value = new byte[ SLOT_SIZE * 8 ];
+			Arrays.fill( value, ( byte ) 'x' );
+			// Act
+			stream.write( value );
+			stream.flush();
+			// Assert
+			Assertions.assertArrayEquals( value, target.toByteArray() );
+			stream.close();
+		}
+
+		@Test
+		void concurrent() throws Exception {
+			// Arrange
+			int threads = 8;
+			int lines = 1000;
+			ByteArrayOutputStream target = new ByteArrayOutputStream();
+			AsyncOutputStream stream = new AsyncOutputStream( target, SLOT_SIZE * SLOTS, OverflowPolicy.BLOCK );
+			byte[] line = ( randomString() + "\n" ).getBytes();
+			List<Thread> workers = new ArrayList<>();
+			for ( int i = 0; i < threads; i++ )
+				workers.add( new Thread( () -> {
+					for ( int j = 0; j < lines; j++ ) writeQuietly( stream, line );
+				} ) );
+			// Act
+			workers.forEach( Thread::start );
+			for ( Thread worker : workers ) worker.join();
+			stream.flush();
+			// Assert
+			String expected = new String( line );
+			String[] output = target.toString().split( "(?<=\n)" );
+			Assertions.assertEquals( threads * lines, output.length );
+			for ( String value : output ) Assertions.assertEquals( expected, value );
+			Assertions.assertEquals( 0, stream.droppedBytes() );
+			stream.close();
+		}
+
+		@Test
+		void drop_newest() throws Exception {
+			// Arrange
+			BlockingStream target = new BlockingStream();
+			AsyncOutputStream stream = new AsyncOutputStream( target, SLOT_SIZE * SLOTS, OverflowPolicy.DROP_NEWEST );
+			List<String> values = fill( stream, target );
+			String dropped = randomString();
+			// Act
+			stream.write( dropped.getBytes() );
+			target.release();
+			stream.flush();
+			// Assert
+			Assertions.assertEquals( String.join( "", values ), target.toString() );
+			Assertions.assertEquals( dropped.length(), stream.droppedBytes() );
+			stream.close();
+		}
+
+		@Test
+		void drop_oldest() throws Exception {
+			// Arrange
+			BlockingStream target = new BlockingStream();
+			AsyncOutputStream stream = new AsyncOutputStream( target, SLOT_SIZE * SLOTS, OverflowPolicy.DROP_OLDEST );
+			List<String> values = fill( stream, target );
+			String newest = randomString();
+			// Act
+			stream.write( newest.getBytes() );
+			target.release();
+			stream.flush();
+			// Assert
+			String oldest = values.remove( 1 );
+			Assertions.assertEquals( String.join( "", values ) + newest, target.toString() );
+			Assertions.assertEquals( oldest.length(), stream.droppedBytes() );
+			stream.close();
+		}
+
+		@Test
+		void after_close() throws IOException {
+			// Arrange
+			AsyncOutputStream stream = new AsyncOutputStream(
+				new ByteArrayOutputStream(),
+				SLOT_SIZE,
+				OverflowPolicy.BLOCK
+			);
+			stream.close();
+			// Act
+			try {
+				stream.write( randomString().getBytes() );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( IOException e ) {
+				Assertions.assertEquals( AsyncOutputStream.closedError(), e.getMessage() );
+			}
+		}
+
+		@Test
+		void target_failure() throws IOException {
+			// Arrange
+			IllegalStateException failure = new IllegalStateException( randomString() );
+			OutputStream target = new OutputStream() {
+				@Override
+				public void write( int b ) {
+					throw failure;
+				}
+			};
+			AsyncOutputStream stream = new AsyncOutputStream( target, SLOT_SIZE, OverflowPolicy.BLOCK );
+			byte[] value = new byte[ SLOT_SIZE ];
+			// Act
+			try {
+				for ( int i = 0; i < 8; i++ ) stream.write( value );
+				stream.flush();
+				stream.write( value );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( IOException e ) {
+				Assertions.assertEquals( AsyncOutputStream.failedError(), e.getMessage() );
+				Assertions.assertSame( failure, e.getCause() );
+			}
+		}
+
+		/** Park the background thread inside the target, then fill every slot. */
+		private List<String> fill( AsyncOutputStream stream, BlockingStream target ) throws Exception {
+			List<String> values = new ArrayList<>();
+			String first = randomString();
+			values.add( first );
+			stream.write( first.getBytes() );
+			target.entered.await();
+			for ( int i = 0; i < SLOTS; i++ ) {
+				String value = randomString();
+				values.add( value );
+				stream.write( value.getBytes() );
+			}
+			return values;
+		}
+
+	}
+
+	@Nested
+	class close {
+
+		@Test
+		void drains_and_closes() throws IOException {
+			// Arrange
+			AtomicBoolean closed = new AtomicBoolean();
+			ByteArrayOutputStream target = new ByteArrayOutputStream() {
+				@Override
+				public void close() throws IOException {
+					closed.set( true );
+					super.close();
+				}
+			};
+			AsyncOutputStream stream = new AsyncOutputStream( target, SLOT_SIZE * SLOTS, OverflowPolicy.BLOCK );
+			String value = randomString();
+			// Act
+			stream.write( value.getBytes() );
+			stream.close();
+			stream.close();
+			// Assert
+			Assertions.assertEquals( value, target.toString() );
+			Assertions.assertTrue( closed.get() );
+			Assertions.assertEquals( 0, stream.pendingSlots() );
+		}
+
+	}
+
+	/** Blocks the first write until released. */
+	private static final class BlockingStream extends ByteArrayOutputStream {
+
+		private final CountDownLatch entered = new CountDownLatch( 1 );
+		private final CountDownLatch released = new CountDownLatch( 1 );
+
+		@Override
+		public synchronized void write( byte[] b, int off, int len ) {
+			entered.countDown();
+			try {
+				released.await();
+			}
+			catch ( InterruptedException e ) {
+				throw new IllegalStateException( e );
+			}
+			super.write( b, off, len );
+		}
+
+		private void release() {
+			released.countDown();
+		}
+
+	}
+
+	private static void writeQuietly( OutputStream stream, byte[] bytes ) {
+		try {
+			stream.write( bytes );
+		}
+		catch ( IOException e ) {
+			throw new IllegalStateException( e );
+		}
+	}
+
+	private static String randomString() {
+		return UUID.randomUUID().toString();
+	}
+
+}
@@ -0,0 +1,225 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+class CaptureBufferTest {
+
+	@Nested
+	class capture {
+
+		@Test
+		void happyPath() throws IOException {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			Standard standard = new Standard( randomString(), normal );
+			String value = randomString();
+			// Act
+			try ( CaptureBuffer buffer = standard.capture( () -> standard.println( value ) ) ) {
+				// Assert
+				Assertions.assertEquals( value + "\n", buffer.toString() );
+				Assertions.assertEquals( value + "\n", buffer.toCharSequence().toString() );
+				Assertions.assertArrayEquals( ( value + "\n" ).getBytes(), buffer.toInputStream().readAllBytes() );
+				Assertions.assertEquals( value.length() + 1, buffer.size() );
+			}
+			Assertions.assertEquals( "", normal.toString() );
+		}
+
+		@Test
+		void reused() {
+			// Arrange
+			Standard standard = new Standard( randomString(), new ByteArrayOutputStream() );
+			String valueA = randomString();
+			String valueB = randomString();
+			CaptureBuffer first = standard.capture( () -> standard.print( valueA ) );
+			first.close();
+			// Act
+			CaptureBuffer second = standard.capture( () -> standard.print( valueB ) );
+			// Assert
+			Assertions.assertSame( first, second );
+			Assertions.assertEquals( valueB, second.toString() );
+		}
+
+		@Test
+		void not_closed() {
+			// Arrange
+			Standard standard = new Standard( randomString(), new ByteArrayOutputStream() );
+			String valueA = randomString();
+			String valueB = randomString();
+			// Act
+			CaptureBuffer first = standard.capture( () -> standard.print( valueA ) );
+			CaptureBuffer second = standard.capture( () -> standard.print( valueB ) );
+			// Assert
+			Assertions.assertNotSame( first, second );
+			Assertions.assertEquals( valueA, first.toString() );
+			Assertions.assertEquals( valueB, second.toString() );
+		}
+
+		@Test
+		void scope() throws InterruptedException {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			Standard standard = new Standard( randomString(), normal );
+			String valueA = randomString();
+			String valueB = randomString();
+			// Act
+			CaptureBuffer buffer = standard.capture( () -> {
+				standard.print( valueA );
+				Thread other = new Thread( () -> standard.print( valueB ) );
+				other.start();
+				joinQuietly( other );
+			}, OverrideScope.THREAD );
+			// Assert
+			Assertions.assertEquals( valueA, buffer.toString() );
+			Assertions.assertEquals( valueB, normal.toString() );
+		}
+
+		@Test
+		void action_throws() {
+			// Arrange
+			Standard standard = new Standard( randomString(), new ByteArrayOutputStream() );
+			RuntimeException error = new RuntimeException();
+			// Act
+			try {
+				standard.capture( () -> {
+					throw error;
+				} );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( RuntimeException e ) {
+				Assertions.assertSame( error, e );
+			}
+			Assertions.assertEquals( "", standard.capture( () -> { } ).toString() );
+		}
+
+		@Test
+		void null_action() {
+			// Arrange
+			Standard standard = new Standard( randomString(), new ByteArrayOutputStream() );
+			// Act
+			try {
+				standard.capture( null );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( NullPointerException ignored ) {
+			}
+		}
+
+		@Test
+		void allocation_free() {
+			// Arrange
+			Standard standard = new Standard( randomString(), new ByteArrayOutputStream() );
+			String value = randomString();
+			Runnable action = () -> standard.println( value );
+			com.sun.management.ThreadMXBean threads =
+				( com.sun.management.ThreadMXBean ) ManagementFactory.getThreadMXBean();
+			int captures = 10_000;
+			long perCapture = Long.MAX_VALUE;
+			// Act
+			for ( int round = 0; round < 50 && perCapture > 0; round++ ) {
+				long before = threads.getCurrentThreadAllocatedBytes();
+				for ( int i = 0; i < captures; i++ ) standard.capture( action ).close();
+				perCapture = ( threads.getCurrentThreadAllocatedBytes() - before ) / captures;
+			}
+			// Assert
+			Assertions.assertEquals( 0, perCapture );
+		}
+
+	}
+
+	@Nested
+	class write {
+
+		@Test
+		void grows() {
+			// Arrange
+			Standard standard = new Standard( randomString(), new ByteArrayOutputStream() );
+			byte[] value = new byte[ CaptureBuffer.INITIAL_SIZE * 3 ];
+			// Act
+			CaptureBuffer buffer = standard.capture( () -> standard.write( ByteBuffer.wrap( value ) ) );
+			buffer.write( 'x' );
+			// Assert
+			Assertions.assertEquals( value.length + 1, buffer.size() );
+			Assertions.assertEquals( value.length + 1, buffer.toByteBuffer().remaining() );
+			Assertions.assertTrue( buffer.toByteBuffer().isReadOnly() );
+		}
+
+	}
+
+	@Test
+	void close() {
+		// Arrange
+		Standard standard = new Standard( randomString(), new ByteArrayOutputStream() );
+		CaptureBuffer buffer = standard.capture( () -> standard.print( randomString() ) );
+		// Act
+		buffer.close();
+		buffer.close();
+		// Assert
+		try {
+			buffer.toCharSequence();
+			Assertions.fail();
+		}
+		catch ( IllegalStateException e ) {
+			Assertions.assertEquals( CaptureBuffer.releasedError(), e.getMessage() );
+		}
+	}
+
+	@Test
+	void views_after_close() throws IOException {
+		// Arrange
+		Standard standard = new Standard( randomString(), new ByteArrayOutputStream() );
+		String valueA = randomString();
+		String valueB = randomString();
+		CaptureBuffer first = standard.capture( () -> standard.print( valueA ) );
+		ByteBuffer bytes = first.toByteBuffer();
+		CharSequence chars = first.toCharSequence();
+		InputStream stream = first.toInputStream();
+		first.close();
+		// Act
+		CaptureBuffer second = standard.capture( () -> standard.print( valueB ) );
+		// Assert
+		Assertions.assertSame( first, second );
+		Assertions.assertEquals( ByteBuffer.wrap( valueA.getBytes() ), bytes );
+		Assertions.assertEquals( valueA, chars.toString() );
+		Assertions.assertArrayEquals( valueA.getBytes(), stream.readAllBytes() );
+		Assertions.assertEquals( valueB, second.toString() );
+	}
+
+	private static void joinQuietly( Thread thread ) {
+		try {
+			thread.join();
+		}
+		catch ( InterruptedException e ) {
+			throw new AssertionError( e );
+		}
+	}
+
+	private static String randomString() {
+		return UUID.randomUUID().toString();
+	}
+
+}
@@ -0,0 +1,165 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+class ChannelInputStreamTest {
+
+	@Nested
+	class constructor {
+
+		@Test
+		void null_channel() {
+			// Arrange
+			// Act
+			try {
+				new ChannelInputStream( null, 16 );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( NullPointerException ignored ) {
+			}
+		}
+
+		@Test
+		void bad_buffer() {
+			// Arrange
+			int size = 0;
+			// Act
+			try {
+				new ChannelInputStream( new CountingChannel( new byte[ 0 ] ), size );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( IllegalArgumentException e ) {
+				Assertions.assertEquals( ChannelOutputStream.bufferError( size ), e.getMessage() );
+			}
+		}
+
+	}
+
+	@Nested
+	class read {
+
+		@Test
+		void buffered() throws IOException {
+			// Arrange
+			byte[] value = randomString().getBytes();
+			CountingChannel channel = new CountingChannel( value );
+			ChannelInputStream stream = new ChannelInputStream( channel, 1024 );
+			byte[] output = new byte[ value.length ];
+			// Act
+			for ( int i = 0; i < value.length; i++ ) output[ i ] = ( byte ) stream.read();
+			int end = stream.read();
+			// Assert
+			Assertions.assertArrayEquals( value, output );
+			Assertions.assertEquals( -1, end );
+			Assertions.assertEquals( 2, channel.calls );
+		}
+
+		@Test
+		void array() throws IOException {
+			// Arrange
+			byte[] value = randomString().getBytes();
+			ChannelInputStream stream = new ChannelInputStream( new CountingChannel( value ), 8 );
+			// Act
+			byte[] output = stream.readAllBytes();
+			// Assert
+			Assertions.assertArrayEquals( value, output );
+		}
+
+		@Test
+		void empty_array() throws IOException {
+			// Arrange
+			CountingChannel channel = new CountingChannel( randomString().getBytes() );
+			ChannelInputStream stream = new ChannelInputStream( channel, 8 );
+			// Act
+			int read = stream.read( new byte[ 4 ], 0, 0 );
+			// Assert
+			Assertions.assertEquals( 0, read );
+			Assertions.assertEquals( 0, channel.calls );
+		}
+
+		@Test
+		void file() throws IOException {
+			// Arrange
+			Path file = Files.createTempFile( "standardPipe", ".in" );
+			String value = randomString();
+			Files.writeString( file, value );
+			// Act
+			try ( ChannelInputStream stream = new ChannelInputStream( FileChannel.open( file ), 4 ) ) {
+				int before = stream.available();
+				int first = stream.read();
+				int after = stream.available();
+				// Assert
+				Assertions.assertEquals( value.length(), before );
+				Assertions.assertEquals( value.charAt( 0 ), first );
+				Assertions.assertEquals( value.length() - 1, after );
+				Assertions.assertEquals( value.substring( 1 ), new String( stream.readAllBytes() ) );
+			}
+			finally {
+				Files.delete( file );
+			}
+		}
+
+	}
+
+	private String randomString() {
+		return UUID.randomUUID().toString();
+	}
+
+	/** Counts the reads it serves, none of which are seekable. */
+	private static final class CountingChannel implements ReadableByteChannel {
+
+		private final ByteArrayInputStream content;
+		private int calls;
+
+		private CountingChannel( byte[] content ) {
+			this.content = new ByteArrayInputStream( content );
+		}
+
+		@Override
+		public int read( ByteBuffer buffer ) {
+			calls++;
+			byte[] chunk = new byte[ buffer.remaining() ];
+			int read = content.read( chunk, 0, chunk.length );
+			if ( read > 0 ) buffer.put( chunk, 0, read );
+			return read;
+		}
+
+		@Override
+		public boolean isOpen() {
+			return true;
+		}
+
+		@Override
+		public void close() {
+		}
+
+	}
+
+}
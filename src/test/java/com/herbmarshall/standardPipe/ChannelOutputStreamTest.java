@@ -0,0 +1,211 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.util.UUID;
+
+class ChannelOutputStreamTest {
+
+	@Nested
+	class constructor {
+
+		@Test
+		void null_channel() {
+			// Arrange
+			// Act
+			try {
+				new ChannelOutputStream( null, 16, false );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( NullPointerException ignored ) {
+			}
+		}
+
+		@Test
+		void bad_buffer() {
+			// Arrange
+			int size = 0;
+			// Act
+			try {
+				new ChannelOutputStream( new RecordingChannel(), size, false );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( IllegalArgumentException e ) {
+				Assertions.assertEquals( ChannelOutputStream.bufferError( size ), e.getMessage() );
+			}
+		}
+
+	}
+
+	@Nested
+	class write {
+
+		@Test
+		void buffered() throws IOException {
+			// Arrange
+			RecordingChannel channel = new RecordingChannel();
+			ChannelOutputStream stream = new ChannelOutputStream( channel, 1024, false );
+			String valueA = randomString() + "\n";
+			String valueB = randomString() + "\n";
+			// Act
+			stream.write( valueA.getBytes() );
+			stream.write( valueB.getBytes() );
+			int before = channel.calls;
+			stream.flush();
+			// Assert
+			Assertions.assertEquals( 0, before );
+			Assertions.assertEquals( 1, channel.calls );
+			Assertions.assertEquals( valueA + valueB, channel.content.toString() );
+		}
+
+		@Test
+		void line_flush() throws IOException {
+			// Arrange
+			RecordingChannel channel = new RecordingChannel();
+			ChannelOutputStream stream = new ChannelOutputStream( channel, 1024, true );
+			String valueA = randomString();
+			String valueB = randomString() + "\n";
+			// Act
+			stream.write( valueA.getBytes() );
+			String before = channel.content.toString();
+			stream.write( valueB.getBytes() );
+			// Assert
+			Assertions.assertTrue( before.isEmpty() );
+			Assertions.assertEquals( 1, channel.calls );
+			Assertions.assertEquals( valueA + valueB, channel.content.toString() );
+		}
+
+		@Test
+		void single_byte() throws IOException {
+			// Arrange
+			RecordingChannel channel = new RecordingChannel();
+			ChannelOutputStream stream = new ChannelOutputStream( channel, 1, true );
+			// Act
+			stream.write( 'a' );
+			stream.write( 'b' );
+			String before = channel.content.toString();
+			stream.write( '\n' );
+			// Assert
+			Assertions.assertEquals( "a", before );
+			Assertions.assertEquals( "ab\n", channel.content.toString() );
+		}
+
+		@Test
+		void gathered() throws IOException {
+			// Arrange
+			RecordingChannel channel = new RecordingChannel();
+			ChannelOutputStream stream = new ChannelOutputStream( channel, 16, false );
+			String valueA = "0123456789";
+			String valueB = randomString() + randomString();
+			// Act
+			stream.write( valueA.getBytes() );
+			stream.write( valueB.getBytes() );
+			// Assert
+			Assertions.assertEquals( 1, channel.calls );
+			Assertions.assertEquals( valueA + valueB, channel.content.toString() );
+		}
+
+		@Test
+		void bad_range() {
+			// Arrange
+			ChannelOutputStream stream = new ChannelOutputStream( new RecordingChannel(), 16, false );
+			// Act
+			try {
+				stream.write( new byte[ 4 ], 2, 3 );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( IndexOutOfBoundsException ignored ) {
+			}
+			catch ( IOException e ) {
+				Assertions.fail( e );
+			}
+		}
+
+	}
+
+	@Test
+	void close() throws IOException {
+		// Arrange
+		RecordingChannel channel = new RecordingChannel();
+		ChannelOutputStream stream = new ChannelOutputStream( channel, 1024, false );
+		String value = randomString();
+		// Act
+		stream.write( value.getBytes() );
+		stream.close();
+		// Assert
+		Assertions.assertFalse( channel.isOpen() );
+		Assertions.assertEquals( value, channel.content.toString() );
+	}
+
+	private static String randomString() {
+		return UUID.randomUUID().toString();
+	}
+
+	/** Counts every write call, the way a system call would be counted. */
+	private static final class RecordingChannel implements GatheringByteChannel {
+
+		private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+		private int calls;
+		private boolean open = true;
+
+		@Override
+		public long write( ByteBuffer[] sources, int offset, int length ) {
+			calls++;
+			long total = 0;
+			for ( int i = offset; i < offset + length; i++ ) total += drain( sources[ i ] );
+			return total;
+		}
+
+		@Override
+		public long write( ByteBuffer[] sources ) {
+			return write( sources, 0, sources.length );
+		}
+
+		@Override
+		public int write( ByteBuffer source ) {
+			calls++;
+			return drain( source );
+		}
+
+		@Override
+		public boolean isOpen() {
+			return open;
+		}
+
+		@Override
+		public void close() {
+			open = false;
+		}
+
+		private int drain( ByteBuffer source ) {
+			int count = source.remaining();
+			while ( source.hasRemaining() ) content.write( source.get() );
+			return count;
+		}
+
+	}
+
+}
@@ -0,0 +1,186 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+class CompressedCaptureStreamTest {
+
+	@Nested
+	class constructor {
+
+		@Test
+		void bad_level() {
+			// Arrange
+			int level = 10;
+			// Act
+			try {
+				new CompressedCaptureStream( level );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( IllegalArgumentException e ) {
+				Assertions.assertEquals( CompressedCaptureStream.levelError( level ), e.getMessage() );
+			}
+		}
+
+	}
+
+	@Nested
+	class write {
+
+		@Test
+		void happyPath() throws IOException {
+			// Arrange
+			CompressedCaptureStream stream = new CompressedCaptureStream();
+			String valueA = randomString();
+			String valueB = randomString();
+			// Act
+			stream.write( valueA.getBytes() );
+			stream.write( '|' );
+			stream.write( valueB.getBytes() );
+			stream.close();
+			// Assert
+			Assertions.assertEquals( valueA + "|" + valueB, stream.toString() );
+			Assertions.assertEquals( valueA.length() + 1 + valueB.length(), stream.size() );
+		}
+
+		@Test
+		void gzip() throws IOException {
+			// Arrange
+			CompressedCaptureStream stream = new CompressedCaptureStream( 1 );
+			ByteArrayOutputStream expected = new ByteArrayOutputStream();
+			Random random = new Random( 42 );
+			byte[] chunk = new byte[ 20_000 ];
+			// Act
+			for ( int i = 0; i < 50; i++ ) {
+				byte[] value = ( randomString() + "\n" ).getBytes();
+				stream.write( value );
+				expected.write( value );
+				if ( i % 10 == 0 ) {
+					random.nextBytes( chunk );
+					stream.write( chunk, 3, chunk.length - 3 );
+					expected.write( chunk, 3, chunk.length - 3 );
+				}
+			}
+			stream.close();
+			// Assert
+			byte[] actual = new GZIPInputStream( new ByteArrayInputStream( stream.toByteArray() ) ).readAllBytes();
+			Assertions.assertArrayEquals( expected.toByteArray(), actual );
+		}
+
+		@Test
+		void ratio() throws IOException {
+			// Arrange
+			CompressedCaptureStream stream = new CompressedCaptureStream();
+			byte[] value = ( randomString() + "\n" ).getBytes();
+			// Act
+			for ( int i = 0; i < 10_000; i++ ) stream.write( value );
+			stream.close();
+			// Assert
+			Assertions.assertEquals( 10_000L * value.length, stream.size() );
+			Assertions.assertTrue( stream.compressedSize() < stream.size() / 100 );
+			Assertions.assertEquals( ( double ) stream.size() / stream.compressedSize(), stream.ratio() );
+		}
+
+		@Test
+		void closed() throws IOException {
+			// Arrange
+			CompressedCaptureStream stream = new CompressedCaptureStream();
+			stream.close();
+			// Act
+			try {
+				stream.write( 'x' );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( IOException e ) {
+				Assertions.assertEquals( SegmentedCaptureStream.closedError(), e.getMessage() );
+			}
+		}
+
+		@Test
+		void as_override() throws IOException {
+			// Arrange
+			Standard standard = new Standard( randomString(), new ByteArrayOutputStream() );
+			String value = randomString();
+			// Act
+			CompressedCaptureStream capture;
+			try ( CompressedCaptureStream stream = new CompressedCaptureStream() ) {
+				standard.withOverride( stream ).execute( () -> standard.println( value ) );
+				capture = stream;
+			}
+			// Assert
+			Assertions.assertEquals( value + "\n", capture.toString() );
+		}
+
+	}
+
+	@Test
+	void open() {
+		// Arrange
+		CompressedCaptureStream stream = new CompressedCaptureStream();
+		// Act
+		try {
+			stream.toByteArray();
+			Assertions.fail();
+		}
+		// Assert
+		catch ( IllegalStateException e ) {
+			Assertions.assertEquals( CompressedCaptureStream.openError(), e.getMessage() );
+		}
+	}
+
+	@Test
+	void pooled() throws IOException {
+		// Arrange
+		String value = randomString();
+		// Act
+		for ( int i = 0; i < CompressedCaptureStream.POOL_SIZE * 2; i++ ) {
+			CompressedCaptureStream stream = new CompressedCaptureStream();
+			stream.write( value.getBytes() );
+			stream.close();
+			Assertions.assertEquals( value, stream.toString() );
+		}
+		// Assert
+		Assertions.assertTrue( CompressedCaptureStream.pooled() > 0 );
+	}
+
+	@Test
+	void empty() throws IOException {
+		// Arrange
+		CompressedCaptureStream stream = new CompressedCaptureStream();
+		// Act
+		stream.close();
+		stream.close();
+		// Assert
+		Assertions.assertEquals( "", stream.toString() );
+		Assertions.assertEquals( 0, stream.ratio() );
+	}
+
+	private static String randomString() {
+		return UUID.randomUUID().toString();
+	}
+
+}
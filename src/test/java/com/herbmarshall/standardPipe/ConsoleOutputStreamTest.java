@@ -0,0 +1,112 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.UUID;
+
+class ConsoleOutputStreamTest {
+
+	@Nested
+	class write {
+
+		@Test
+		void happyPath() throws IOException {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			ByteArrayOutputStream override = new ByteArrayOutputStream();
+			DivergingOutputStream pipe = new DivergingOutputStream( randomString(), normal );
+			ConsoleOutputStream console = new ConsoleOutputStream( pipe );
+			String valueA = randomString();
+			String valueB = randomString();
+			// Act
+			console.write( valueA.getBytes() );
+			pipe.override( override );
+			console.write( valueB.getBytes() );
+			// Assert
+			Assertions.assertEquals( valueA, normal.toString() );
+			Assertions.assertEquals( valueB, override.toString() );
+		}
+
+		@Test
+		void recursion() throws IOException {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			ByteArrayOutputStream override = new ByteArrayOutputStream();
+			DivergingOutputStream pipe = new DivergingOutputStream( randomString(), normal );
+			ConsoleOutputStream console = new ConsoleOutputStream( pipe );
+			pipe.override( echo( override, console ) );
+			String value = randomString();
+			// Act
+			console.write( value.getBytes() );
+			console.write( '\n' );
+			console.flush();
+			// Assert
+			Assertions.assertEquals( value + "\n", normal.toString() );
+			Assertions.assertEquals( value + "\n", override.toString() );
+		}
+
+		/** Writes to {@code target}, then back to {@code console}, as an override printing to the console would. */
+		private OutputStream echo( OutputStream target, OutputStream console ) {
+			return new OutputStream() {
+				@Override
+				public void write( int i ) throws IOException {
+					target.write( i );
+					console.write( i );
+				}
+
+				@Override
+				public void write( byte[] bytes, int offset, int length ) throws IOException {
+					target.write( bytes, offset, length );
+					console.write( bytes, offset, length );
+				}
+
+				@Override
+				public void flush() throws IOException {
+					console.flush();
+				}
+			};
+		}
+
+	}
+
+	@Nested
+	class constructor {
+
+		@Test
+		void null_pipe() {
+			// Act
+			try {
+				new ConsoleOutputStream( null );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( NullPointerException ignored ) {
+			}
+		}
+
+	}
+
+	private String randomString() {
+		return UUID.randomUUID().toString();
+	}
+
+}
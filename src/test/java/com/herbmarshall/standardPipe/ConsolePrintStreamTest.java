@@ -0,0 +1,166 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.UUID;
+
+class ConsolePrintStreamTest {
+
+	private static final String LINE = System.lineSeparator();
+
+	@Nested
+	class print {
+
+		@Test
+		void happyPath() {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			ConsolePrintStream console = new ConsolePrintStream( buildPipe( normal ) );
+			String value = randomString();
+			// Act
+			console.print( value );
+			console.print( 'x' );
+			console.print( 42 );
+			console.print( -7L );
+			console.print( ( String ) null );
+			// Assert
+			Assertions.assertEquals( value + "x42-7null", normal.toString() );
+		}
+
+		@Test
+		void override() {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			ByteArrayOutputStream override = new ByteArrayOutputStream();
+			DivergingOutputStream pipe = buildPipe( normal );
+			ConsolePrintStream console = new ConsolePrintStream( pipe );
+			String value = randomString();
+			// Act
+			pipe.override( override );
+			console.print( value );
+			// Assert
+			Assertions.assertTrue( normal.toString().isEmpty() );
+			Assertions.assertEquals( value, override.toString() );
+		}
+
+		@Test
+		void failure() {
+			// Arrange
+			ConsolePrintStream console = new ConsolePrintStream( buildPipe( failing() ) );
+			// Act
+			console.print( randomString() );
+			// Assert
+			Assertions.assertTrue( console.checkError() );
+		}
+
+		@Test
+		void failure_number() {
+			// Arrange
+			ConsolePrintStream console = new ConsolePrintStream( buildPipe( failing() ) );
+			// Act
+			console.println( 42 );
+			// Assert
+			Assertions.assertTrue( console.checkError() );
+		}
+
+	}
+
+	@Nested
+	class println {
+
+		@Test
+		void happyPath() {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			ConsolePrintStream console = new ConsolePrintStream( buildPipe( normal ) );
+			String value = randomString();
+			Object object = randomString();
+			// Act
+			console.println( value );
+			console.println( 'x' );
+			console.println( 42 );
+			console.println( -7L );
+			console.println();
+			console.println( object );
+			// Assert
+			Assertions.assertEquals(
+				value + LINE + "x" + LINE + "42" + LINE + "-7" + LINE + LINE + object + LINE,
+				normal.toString()
+			);
+		}
+
+		@Test
+		void recursion() {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			ByteArrayOutputStream override = new ByteArrayOutputStream();
+			DivergingOutputStream pipe = buildPipe( normal );
+			ConsolePrintStream console = new ConsolePrintStream( pipe );
+			pipe.override( echo( override, console ) );
+			String value = randomString();
+			// Act
+			console.println( value );
+			console.println( 42 );
+			// Assert
+			Assertions.assertEquals( value + LINE + "42" + LINE, normal.toString() );
+			Assertions.assertEquals( value + LINE + "42" + LINE, override.toString() );
+		}
+
+		/** Writes to {@code target}, then back to {@code console}, as an override printing to the console would. */
+		private OutputStream echo( OutputStream target, PrintStream console ) {
+			return new OutputStream() {
+				@Override
+				public void write( int i ) throws IOException {
+					target.write( i );
+					console.write( i );
+				}
+
+				@Override
+				public void write( byte[] bytes, int offset, int length ) throws IOException {
+					target.write( bytes, offset, length );
+					console.print( new String( bytes, offset, length ) );
+				}
+			};
+		}
+
+	}
+
+	/** Returns an {@link OutputStream} failing every write. */
+	private OutputStream failing() {
+		return new OutputStream() {
+			@Override
+			public void write( int i ) throws IOException {
+				throw new IOException();
+			}
+		};
+	}
+
+	private DivergingOutputStream buildPipe( OutputStream normal ) {
+		return new DivergingOutputStream( randomString(), normal );
+	}
+
+	private String randomString() {
+		return UUID.randomUUID().toString();
+	}
+
+}
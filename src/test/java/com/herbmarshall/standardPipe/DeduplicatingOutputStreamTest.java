@@ -0,0 +1,293 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+class DeduplicatingOutputStreamTest {
+
+	private static final Duration TIMEOUT = Duration.ofSeconds( 1 );
+
+	private final AtomicLong clock = new AtomicLong( 12345 );
+
+	@Nested
+	class constructor {
+
+		@Test
+		void bad_timeout() {
+			// Arrange
+			Duration timeout = Duration.ZERO;
+			// Act
+			try {
+				new DeduplicatingOutputStream( new ByteArrayOutputStream(), timeout );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( IllegalArgumentException e ) {
+				Assertions.assertEquals( DeduplicatingOutputStream.timeoutError( timeout ), e.getMessage() );
+			}
+		}
+
+		@Test
+		void null_target() {
+			// Arrange
+			// Act
+			try {
+				new DeduplicatingOutputStream( null, TIMEOUT );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( NullPointerException ignored ) {
+			}
+		}
+
+		@Test
+		void null_timeout() {
+			// Arrange
+			// Act
+			try {
+				new DeduplicatingOutputStream( new ByteArrayOutputStream(), null );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( NullPointerException ignored ) {
+			}
+		}
+
+	}
+
+	@Nested
+	class write {
+
+		@Test
+		void distinct() throws IOException {
+			// Arrange
+			ByteArrayOutputStream target = new ByteArrayOutputStream();
+			DeduplicatingOutputStream stream = create( target );
+			String value = randomString() + "\n" + randomString() + "\n";
+			// Act
+			stream.write( value.getBytes() );
+			// Assert
+			Assertions.assertEquals( value, target.toString() );
+			Assertions.assertEquals( 0, stream.collapsedLines() );
+		}
+
+		@Test
+		void repeated() throws IOException {
+			// Arrange
+			ByteArrayOutputStream target = new ByteArrayOutputStream();
+			DeduplicatingOutputStream stream = create( target );
+			String valueA = randomString() + "\n";
+			String valueB = randomString() + "\n";
+			// Act
+			for ( int i = 0; i < 5; i++ ) stream.write( valueA.getBytes() );
+			stream.write( valueB.getBytes() );
+			// Assert
+			Assertions.assertEquals( valueA + DeduplicatingOutputStream.summary( 4 ) + valueB, target.toString() );
+			Assertions.assertEquals( 4, stream.collapsedLines() );
+		}
+
+		@Test
+		void repeated_single_write() throws IOException {
+			// Arrange
+			ByteArrayOutputStream target = new ByteArrayOutputStream();
+			DeduplicatingOutputStream stream = create( target );
+			String valueA = randomString() + "\n";
+			String valueB = randomString() + "\n";
+			// Act
+			stream.write( ( valueB + valueA + valueA + valueA + valueB + valueB ).getBytes() );
+			// Assert
+			Assertions.assertEquals(
+				valueB + valueA + DeduplicatingOutputStream.summary( 2 ) + valueB,
+				target.toString()
+			);
+			Assertions.assertEquals( 3, stream.collapsedLines() );
+		}
+
+		@Test
+		void partial_lines() throws IOException {
+			// Arrange
+			ByteArrayOutputStream target = new ByteArrayOutputStream();
+			DeduplicatingOutputStream stream = create( target );
+			String valueA = randomString();
+			String valueB = randomString();
+			// Act
+			stream.write( ( valueA + "\n" + valueA.substring( 0, 5 ) ).getBytes() );
+			String partial = target.toString();
+			stream.write( ( valueA.substring( 5 ) + "\n" + valueA ).getBytes() );
+			for ( byte b : ( "\n" + valueB + "\n" ).getBytes() ) stream.write( b );
+			// Assert
+			Assertions.assertEquals( valueA + "\n", partial );
+			Assertions.assertEquals(
+				valueA + "\n" + DeduplicatingOutputStream.summary( 2 ) + valueB + "\n",
+				target.toString()
+			);
+		}
+
+		@Test
+		void timeout() throws IOException {
+			// Arrange
+			ByteArrayOutputStream target = new ByteArrayOutputStream();
+			DeduplicatingOutputStream stream = create( target );
+			String value = randomString() + "\n";
+			// Act
+			stream.write( ( value + value + value ).getBytes() );
+			clock.addAndGet( TIMEOUT.toNanos() - 1 );
+			stream.write( value.getBytes() );
+			String before = target.toString();
+			clock.incrementAndGet();
+			stream.write( value.getBytes() );
+			// Assert
+			Assertions.assertEquals( value, before );
+			Assertions.assertEquals( value + DeduplicatingOutputStream.summary( 3 ), target.toString() );
+		}
+
+		@Test
+		void timeout_partial_line() throws IOException {
+			// Arrange
+			ByteArrayOutputStream target = new ByteArrayOutputStream();
+			DeduplicatingOutputStream stream = create( target );
+			String value = randomString() + "\n";
+			String partial = randomString();
+			// Act
+			stream.write( ( value + value ).getBytes() );
+			clock.addAndGet( TIMEOUT.toNanos() );
+			stream.write( partial.getBytes() );
+			// Assert
+			Assertions.assertEquals( value + DeduplicatingOutputStream.summary( 1 ), target.toString() );
+		}
+
+		@Test
+		void timeout_silence() throws IOException, InterruptedException {
+			// Arrange
+			CountDownLatch flushed = new CountDownLatch( 1 );
+			ByteArrayOutputStream target = new ByteArrayOutputStream() {
+				@Override
+				public void flush() {
+					flushed.countDown();
+				}
+			};
+			DeduplicatingOutputStream stream = new DeduplicatingOutputStream( target, Duration.ofMillis( 50 ) );
+			String value = randomString() + "\n";
+			// Act
+			stream.write( ( value + value + value ).getBytes() );
+			boolean summarized = flushed.await( 10, TimeUnit.SECONDS );
+			// Assert
+			Assertions.assertTrue( summarized );
+			Assertions.assertEquals( value + DeduplicatingOutputStream.summary( 2 ), target.toString() );
+		}
+
+		@Test
+		void max_line() throws IOException {
+			// Arrange
+			ByteArrayOutputStream target = new ByteArrayOutputStream();
+			DeduplicatingOutputStream stream = create( target );
+			byte[] value = new byte[ DeduplicatingOutputStream.MAX_LINE + 1 ];
+			// Act
+			stream.write( value );
+			stream.write( '\n' );
+			stream.write( value );
+			stream.write( '\n' );
+			// Assert
+			Assertions.assertEquals( 2 * ( value.length + 1 ), target.size() );
+			Assertions.assertEquals( 0, stream.collapsedLines() );
+		}
+
+		@Test
+		void bad_range() {
+			// Arrange
+			DeduplicatingOutputStream stream = create( new ByteArrayOutputStream() );
+			// Act
+			try {
+				stream.write( new byte[ 4 ], 2, 3 );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( IndexOutOfBoundsException | IOException ignored ) {
+			}
+		}
+
+	}
+
+	@Nested
+	class flush {
+
+		@Test
+		void summary_and_partial() throws IOException {
+			// Arrange
+			AtomicBoolean flushed = new AtomicBoolean();
+			ByteArrayOutputStream target = new ByteArrayOutputStream() {
+				@Override
+				public void flush() {
+					flushed.set( true );
+				}
+			};
+			DeduplicatingOutputStream stream = create( target );
+			String valueA = randomString() + "\n";
+			String valueB = randomString();
+			stream.write( ( valueA + valueA + valueB ).getBytes() );
+			// Act
+			stream.flush();
+			stream.write( ( valueB + "\n" + valueB + valueB + "\n" ).getBytes() );
+			// Assert
+			Assertions.assertTrue( flushed.get() );
+			Assertions.assertEquals(
+				valueA + DeduplicatingOutputStream.summary( 1 ) + valueB + valueB + "\n" + valueB + valueB + "\n",
+				target.toString()
+			);
+		}
+
+	}
+
+	@Test
+	void close() throws IOException {
+		// Arrange
+		AtomicBoolean closed = new AtomicBoolean();
+		ByteArrayOutputStream target = new ByteArrayOutputStream() {
+			@Override
+			public void close() {
+				closed.set( true );
+			}
+		};
+		DeduplicatingOutputStream stream = create( target );
+		String value = randomString() + "\n";
+		stream.write( ( value + value ).getBytes() );
+		// Act
+		stream.close();
+		// Assert
+		Assertions.assertTrue( closed.get() );
+		Assertions.assertEquals( value + DeduplicatingOutputStream.summary( 1 ), target.toString() );
+	}
+
+	private DeduplicatingOutputStream create( ByteArrayOutputStream target ) {
+		return new DeduplicatingOutputStream( target, TIMEOUT, clock::get );
+	}
+
+	private static String randomString() {
+		return UUID.randomUUID().toString();
+	}
+
+}
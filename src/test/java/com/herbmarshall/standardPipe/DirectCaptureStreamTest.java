@@ -0,0 +1,198 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.UUID;
+
+class DirectCaptureStreamTest {
+
+	@Nested
+	class write {
+
+		@Test
+		void happyPath() throws IOException {
+			// Arrange
+			DirectCaptureStream stream = new DirectCaptureStream();
+			String valueA = randomString();
+			String valueB = randomString();
+			// Act
+			stream.write( valueA.getBytes(), 0, valueA.length() );
+			stream.write( '|' );
+			stream.write( valueB.getBytes(), 0, valueB.length() );
+			// Assert
+			Assertions.assertEquals( valueA + "|" + valueB, stream.toString() );
+			Assertions.assertEquals( valueA.length() + 1 + valueB.length(), stream.size() );
+		}
+
+		@Test
+		void many_segments() throws IOException {
+			// Arrange
+			DirectCaptureStream stream = new DirectCaptureStream();
+			ByteArrayOutputStream expected = new ByteArrayOutputStream();
+			byte[] chunk = new byte[ 1000 ];
+			// Act
+			for ( int i = 0; i < 100; i++ ) {
+				Arrays.fill( chunk, ( byte ) i );
+				stream.write( chunk, 0, chunk.length );
+				expected.write( chunk );
+			}
+			// Assert
+			Assertions.assertTrue( stream.toByteBuffers().length > 1 );
+			Assertions.assertArrayEquals( expected.toByteArray(), stream.toInputStream().readAllBytes() );
+		}
+
+		@Test
+		void as_override() {
+			// Arrange
+			DirectCaptureStream capture = new DirectCaptureStream();
+			Standard standard = new Standard( randomString(), new ByteArrayOutputStream() );
+			String value = randomString();
+			// Act
+			standard.withOverride( capture )
+				.execute( () -> standard.println( value ) );
+			// Assert
+			Assertions.assertEquals( value + "\n", capture.toCharSequence().toString() );
+		}
+
+	}
+
+	@Nested
+	class toByteBuffers {
+
+		@Test
+		void read_only_view() throws IOException {
+			// Arrange
+			DirectCaptureStream stream = new DirectCaptureStream();
+			String value = randomString();
+			stream.write( value.getBytes(), 0, value.length() );
+			// Act
+			ByteBuffer[] output = stream.toByteBuffers();
+			// Assert
+			Assertions.assertEquals( 1, output.length );
+			Assertions.assertTrue( output[ 0 ].isReadOnly() );
+			Assertions.assertTrue( output[ 0 ].isDirect() );
+			Assertions.assertEquals( value.length(), output[ 0 ].remaining() );
+		}
+
+		@Test
+		void empty() {
+			// Arrange
+			DirectCaptureStream stream = new DirectCaptureStream();
+			// Act
+			ByteBuffer[] output = stream.toByteBuffers();
+			// Assert
+			Assertions.assertEquals( 0, output.length );
+		}
+
+	}
+
+	@Nested
+	class toCharSequence {
+
+		@Test
+		void across_segments() throws IOException {
+			// Arrange
+			DirectCaptureStream stream = new DirectCaptureStream();
+			StringBuilder expected = new StringBuilder();
+			while ( expected.length() < 20_000 ) {
+				String value = randomString();
+				expected.append( value );
+				stream.write( value.getBytes(), 0, value.length() );
+			}
+			// Act
+			CharSequence output = stream.toCharSequence();
+			// Assert
+			Assertions.assertEquals( expected.length(), output.length() );
+			Assertions.assertEquals( expected.toString(), output.toString() );
+			Assertions.assertEquals( expected.substring( 4000, 9000 ), output.subSequence( 4000, 9000 ).toString() );
+			Assertions.assertEquals( expected.charAt( 12345 ), output.charAt( 12345 ) );
+		}
+
+		@Test
+		void out_of_bounds() throws IOException {
+			// Arrange
+			DirectCaptureStream stream = new DirectCaptureStream();
+			stream.write( 'a' );
+			CharSequence output = stream.toCharSequence();
+			// Act
+			try {
+				output.charAt( 1 );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( IndexOutOfBoundsException ignored ) {
+			}
+		}
+
+	}
+
+	@Nested
+	class clear {
+
+		@Test
+		void happyPath() throws IOException {
+			// Arrange
+			DirectCaptureStream stream = new DirectCaptureStream();
+			String valueA = randomString();
+			String valueB = randomString();
+			stream.write( valueA.getBytes(), 0, valueA.length() );
+			// Act
+			stream.clear();
+			stream.write( valueB.getBytes(), 0, valueB.length() );
+			// Assert
+			Assertions.assertEquals( valueB, stream.toString() );
+			Assertions.assertEquals( valueB.length(), stream.size() );
+		}
+
+	}
+
+	@Nested
+	class close {
+
+		@Test
+		void readable_after_close() throws IOException {
+			// Arrange
+			DirectCaptureStream stream = new DirectCaptureStream();
+			String value = randomString();
+			stream.write( value.getBytes(), 0, value.length() );
+			// Act
+			stream.close();
+			stream.close();
+			// Assert
+			Assertions.assertEquals( value, stream.toString() );
+			try {
+				stream.write( 'a' );
+				Assertions.fail();
+			}
+			catch ( IOException e ) {
+				Assertions.assertEquals( SegmentedCaptureStream.closedError(), e.getMessage() );
+			}
+		}
+
+	}
+
+	private static String randomString() {
+		return UUID.randomUUID().toString();
+	}
+
+}
@@ -0,0 +1,189 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+
+class DivergingInputStreamTest {
+
+	@Nested
+	class read {
+
+		@Test
+		void happyPath() throws IOException {
+			// Arrange
+			String value = randomString();
+			DivergingInputStream stream = buildStream( value );
+			// Act
+			String output = new String( stream.readAllBytes() );
+			// Assert
+			Assertions.assertEquals( value, output );
+		}
+
+		@Test
+		void override() throws IOException {
+			// Arrange
+			String value = randomString();
+			DivergingInputStream stream = buildStream( randomString() );
+			InputStream override = input( value );
+			// Act
+			stream.override( override, OverrideScope.GLOBAL );
+			String output = new String( stream.readAllBytes() );
+			stream.reset( override, OverrideScope.GLOBAL );
+			// Assert
+			Assertions.assertEquals( value, output );
+		}
+
+		@Test
+		void nested() throws IOException {
+			// Arrange
+			String normal = randomString();
+			String valueA = randomString();
+			String valueB = randomString();
+			DivergingInputStream stream = buildStream( normal );
+			InputStream outer = input( valueA );
+			InputStream inner = input( valueB );
+			// Act
+			stream.override( outer, OverrideScope.GLOBAL );
+			stream.override( inner, OverrideScope.GLOBAL );
+			String outputB = new String( stream.readAllBytes() );
+			stream.reset( inner, OverrideScope.GLOBAL );
+			String outputA = new String( stream.readAllBytes() );
+			stream.reset( outer, OverrideScope.GLOBAL );
+			String output = new String( stream.readAllBytes() );
+			// Assert
+			Assertions.assertEquals( valueB, outputB );
+			Assertions.assertEquals( valueA, outputA );
+			Assertions.assertEquals( normal, output );
+		}
+
+		@Test
+		void reset_out_of_order() throws IOException {
+			// Arrange
+			String valueB = randomString();
+			DivergingInputStream stream = buildStream( randomString() );
+			InputStream outer = input( randomString() );
+			InputStream inner = input( valueB );
+			// Act
+			stream.override( outer, OverrideScope.GLOBAL );
+			stream.override( inner, OverrideScope.GLOBAL );
+			stream.reset( outer, OverrideScope.GLOBAL );
+			String output = new String( stream.readAllBytes() );
+			// Assert
+			Assertions.assertEquals( valueB, output );
+		}
+
+		@Test
+		void thread() throws Exception {
+			// Arrange
+			String normal = randomString();
+			String value = randomString();
+			DivergingInputStream stream = buildStream( normal );
+			InputStream override = input( value );
+			String[] other = new String[ 1 ];
+			Thread thread = new Thread( () -> other[ 0 ] = readAll( stream ) );
+			// Act
+			stream.override( override, OverrideScope.THREAD );
+			thread.start();
+			thread.join();
+			String output = new String( stream.readAllBytes() );
+			stream.reset( override, OverrideScope.THREAD );
+			// Assert
+			Assertions.assertEquals( value, output );
+			Assertions.assertEquals( normal, other[ 0 ] );
+		}
+
+		@Test
+		void inherited() throws Exception {
+			// Arrange
+			String value = randomString();
+			DivergingInputStream stream = buildStream( randomString() );
+			InputStream override = input( value );
+			String[] child = new String[ 1 ];
+			// Act
+			stream.override( override, OverrideScope.INHERITED );
+			Thread thread = new Thread( () -> child[ 0 ] = readAll( stream ) );
+			thread.start();
+			thread.join();
+			stream.reset( override, OverrideScope.INHERITED );
+			// Assert
+			Assertions.assertEquals( value, child[ 0 ] );
+		}
+
+	}
+
+	@Nested
+	class override {
+
+		@Test
+		void null_pipe() {
+			// Arrange
+			DivergingInputStream stream = buildStream( randomString() );
+			// Act
+			try {
+				stream.override( null, OverrideScope.GLOBAL );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( NullPointerException ignored ) {
+			}
+		}
+
+		@Test
+		void null_scope() {
+			// Arrange
+			DivergingInputStream stream = buildStream( randomString() );
+			// Act
+			try {
+				stream.override( input( randomString() ), null );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( NullPointerException ignored ) {
+			}
+		}
+
+	}
+
+	private String readAll( InputStream stream ) {
+		try {
+			return new String( stream.readAllBytes() );
+		}
+		catch ( IOException e ) {
+			throw new UncheckedIOException( e );
+		}
+	}
+
+	private DivergingInputStream buildStream( String content ) {
+		return new DivergingInputStream( randomString(), input( content ) );
+	}
+
+	private InputStream input( String content ) {
+		return new ByteArrayInputStream( content.getBytes() );
+	}
+
+	private String randomString() {
+		return UUID.randomUUID().toString();
+	}
+
+}
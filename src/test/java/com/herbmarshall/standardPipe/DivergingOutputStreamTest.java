@@ -21,12 +21,24 @@ import org.junit.jupiter.api.Test;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
-import static com.herbmarshall.standardPipe.DivergingOutputStream.doubleOverrideError;
-
 @SuppressWarnings( "resource" )
 class DivergingOutputStreamTest {
 
@@ -103,6 +115,40 @@ class DivergingOutputStreamTest {
 			Assertions.assertEquals( "null", buffer.toString() );
 		}
 
+		@Test
+		void after_runtime_failure() {
+			// Arrange
+			IllegalStateException failure = new IllegalStateException( randomString() );
+			OutputStream failing = new OutputStream() {
+				@Override
+				public void write( int b ) {
+					throw failure;
+				}
+			};
+			DivergingOutputStream stream = buildStream( OutputStream.nullOutputStream() );
+			com.sun.management.ThreadMXBean threads =
+				( com.sun.management.ThreadMXBean ) ManagementFactory.getThreadMXBean();
+			int prints = 10_000;
+			long perPrint = Long.MAX_VALUE;
+			stream.override( failing );
+			try {
+				stream.print( "x".repeat( TextEncoder.SIZE * 2 ), true );
+				Assertions.fail();
+			}
+			catch ( IllegalStateException e ) {
+				Assertions.assertSame( failure, e );
+			}
+			stream.reset();
+			// Act
+			for ( int round = 0; round < 50 && perPrint > 0; round++ ) {
+				long before = threads.getCurrentThreadAllocatedBytes();
+				for ( int i = 0; i < prints; i++ ) stream.print( i, true );
+				perPrint = ( threads.getCurrentThreadAllocatedBytes() - before ) / prints;
+			}
+			// Assert
+			Assertions.assertEquals( 0, perPrint );
+		}
+
 	}
 
 	@Nested
@@ -153,9 +199,171 @@ class DivergingOutputStreamTest {
 			Assertions.assertEquals( "null\n", buffer.toString() );
 		}
 
+		@Test
+		void long_lines_from_threads() throws InterruptedException {
+			// Arrange
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+			DivergingOutputStream stream = buildStream( buffer );
+			int threadCount = 8;
+			int lines = 200;
+			int lineLength = TextEncoder.SIZE * 4;
+			List<Thread> threads = new ArrayList<>();
+			for ( int i = 0; i < threadCount; i++ ) {
+				String line = String.valueOf( ( char ) ( 'a' + i ) ).repeat( lineLength );
+				threads.add( new Thread( () -> {
+					for ( int j = 0; j < lines; j++ ) stream.println( line );
+				} ) );
+			}
+			// Act
+			threads.forEach( Thread::start );
+			for ( Thread thread : threads ) thread.join();
+			// Assert
+			String[] printed = buffer.toString().split( "\n" );
+			Assertions.assertEquals( threadCount * lines, printed.length );
+			for ( String line : printed )
+				Assertions.assertEquals( String.valueOf( line.charAt( 0 ) ).repeat( lineLength ), line );
+		}
+
 	}
 
 
+	@Nested
+	class write_bytes {
+
+		@Test
+		void using_default() throws IOException {
+			// Arrange
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+			DivergingOutputStream stream = buildStream( buffer );
+			String value = randomString();
+			byte[] bytes = ( "[" + value + "]" ).getBytes();
+			// Act
+			stream.write( bytes, 1, value.length() );
+			// Assert
+			Assertions.assertEquals( value, buffer.toString() );
+		}
+
+		@Test
+		void using_override() throws IOException {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			ByteArrayOutputStream override = new ByteArrayOutputStream();
+			DivergingOutputStream stream = buildStream( normal );
+			String valueA = randomString();
+			String valueB = randomString();
+			// Act
+			stream.write( valueA.getBytes() );
+			stream.override( override );
+			stream.write( valueB.getBytes() );
+			stream.reset();
+			// Assert
+			Assertions.assertEquals( valueA, normal.toString() );
+			Assertions.assertEquals( valueB, override.toString() );
+		}
+
+		@Test
+		void single_dispatch() throws IOException {
+			// Arrange
+			AtomicInteger calls = new AtomicInteger();
+			DivergingOutputStream stream = buildStream( buildBufferWithWriteCounter( calls ) );
+			// Act
+			stream.println( randomString() );
+			// Assert
+			Assertions.assertEquals( 1, calls.get() );
+		}
+
+		@Test
+		void out_of_bounds() throws IOException {
+			// Arrange
+			DivergingOutputStream stream = buildStream();
+			byte[] bytes = new byte[ 4 ];
+			// Act
+			try {
+				stream.write( bytes, 2, 3 );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( IndexOutOfBoundsException ignored ) {
+			}
+		}
+
+	}
+
+	@Nested
+	class write_ByteBuffer {
+
+		@Test
+		void heap() throws IOException {
+			write( ByteBuffer::wrap );
+		}
+
+		@Test
+		void readOnly() throws IOException {
+			write( bytes -> ByteBuffer.wrap( bytes ).asReadOnlyBuffer() );
+		}
+
+		@Test
+		void direct() throws IOException {
+			write( bytes -> ByteBuffer.allocateDirect( bytes.length ).put( bytes ).flip() );
+		}
+
+		@Test
+		void direct_instrumented() throws IOException {
+			// Arrange
+			DivergingOutputStream stream = buildStream( OutputStream.nullOutputStream() );
+			ByteBuffer buffer = ByteBuffer.allocateDirect( 100 );
+			int count = StandardMetrics.SAMPLE_RATE * 16;
+			// Act
+			for ( int i = 0; i < count; i++ ) stream.write( buffer.clear() );
+			// Assert
+			StandardMetrics metrics = stream.metrics();
+			Assertions.assertEquals( count, metrics.getWriteCount() );
+			Assertions.assertEquals( ( long ) count * buffer.capacity(), metrics.getBytesWritten() );
+			Assertions.assertTrue( Arrays.stream( metrics.getWriteLatencyHistogram() ).sum() > 0 );
+		}
+
+		@Test
+		void direct_no_allocation() throws IOException {
+			// Arrange
+			DivergingOutputStream stream = buildStream( OutputStream.nullOutputStream() );
+			ByteBuffer buffer = ByteBuffer.allocateDirect( 4 * 1024 );
+			com.sun.management.ThreadMXBean threads =
+				( com.sun.management.ThreadMXBean ) ManagementFactory.getThreadMXBean();
+			int writes = 10_000;
+			long perWrite = Long.MAX_VALUE;
+			// Act
+			for ( int round = 0; round < 50 && perWrite > 0; round++ ) {
+				long before = threads.getCurrentThreadAllocatedBytes();
+				for ( int i = 0; i < writes; i++ ) stream.write( buffer.clear() );
+				perWrite = ( threads.getCurrentThreadAllocatedBytes() - before ) / writes;
+			}
+			// Assert
+			Assertions.assertEquals( 0, perWrite );
+		}
+
+		private void write( Function<byte[], ByteBuffer> factory ) throws IOException {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			ByteArrayOutputStream override = new ByteArrayOutputStream();
+			DivergingOutputStream stream = buildStream( normal );
+			String valueA = randomString();
+			String valueB = randomString();
+			ByteBuffer bufferA = factory.apply( valueA.getBytes() );
+			ByteBuffer bufferB = factory.apply( valueB.getBytes() );
+			// Act
+			stream.write( bufferA );
+			stream.override( override );
+			stream.write( bufferB );
+			stream.reset();
+			// Assert
+			Assertions.assertEquals( valueA, normal.toString() );
+			Assertions.assertEquals( valueB, override.toString() );
+			Assertions.assertFalse( bufferA.hasRemaining() );
+			Assertions.assertFalse( bufferB.hasRemaining() );
+		}
+
+	}
+
 	@Nested
 	class override_reset {
 
@@ -194,26 +402,99 @@ class DivergingOutputStreamTest {
 		}
 
 		@Test
-		void override_double_call() {
+		void override_nested() {
 			// Arrange
-			String name = randomString();
-			DivergingOutputStream stream = buildStream( name );
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			ByteArrayOutputStream outer = new ByteArrayOutputStream();
+			ByteArrayOutputStream inner = new ByteArrayOutputStream();
+			DivergingOutputStream stream = buildStream( normal );
+			String valueA = randomString();
+			String valueB = randomString();
+			String valueC = randomString();
+			// Act
+			stream.override( outer );
+			stream.override( inner );
+			stream.print( valueA );
+			stream.reset( inner );
+			stream.print( valueB );
+			stream.reset( outer );
+			stream.print( valueC );
+			// Assert
+			Assertions.assertEquals( valueC, normal.toString() );
+			Assertions.assertEquals( valueB, outer.toString() );
+			Assertions.assertEquals( valueA, inner.toString() );
+		}
+
+		@Test
+		void override_bubble() {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			ByteArrayOutputStream outer = new ByteArrayOutputStream();
+			ByteArrayOutputStream inner = new ByteArrayOutputStream();
+			DivergingOutputStream stream = buildStream( normal );
+			String value = randomString();
+			// Act
+			stream.override( outer );
+			stream.override( inner, NestingPolicy.BUBBLE );
+			stream.print( value );
+			// Assert
+			Assertions.assertTrue( normal.toString().isEmpty() );
+			Assertions.assertEquals( value, outer.toString() );
+			Assertions.assertEquals( value, inner.toString() );
+		}
 
+		@Test
+		void override_bubble_default() {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
 			ByteArrayOutputStream override = new ByteArrayOutputStream();
-			ByteArrayOutputStream doubleOverride = new ByteArrayOutputStream();
+			DivergingOutputStream stream = buildStream( normal );
+			String value = randomString();
+			// Act
+			stream.override( override, NestingPolicy.BUBBLE );
+			stream.print( value );
+			// Assert
+			Assertions.assertEquals( value, normal.toString() );
+			Assertions.assertEquals( value, override.toString() );
+		}
 
-			stream.override( override );
+		@Test
+		void reset_out_of_order() {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			ByteArrayOutputStream outer = new ByteArrayOutputStream();
+			ByteArrayOutputStream middle = new ByteArrayOutputStream();
+			ByteArrayOutputStream inner = new ByteArrayOutputStream();
+			DivergingOutputStream stream = buildStream( normal );
+			String valueA = randomString();
+			String valueB = randomString();
+			// Act
+			stream.override( outer );
+			stream.override( middle, NestingPolicy.BUBBLE );
+			stream.override( inner, NestingPolicy.BUBBLE );
+			stream.reset( middle );
+			stream.print( valueA );
+			stream.reset( inner );
+			stream.print( valueB );
+			// Assert
+			Assertions.assertTrue( normal.toString().isEmpty() );
+			Assertions.assertEquals( valueA + valueB, outer.toString() );
+			Assertions.assertTrue( middle.toString().isEmpty() );
+			Assertions.assertEquals( valueA, inner.toString() );
+			Assertions.assertEquals( 1, stream.metrics().getActiveOverrides() );
+		}
+
+		@Test
+		void override_null_nesting() {
+			// Arrange
+			DivergingOutputStream stream = buildStream();
 			// Act
 			try {
-				stream.override( doubleOverride );
+				stream.override( new ByteArrayOutputStream(), ( NestingPolicy ) null );
 				Assertions.fail();
 			}
 			// Assert
-			catch ( IllegalStateException e ) {
-				Assertions.assertEquals(
-					doubleOverrideError( name ),
-					e.getMessage()
-				);
+			catch ( NullPointerException ignored ) {
 			}
 		}
 
@@ -241,6 +522,484 @@ class DivergingOutputStreamTest {
 
 	}
 
+	@Nested
+	class override_concurrency {
+
+		private static final int THREADS = 8;
+		private static final int ROUNDS = 500;
+
+		@Test
+		void every_override_nests() throws Exception {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			DivergingOutputStream stream = buildStream( normal );
+			CyclicBarrier barrier = new CyclicBarrier( THREADS );
+			String value = randomString();
+			// Act
+			runAll( () -> {
+				OutputStream override = new ByteArrayOutputStream();
+				for ( int round = 0; round < ROUNDS; round++ ) {
+					await( barrier );
+					stream.override( override );
+					await( barrier );
+					stream.reset( override );
+				}
+			} );
+			stream.print( value );
+			// Assert
+			Assertions.assertEquals( value, normal.toString() );
+			Assertions.assertEquals( ( long ) THREADS * ROUNDS, stream.metrics().getOverrideCount() );
+			Assertions.assertEquals( 0, stream.metrics().getActiveOverrides() );
+		}
+
+		@Test
+		void stale_reset() {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			ByteArrayOutputStream overrideA = new ByteArrayOutputStream();
+			ByteArrayOutputStream overrideB = new ByteArrayOutputStream();
+			DivergingOutputStream stream = buildStream( normal );
+			String value = randomString();
+			// Act
+			stream.override( overrideA );
+			stream.reset( overrideA );
+			stream.override( overrideB );
+			stream.reset( overrideA );
+			stream.print( value );
+			// Assert
+			Assertions.assertTrue( normal.toString().isEmpty() );
+			Assertions.assertTrue( overrideA.toString().isEmpty() );
+			Assertions.assertEquals( value, overrideB.toString() );
+		}
+
+		@Test
+		void no_lost_writes() throws Exception {
+			// Arrange
+			AtomicLong normalCount = new AtomicLong();
+			AtomicLong overrideCount = new AtomicLong();
+			OutputStream override = buildCountingStream( overrideCount );
+			DivergingOutputStream stream = buildStream( buildCountingStream( normalCount ) );
+			AtomicBoolean running = new AtomicBoolean( true );
+			Thread toggle = new Thread( () -> {
+				while ( running.get() ) {
+					stream.override( override );
+					stream.reset( override );
+				}
+			} );
+			byte[] line = new byte[ 16 ];
+			// Act
+			toggle.start();
+			runAll( () -> {
+				for ( int i = 0; i < ROUNDS * 10; i++ ) write( stream, line );
+			} );
+			running.set( false );
+			toggle.join();
+			// Assert
+			Assertions.assertEquals(
+				( long ) THREADS * ROUNDS * 10 * line.length,
+				normalCount.get() + overrideCount.get()
+			);
+		}
+
+		private void write( DivergingOutputStream stream, byte[] bytes ) {
+			try {
+				stream.write( bytes, 0, bytes.length );
+			}
+			catch ( IOException e ) {
+				throw new IllegalStateException( e );
+			}
+		}
+
+		private void runAll( Runnable action ) throws InterruptedException {
+			List<Thread> threads = new ArrayList<>();
+			for ( int i = 0; i < THREADS; i++ ) threads.add( new Thread( action ) );
+			threads.forEach( Thread::start );
+			for ( Thread thread : threads ) thread.join();
+		}
+
+		private void await( CyclicBarrier barrier ) {
+			try {
+				barrier.await();
+			}
+			catch ( Exception e ) {
+				throw new IllegalStateException( e );
+			}
+		}
+
+		private OutputStream buildCountingStream( AtomicLong count ) {
+			return new OutputStream() {
+				@Override
+				public void write( int b ) {
+					count.incrementAndGet();
+				}
+				@Override
+				public void write( byte[] b, int off, int len ) {
+					count.addAndGet( len );
+				}
+			};
+		}
+
+	}
+
+	@Nested
+	class override_thread {
+
+		@Test
+		void isolated() throws Exception {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			ByteArrayOutputStream overrideA = new ByteArrayOutputStream();
+			ByteArrayOutputStream overrideB = new ByteArrayOutputStream();
+			DivergingOutputStream stream = buildStream( normal );
+			String valueA = randomString();
+			String valueB = randomString();
+			String valueC = randomString();
+			CyclicBarrier barrier = new CyclicBarrier( 2 );
+			// Act
+			Thread threadA = new Thread( () -> overrideAndPrint( stream, overrideA, valueA, barrier ) );
+			Thread threadB = new Thread( () -> overrideAndPrint( stream, overrideB, valueB, barrier ) );
+			threadA.start();
+			threadB.start();
+			threadA.join();
+			threadB.join();
+			stream.print( valueC );
+			// Assert
+			Assertions.assertEquals( valueC, normal.toString() );
+			Assertions.assertEquals( valueA, overrideA.toString() );
+			Assertions.assertEquals( valueB, overrideB.toString() );
+		}
+
+		@Test
+		void over_global() {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			ByteArrayOutputStream global = new ByteArrayOutputStream();
+			ByteArrayOutputStream local = new ByteArrayOutputStream();
+			DivergingOutputStream stream = buildStream( normal );
+			String valueA = randomString();
+			String valueB = randomString();
+			// Act
+			stream.override( global );
+			stream.override( local, OverrideScope.THREAD );
+			stream.print( valueA );
+			stream.reset( local, OverrideScope.THREAD );
+			stream.print( valueB );
+			stream.reset();
+			// Assert
+			Assertions.assertTrue( normal.toString().isEmpty() );
+			Assertions.assertEquals( valueB, global.toString() );
+			Assertions.assertEquals( valueA, local.toString() );
+		}
+
+		@Test
+		void thread_not_inherited() throws InterruptedException {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			ByteArrayOutputStream override = new ByteArrayOutputStream();
+			DivergingOutputStream stream = buildStream( normal );
+			String value = randomString();
+			// Act
+			stream.override( override, OverrideScope.THREAD );
+			Thread child = new Thread( () -> stream.print( value ) );
+			child.start();
+			child.join();
+			stream.reset( override, OverrideScope.THREAD );
+			// Assert
+			Assertions.assertEquals( value, normal.toString() );
+			Assertions.assertTrue( override.toString().isEmpty() );
+		}
+
+		@Test
+		void inherited() throws InterruptedException {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			ByteArrayOutputStream override = new ByteArrayOutputStream();
+			DivergingOutputStream stream = buildStream( normal );
+			String value = randomString();
+			// Act
+			stream.override( override, OverrideScope.INHERITED );
+			Thread child = new Thread( () -> stream.print( value ) );
+			child.start();
+			child.join();
+			stream.reset( override, OverrideScope.INHERITED );
+			// Assert
+			Assertions.assertTrue( normal.toString().isEmpty() );
+			Assertions.assertEquals( value, override.toString() );
+		}
+
+		@Test
+		void inherited_after_reset() throws Exception {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			ByteArrayOutputStream override = new ByteArrayOutputStream();
+			DivergingOutputStream stream = buildStream( normal );
+			String value = randomString();
+			CyclicBarrier barrier = new CyclicBarrier( 2 );
+			// Act
+			stream.override( override, OverrideScope.INHERITED );
+			Thread child = new Thread( () -> {
+				await( barrier );
+				stream.print( value );
+			} );
+			child.start();
+			stream.reset( override, OverrideScope.INHERITED );
+			barrier.await();
+			child.join();
+			// Assert
+			Assertions.assertEquals( value, normal.toString() );
+			Assertions.assertTrue( override.toString().isEmpty() );
+		}
+
+		@Test
+		void inherited_released_after_reset() throws Exception {
+			// Arrange
+			DivergingOutputStream stream = buildStream();
+			OutputStream override = new ByteArrayOutputStream();
+			WeakReference<OutputStream> reference = new WeakReference<>( override );
+			CyclicBarrier barrier = new CyclicBarrier( 2 );
+			stream.override( override, OverrideScope.INHERITED );
+			Thread child = new Thread( () -> await( barrier ) );
+			child.start();
+			stream.reset( override, OverrideScope.INHERITED );
+			override = null;
+			// Act
+			for ( int i = 0; i < 10 && reference.get() != null; i++ ) System.gc();
+			// Assert
+			Assertions.assertNull( reference.get() );
+			barrier.await();
+			child.join();
+		}
+
+		@Test
+		void thread_started_after_lookup() throws Exception {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			ByteArrayOutputStream override = new ByteArrayOutputStream();
+			DivergingOutputStream stream = buildStream( normal );
+			String value = randomString();
+			AtomicReference<Thread> grandchild = new AtomicReference<>();
+			stream.override( override, OverrideScope.THREAD );
+			// Act
+			Thread child = new Thread( () -> {
+				stream.print( value );
+				grandchild.set( new Thread( () -> stream.print( value ) ) );
+			} );
+			child.start();
+			child.join();
+			grandchild.get().start();
+			grandchild.get().join();
+			stream.reset( override, OverrideScope.THREAD );
+			// Assert
+			Assertions.assertEquals( value + value, normal.toString() );
+			Assertions.assertTrue( override.toString().isEmpty() );
+		}
+
+		@Test
+		void nested() {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			ByteArrayOutputStream outer = new ByteArrayOutputStream();
+			ByteArrayOutputStream inner = new ByteArrayOutputStream();
+			DivergingOutputStream stream = buildStream( normal );
+			String valueA = randomString();
+			String valueB = randomString();
+			String valueC = randomString();
+			// Act
+			stream.override( outer, OverrideScope.THREAD );
+			stream.override( inner, OverrideScope.THREAD );
+			stream.print( valueA );
+			stream.reset( inner, OverrideScope.THREAD );
+			stream.print( valueB );
+			stream.reset( outer, OverrideScope.THREAD );
+			stream.print( valueC );
+			// Assert
+			Assertions.assertEquals( valueC, normal.toString() );
+			Assertions.assertEquals( valueB, outer.toString() );
+			Assertions.assertEquals( valueA, inner.toString() );
+		}
+
+		@Test
+		void bubble_to_global() {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			ByteArrayOutputStream global = new ByteArrayOutputStream();
+			ByteArrayOutputStream local = new ByteArrayOutputStream();
+			DivergingOutputStream stream = buildStream( normal );
+			String value = randomString();
+			// Act
+			stream.override( local, OverrideScope.THREAD, NestingPolicy.BUBBLE );
+			stream.override( global );
+			stream.print( value );
+			stream.reset( global );
+			stream.reset( local, OverrideScope.THREAD );
+			// Assert
+			Assertions.assertTrue( normal.toString().isEmpty() );
+			Assertions.assertEquals( value, global.toString() );
+			Assertions.assertEquals( value, local.toString() );
+		}
+
+		@Test
+		void inherited_beneath_thread() throws Exception {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			ByteArrayOutputStream inherited = new ByteArrayOutputStream();
+			ByteArrayOutputStream local = new ByteArrayOutputStream();
+			DivergingOutputStream stream = buildStream( normal );
+			String valueA = randomString();
+			String valueB = randomString();
+			// Act
+			stream.override( inherited, OverrideScope.INHERITED );
+			stream.override( local, OverrideScope.THREAD );
+			Thread child = new Thread( () -> stream.print( valueA ) );
+			child.start();
+			child.join();
+			stream.print( valueB );
+			stream.reset( local, OverrideScope.THREAD );
+			stream.reset( inherited, OverrideScope.INHERITED );
+			// Assert
+			Assertions.assertTrue( normal.toString().isEmpty() );
+			Assertions.assertEquals( valueA, inherited.toString() );
+			Assertions.assertEquals( valueB, local.toString() );
+		}
+
+		@Test
+		void pipe_null() {
+			// Arrange
+			DivergingOutputStream stream = buildStream();
+			// Act
+			try {
+				stream.override( null, OverrideScope.THREAD );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( NullPointerException ignored ) {
+			}
+		}
+
+		private void overrideAndPrint(
+			DivergingOutputStream stream,
+			OutputStream override,
+			String value,
+			CyclicBarrier barrier
+		) {
+			stream.override( override, OverrideScope.THREAD );
+			await( barrier );
+			stream.print( value );
+			await( barrier );
+			stream.reset( override, OverrideScope.THREAD );
+		}
+
+		private void await( CyclicBarrier barrier ) {
+			try {
+				barrier.await();
+			}
+			catch ( Exception e ) {
+				throw new IllegalStateException( e );
+			}
+		}
+
+	}
+
+	@Nested
+	class propagate {
+
+		@Test
+		void runnable() throws Exception {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			ByteArrayOutputStream override = new ByteArrayOutputStream();
+			DivergingOutputStream stream = buildStream( normal );
+			ExecutorService executor = startedExecutor();
+			String valueA = randomString();
+			String valueB = randomString();
+			// Act
+			stream.override( override, OverrideScope.THREAD );
+			executor.submit( stream.propagate( () -> stream.print( valueA ) ) ).get();
+			executor.submit( () -> stream.print( valueB ) ).get();
+			stream.reset( override, OverrideScope.THREAD );
+			executor.shutdown();
+			// Assert
+			Assertions.assertEquals( valueB, normal.toString() );
+			Assertions.assertEquals( valueA, override.toString() );
+		}
+
+		@Test
+		void callable() throws Exception {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			ByteArrayOutputStream override = new ByteArrayOutputStream();
+			DivergingOutputStream stream = buildStream( normal );
+			ExecutorService executor = startedExecutor();
+			String value = randomString();
+			UUID expected = UUID.randomUUID();
+			// Act
+			stream.override( override, OverrideScope.INHERITED );
+			Callable<UUID> action = stream.propagate( () -> {
+				stream.print( value );
+				return expected;
+			} );
+			UUID output = executor.submit( action ).get();
+			stream.reset( override, OverrideScope.INHERITED );
+			executor.shutdown();
+			// Assert
+			Assertions.assertSame( expected, output );
+			Assertions.assertTrue( normal.toString().isEmpty() );
+			Assertions.assertEquals( value, override.toString() );
+		}
+
+		@Test
+		void after_reset() throws Exception {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			ByteArrayOutputStream override = new ByteArrayOutputStream();
+			DivergingOutputStream stream = buildStream( normal );
+			ExecutorService executor = startedExecutor();
+			String value = randomString();
+			// Act
+			stream.override( override, OverrideScope.THREAD );
+			Runnable action = stream.propagate( () -> stream.print( value ) );
+			stream.reset( override, OverrideScope.THREAD );
+			executor.submit( action ).get();
+			executor.shutdown();
+			// Assert
+			Assertions.assertEquals( value, normal.toString() );
+			Assertions.assertTrue( override.toString().isEmpty() );
+		}
+
+		@Test
+		void no_override() {
+			// Arrange
+			DivergingOutputStream stream = buildStream();
+			Runnable action = () -> { };
+			// Act
+			Runnable output = stream.propagate( action );
+			// Assert
+			Assertions.assertSame( action, output );
+		}
+
+		@Test
+		void action_null() {
+			// Arrange
+			DivergingOutputStream stream = buildStream();
+			// Act
+			try {
+				stream.propagate( ( Runnable ) null );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( NullPointerException ignored ) {
+			}
+		}
+
+		/** Executor with its thread started before any override, so nothing is inherited. */
+		private ExecutorService startedExecutor() throws Exception {
+			ExecutorService executor = Executors.newSingleThreadExecutor();
+			executor.submit( () -> { } ).get();
+			return executor;
+		}
+
+	}
+
 	@Nested
 	class flush {
 
@@ -351,6 +1110,21 @@ class DivergingOutputStreamTest {
 		};
 	}
 
+	private ByteArrayOutputStream buildBufferWithWriteCounter( AtomicInteger calls ) {
+		return new ByteArrayOutputStream() {
+			@Override
+			public synchronized void write( int b ) {
+				calls.incrementAndGet();
+				super.write( b );
+			}
+			@Override
+			public synchronized void write( byte[] b, int off, int len ) {
+				calls.incrementAndGet();
+				super.write( b, off, len );
+			}
+		};
+	}
+
 	private ByteArrayOutputStream buildBufferWithCloseMock( AtomicBoolean called ) {
 		return new ByteArrayOutputStream() {
 			@Override
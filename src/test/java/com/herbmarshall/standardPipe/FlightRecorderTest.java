@@ -0,0 +1,165 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+class FlightRecorderTest {
+
+	private static final String OVERRIDE = "com.herbmarshall.standardPipe.Override";
+	private static final String SLOW_WRITE = "com.herbmarshall.standardPipe.SlowWrite";
+	private static final String SLOW_FLUSH = "com.herbmarshall.standardPipe.SlowFlush";
+	private static final String THROUGHPUT = "com.herbmarshall.standardPipe.Throughput";
+
+	@Test
+	void override() throws IOException {
+		// Arrange
+		String name = randomString();
+		Standard standard = new Standard( name, new ByteArrayOutputStream() );
+		ByteArrayOutputStream override = new ByteArrayOutputStream();
+		String value = randomString();
+		// Act
+		List<RecordedEvent> events = record( OVERRIDE, Duration.ZERO, () ->
+			standard.withOverride( override, OverrideScope.THREAD ).execute( () -> standard.print( value ) )
+		);
+		// Assert
+		RecordedEvent event = only( events, name );
+		Assertions.assertEquals( "THREAD", event.getString( "scope" ) );
+		Assertions.assertEquals( value.length(), event.getLong( "bytes" ) );
+		Assertions.assertEquals( value, override.toString() );
+	}
+
+	@Test
+	void slow_write() throws IOException {
+		// Arrange
+		String name = randomString();
+		Standard standard = new Standard( name, new ByteArrayOutputStream() );
+		String value = randomString();
+		// Act
+		List<RecordedEvent> events = record( SLOW_WRITE, Duration.ZERO, () -> standard.print( value ) );
+		// Assert
+		Assertions.assertEquals( value.length(), only( events, name ).getLong( "bytes" ) );
+	}
+
+	@Test
+	void slow_write_threshold() throws IOException {
+		// Arrange
+		String name = randomString();
+		Standard standard = new Standard( name, new ByteArrayOutputStream() );
+		// Act
+		List<RecordedEvent> events = record( SLOW_WRITE, Duration.ofSeconds( 10 ), () -> standard.print( name ) );
+		// Assert
+		Assertions.assertTrue( matching( events, name ).isEmpty() );
+	}
+
+	@Test
+	void slow_flush() throws IOException {
+		// Arrange
+		String name = randomString();
+		Standard standard = new Standard( name, new ByteArrayOutputStream() );
+		// Act
+		List<RecordedEvent> events = record( SLOW_FLUSH, Duration.ZERO, () -> {
+			try {
+				standard.toStream().flush();
+			}
+			catch ( IOException e ) {
+				throw new AssertionError( e );
+			}
+		} );
+		// Assert
+		only( events, name );
+	}
+
+	@Test
+	void throughput() throws IOException {
+		// Arrange
+		String name = randomString();
+		Standard standard = new Standard( name, new ByteArrayOutputStream() );
+		String value = randomString();
+		// Act
+		List<RecordedEvent> events;
+		try ( Recording recording = new Recording() ) {
+			recording.enable( THROUGHPUT ).withPeriod( Duration.ofMillis( 50 ) );
+			recording.start();
+			standard.print( value );
+			sleep( 500 );
+			recording.stop();
+			events = read( recording );
+		}
+		// Assert
+		long bytes = matching( events, name ).stream().mapToLong( event -> event.getLong( "bytes" ) ).sum();
+		Assertions.assertEquals( value.length(), bytes );
+	}
+
+	private static List<RecordedEvent> record( String event, Duration threshold, Runnable action ) throws IOException {
+		try ( Recording recording = new Recording() ) {
+			recording.enable( event ).withThreshold( threshold );
+			recording.start();
+			action.run();
+			recording.stop();
+			return read( recording );
+		}
+	}
+
+	private static List<RecordedEvent> read( Recording recording ) throws IOException {
+		Path file = Files.createTempFile( "standardPipe", ".jfr" );
+		try {
+			recording.dump( file );
+			return RecordingFile.readAllEvents( file );
+		}
+		finally {
+			Files.deleteIfExists( file );
+		}
+	}
+
+	private static List<RecordedEvent> matching( List<RecordedEvent> events, String pipe ) {
+		return events.stream()
+			.filter( event -> pipe.equals( event.getString( "pipe" ) ) )
+			.collect( Collectors.toList() );
+	}
+
+	private static RecordedEvent only( List<RecordedEvent> events, String pipe ) {
+		List<RecordedEvent> matched = matching( events, pipe );
+		Assertions.assertEquals( 1, matched.size() );
+		return matched.get( 0 );
+	}
+
+	private static void sleep( long millis ) {
+		try {
+			Thread.sleep( millis );
+		}
+		catch ( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static String randomString() {
+		return UUID.randomUUID().toString();
+	}
+
+}
@@ -0,0 +1,289 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class LineBufferedOutputStreamTest {
+
+	@Nested
+	class constructor {
+
+		@Test
+		void null_target() {
+			// Arrange
+			// Act
+			try {
+				new LineBufferedOutputStream( null );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( NullPointerException ignored ) {
+			}
+		}
+
+	}
+
+	@Nested
+	class write {
+
+		@Test
+		void partial_line() throws IOException {
+			// Arrange
+			ByteArrayOutputStream target = new ByteArrayOutputStream();
+			LineBufferedOutputStream stream = new LineBufferedOutputStream( target );
+			String valueA = randomString();
+			String valueB = randomString();
+			// Act
+			stream.write( valueA.getBytes() );
+			String before = target.toString();
+			stream.write( ( valueB + "\n" + valueA ).getBytes() );
+			// Assert
+			Assertions.assertTrue( before.isEmpty() );
+			Assertions.assertEquals( valueA + valueB + "\n", target.toString() );
+		}
+
+		@Test
+		void single_byte() throws IOException {
+			// Arrange
+			ByteArrayOutputStream target = new ByteArrayOutputStream();
+			LineBufferedOutputStream stream = new LineBufferedOutputStream( target );
+			// Act
+			stream.write( 'a' );
+			String before = target.toString();
+			stream.write( '\n' );
+			// Assert
+			Assertions.assertTrue( before.isEmpty() );
+			Assertions.assertEquals( "a\n", target.toString() );
+		}
+
+		@Test
+		void single_target_write() throws IOException {
+			// Arrange
+			AtomicInteger calls = new AtomicInteger();
+			ByteArrayOutputStream target = new ByteArrayOutputStream() {
+				@Override
+				public synchronized void write( byte[] b, int off, int len ) {
+					calls.incrementAndGet();
+					super.write( b, off, len );
+				}
+			};
+			LineBufferedOutputStream stream = new LineBufferedOutputStream( target );
+			String value = randomString() + "\n" + randomString() + "\n";
+			// Act
+			stream.write( 'x' );
+			stream.write( value.getBytes() );
+			// Assert
+			Assertions.assertEquals( 1, calls.get() );
+			Assertions.assertEquals( "x" + value, target.toString() );
+		}
+
+		@Test
+		void max_line() throws IOException {
+			// Arrange
+			ByteArrayOutputStream target = new ByteArrayOutputStream();
+			LineBufferedOutputStream stream = new LineBufferedOutputStream( target );
+			byte[] value = new byte[ LineBufferedOutputStream.MAX_LINE ];
+			// Act
+			stream.write( value );
+			// Assert
+			Assertions.assertEquals( value.length, target.size() );
+		}
+
+		@Test
+		void concurrent() throws InterruptedException {
+			// Arrange
+			int threads = 8;
+			int lines = 500;
+			ByteArrayOutputStream target = new ByteArrayOutputStream();
+			LineBufferedOutputStream stream = new LineBufferedOutputStream( target );
+			List<Thread> workers = new ArrayList<>();
+			for ( int i = 0; i < threads; i++ ) {
+				String value = randomString();
+				workers.add( new Thread( () -> {
+					for ( int j = 0; j < lines; j++ ) {
+						for ( byte b : value.getBytes() ) writeQuietly( stream, b );
+						writeQuietly( stream, '\n' );
+					}
+				} ) );
+			}
+			// Act
+			workers.forEach( Thread::start );
+			for ( Thread worker : workers ) worker.join();
+			// Assert
+			String[] output = target.toString().split( "\n" );
+			Assertions.assertEquals( threads * lines, output.length );
+			for ( String line : output ) Assertions.assertDoesNotThrow( () -> UUID.fromString( line ) );
+		}
+
+	}
+
+	@Nested
+	class flush {
+
+		@Test
+		void partial_line() throws IOException {
+			// Arrange
+			AtomicBoolean flushed = new AtomicBoolean();
+			ByteArrayOutputStream target = new ByteArrayOutputStream() {
+				@Override
+				public void flush() throws IOException {
+					flushed.set( true );
+					super.flush();
+				}
+			};
+			LineBufferedOutputStream stream = new LineBufferedOutputStream( target );
+			String value = randomString();
+			// Act
+			stream.write( value.getBytes() );
+			stream.flush();
+			// Assert
+			Assertions.assertEquals( value, target.toString() );
+			Assertions.assertTrue( flushed.get() );
+		}
+
+		@Test
+		void ended_thread() throws Exception {
+			// Arrange
+			ByteArrayOutputStream target = new ByteArrayOutputStream();
+			LineBufferedOutputStream stream = new LineBufferedOutputStream( target );
+			String value = randomString();
+			Thread child = new Thread( () -> writeQuietly( stream, value.getBytes() ) );
+			child.start();
+			child.join();
+			// Act
+			stream.flush();
+			// Assert
+			Assertions.assertEquals( value, target.toString() );
+		}
+
+		@Test
+		void other_thread_kept() throws Exception {
+			// Arrange
+			ByteArrayOutputStream target = new ByteArrayOutputStream();
+			LineBufferedOutputStream stream = new LineBufferedOutputStream( target );
+			String value = randomString();
+			CountDownLatch written = new CountDownLatch( 1 );
+			CountDownLatch flushed = new CountDownLatch( 1 );
+			Thread child = new Thread( () -> {
+				writeQuietly( stream, value.getBytes() );
+				written.countDown();
+				awaitQuietly( flushed );
+			} );
+			child.start();
+			written.await();
+			// Act
+			stream.flush();
+			// Assert
+			Assertions.assertTrue( target.toString().isEmpty() );
+			flushed.countDown();
+			child.join();
+		}
+
+	}
+
+	@Nested
+	class close {
+
+		@Test
+		void other_thread() throws Exception {
+			// Arrange
+			ByteArrayOutputStream target = new ByteArrayOutputStream();
+			LineBufferedOutputStream stream = new LineBufferedOutputStream( target );
+			String value = randomString();
+			CountDownLatch written = new CountDownLatch( 1 );
+			CountDownLatch closed = new CountDownLatch( 1 );
+			Thread child = new Thread( () -> {
+				writeQuietly( stream, value.getBytes() );
+				written.countDown();
+				awaitQuietly( closed );
+			} );
+			child.start();
+			written.await();
+			// Act
+			stream.close();
+			// Assert
+			Assertions.assertEquals( value, target.toString() );
+			closed.countDown();
+			child.join();
+		}
+
+		@Test
+		void partial_line() throws IOException {
+			// Arrange
+			AtomicBoolean closed = new AtomicBoolean();
+			ByteArrayOutputStream target = new ByteArrayOutputStream() {
+				@Override
+				public void close() throws IOException {
+					closed.set( true );
+					super.close();
+				}
+			};
+			LineBufferedOutputStream stream = new LineBufferedOutputStream( target );
+			String value = randomString();
+			// Act
+			stream.write( value.getBytes() );
+			stream.close();
+			// Assert
+			Assertions.assertEquals( value, target.toString() );
+			Assertions.assertTrue( closed.get() );
+		}
+
+	}
+
+	private static void writeQuietly( OutputStream stream, byte[] bytes ) {
+		try {
+			stream.write( bytes );
+		}
+		catch ( IOException e ) {
+			throw new IllegalStateException( e );
+		}
+	}
+
+	private static void awaitQuietly( CountDownLatch latch ) {
+		try {
+			latch.await();
+		}
+		catch ( InterruptedException e ) {
+			throw new IllegalStateException( e );
+		}
+	}
+
+	private static void writeQuietly( OutputStream stream, int value ) {
+		try {
+			stream.write( value );
+		}
+		catch ( IOException e ) {
+			throw new IllegalStateException( e );
+		}
+	}
+
+	private static String randomString() {
+		return UUID.randomUUID().toString();
+	}
+
+}
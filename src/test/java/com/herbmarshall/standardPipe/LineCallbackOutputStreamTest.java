@@ -0,0 +1,162 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+class LineCallbackOutputStreamTest {
+
+	@Nested
+	class constructor {
+
+		@Test
+		void null_callback() {
+			// Arrange
+			// Act
+			try {
+				new LineCallbackOutputStream( null, StandardCharsets.UTF_8 );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( NullPointerException ignored ) {
+			}
+		}
+
+		@Test
+		void null_charset() {
+			// Arrange
+			// Act
+			try {
+				new LineCallbackOutputStream( line -> { }, null );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( NullPointerException ignored ) {
+			}
+		}
+
+	}
+
+	@Nested
+	class write {
+
+		@Test
+		void split_lines() throws IOException {
+			// Arrange
+			List<String> lines = new ArrayList<>();
+			LineCallbackOutputStream stream = new LineCallbackOutputStream(
+				line -> lines.add( line.toString() ),
+				StandardCharsets.UTF_8
+			);
+			String valueA = randomString();
+			String valueB = randomString();
+			// Act
+			stream.write( ( valueA.substring( 0, 5 ) ).getBytes() );
+			stream.write( ( valueA.substring( 5 ) + "\n\n" + valueB + "\r\n" ).getBytes() );
+			// Assert
+			Assertions.assertEquals( List.of( valueA, "", valueB ), lines );
+		}
+
+		@Test
+		void single_byte() {
+			// Arrange
+			List<String> lines = new ArrayList<>();
+			LineCallbackOutputStream stream = new LineCallbackOutputStream(
+				line -> lines.add( line.toString() ),
+				StandardCharsets.UTF_8
+			);
+			// Act
+			stream.write( 'a' );
+			stream.write( '\n' );
+			stream.write( 'b' );
+			// Assert
+			Assertions.assertEquals( List.of( "a" ), lines );
+		}
+
+		@Test
+		void not_ascii() {
+			// Arrange
+			List<String> lines = new ArrayList<>();
+			LineCallbackOutputStream stream = new LineCallbackOutputStream(
+				line -> lines.add( line.toString() ),
+				StandardCharsets.UTF_8
+			);
+			String value = "caf\u00e9 \u65e5\u672c \ud83d\ude00".repeat( 100 );
+			byte[] bytes = ( value + "\n" ).getBytes( StandardCharsets.UTF_8 );
+			// Act
+			for ( byte b : bytes ) stream.write( b );
+			// Assert
+			Assertions.assertEquals( List.of( value ), lines );
+		}
+
+		@Test
+		void long_line() throws IOException {
+			// Arrange
+			List<String> lines = new ArrayList<>();
+			LineCallbackOutputStream stream = new LineCallbackOutputStream(
+				line -> lines.add( line.toString() ),
+				StandardCharsets.US_ASCII
+			);
+			String value = randomString().repeat( 1000 );
+			// Act
+			stream.write( ( value + "\n" ).getBytes() );
+			// Assert
+			Assertions.assertEquals( List.of( value ), lines );
+		}
+
+		@Test
+		void reused_view() throws IOException {
+			// Arrange
+			List<CharSequence> views = new ArrayList<>();
+			LineCallbackOutputStream stream = new LineCallbackOutputStream( views::add, StandardCharsets.UTF_8 );
+			// Act
+			stream.write( "a\nb\n".getBytes() );
+			// Assert
+			Assertions.assertEquals( 2, views.size() );
+			Assertions.assertSame( views.get( 0 ), views.get( 1 ) );
+		}
+
+	}
+
+	@Test
+	void finish() throws IOException {
+		// Arrange
+		List<String> lines = new ArrayList<>();
+		LineCallbackOutputStream stream = new LineCallbackOutputStream(
+			line -> lines.add( line.toString() ),
+			StandardCharsets.UTF_8
+		);
+		String value = randomString();
+		stream.write( value.getBytes() );
+		// Act
+		stream.finish();
+		stream.finish();
+		// Assert
+		Assertions.assertEquals( List.of( value ), lines );
+	}
+
+	private static String randomString() {
+		return UUID.randomUUID().toString();
+	}
+
+}
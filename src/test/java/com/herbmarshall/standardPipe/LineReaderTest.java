@@ -0,0 +1,150 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+class LineReaderTest {
+
+	@Nested
+	class read {
+
+		@Test
+		void happyPath() throws IOException {
+			// Arrange
+			String valueA = randomString();
+			String valueB = randomString();
+			List<String> lines = new ArrayList<>();
+			// Act
+			long count = new LineReader( StandardCharsets.UTF_8 )
+				.read( input( valueA + "\n" + valueB + "\n" ), line -> lines.add( line.toString() ) );
+			// Assert
+			Assertions.assertEquals( 2, count );
+			Assertions.assertEquals( List.of( valueA, valueB ), lines );
+		}
+
+		@Test
+		void carriage_return() throws IOException {
+			// Arrange
+			String value = randomString();
+			List<String> lines = new ArrayList<>();
+			// Act
+			new LineReader( StandardCharsets.UTF_8 )
+				.read( input( value + "\r\n\r\n" ), line -> lines.add( line.toString() ) );
+			// Assert
+			Assertions.assertEquals( List.of( value, "" ), lines );
+		}
+
+		@Test
+		void unterminated() throws IOException {
+			// Arrange
+			String valueA = randomString();
+			String valueB = randomString();
+			List<String> lines = new ArrayList<>();
+			// Act
+			long count = new LineReader( StandardCharsets.UTF_8 )
+				.read( input( valueA + "\n" + valueB ), line -> lines.add( line.toString() ) );
+			// Assert
+			Assertions.assertEquals( 2, count );
+			Assertions.assertEquals( List.of( valueA, valueB ), lines );
+		}
+
+		@Test
+		void empty() throws IOException {
+			// Arrange
+			List<String> lines = new ArrayList<>();
+			// Act
+			long count = new LineReader( StandardCharsets.UTF_8 )
+				.read( input( "" ), line -> lines.add( line.toString() ) );
+			// Assert
+			Assertions.assertEquals( 0, count );
+			Assertions.assertTrue( lines.isEmpty() );
+		}
+
+		@Test
+		void across_chunks() throws IOException {
+			// Arrange
+			StringBuilder text = new StringBuilder();
+			List<String> expected = new ArrayList<>();
+			while ( text.length() < LineReader.CHUNK * 3 ) {
+				String value = randomString();
+				expected.add( value );
+				text.append( value ).append( '\n' );
+			}
+			List<String> lines = new ArrayList<>();
+			// Act
+			new LineReader( StandardCharsets.UTF_8 )
+				.read( trickle( text.toString(), 1000 ), line -> lines.add( line.toString() ) );
+			// Assert
+			Assertions.assertEquals( expected, lines );
+		}
+
+		@Test
+		void longer_than_chunk() throws IOException {
+			// Arrange
+			String valueA = "x".repeat( LineReader.CHUNK * 2 + 7 );
+			String valueB = randomString();
+			List<String> lines = new ArrayList<>();
+			LineReader reader = new LineReader( StandardCharsets.UTF_8 );
+			// Act
+			reader.read( input( valueA + "\n" + valueB + "\n" ), line -> lines.add( line.toString() ) );
+			reader.read( input( valueB ), line -> lines.add( line.toString() ) );
+			// Assert
+			Assertions.assertEquals( List.of( valueA, valueB, valueB ), lines );
+		}
+
+		@Test
+		void decoded() throws IOException {
+			// Arrange
+			String value = "gr\u00fc\u00dfe \u20ac";
+			List<String> lines = new ArrayList<>();
+			// Act
+			new LineReader( StandardCharsets.UTF_8 )
+				.read( trickle( value + "\n" + value, 3 ), line -> lines.add( line.toString() ) );
+			// Assert
+			Assertions.assertEquals( List.of( value, value ), lines );
+		}
+
+	}
+
+	private InputStream input( String text ) {
+		return new ByteArrayInputStream( text.getBytes( StandardCharsets.UTF_8 ) );
+	}
+
+	/** Returns at most {@code size} bytes per read, as a pipe might. */
+	private InputStream trickle( String text, int size ) {
+		return new ByteArrayInputStream( text.getBytes( StandardCharsets.UTF_8 ) ) {
+			@Override
+			public synchronized int read( byte[] bytes, int offset, int length ) {
+				return super.read( bytes, offset, Math.min( length, size ) );
+			}
+		};
+	}
+
+	private String randomString() {
+		return UUID.randomUUID().toString();
+	}
+
+}
@@ -0,0 +1,178 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.UUID;
+
+class MappedCaptureStreamTest {
+
+	private static final int REGION = 4096;
+
+	@TempDir
+	Path directory;
+
+	@Nested
+	class constructor {
+
+		@Test
+		void null_file() throws IOException {
+			// Arrange
+			// Act
+			try {
+				new MappedCaptureStream( null );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( NullPointerException ignored ) {
+			}
+		}
+
+		@Test
+		void region_invalid() throws IOException {
+			// Arrange
+			Path file = directory.resolve( randomString() );
+			// Act
+			try {
+				new MappedCaptureStream( file, 0 );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( IllegalArgumentException e ) {
+				Assertions.assertEquals( MappedCaptureStream.regionError( 0 ), e.getMessage() );
+			}
+		}
+
+		@Test
+		void truncates_existing() throws IOException {
+			// Arrange
+			Path file = directory.resolve( randomString() );
+			Files.writeString( file, randomString() );
+			// Act
+			MappedCaptureStream stream = new MappedCaptureStream( file, REGION );
+			stream.close();
+			// Assert
+			Assertions.assertEquals( 0, Files.size( file ) );
+			Assertions.assertEquals( file, stream.file() );
+		}
+
+	}
+
+	@Nested
+	class write {
+
+		@Test
+		void across_regions() throws IOException {
+			// Arrange
+			Path file = directory.resolve( randomString() );
+			MappedCaptureStream stream = new MappedCaptureStream( file, REGION );
+			ByteArrayOutputStream expected = new ByteArrayOutputStream();
+			byte[] chunk = new byte[ 1000 ];
+			// Act
+			for ( int i = 0; i < 20; i++ ) {
+				Arrays.fill( chunk, ( byte ) i );
+				stream.write( chunk, 0, chunk.length );
+				expected.write( chunk );
+			}
+			stream.close();
+			// Assert
+			ByteBuffer[] views = stream.toByteBuffers();
+			Assertions.assertEquals( 5, views.length );
+			Assertions.assertEquals( expected.size(), stream.size() );
+			Assertions.assertEquals( expected.size(), Files.size( file ) );
+			Assertions.assertArrayEquals( expected.toByteArray(), Files.readAllBytes( file ) );
+			Assertions.assertArrayEquals( expected.toByteArray(), stream.toInputStream().readAllBytes() );
+		}
+
+		@Test
+		void views_while_open() throws IOException {
+			// Arrange
+			MappedCaptureStream stream = new MappedCaptureStream( directory.resolve( randomString() ), REGION );
+			byte[] value = new byte[ REGION * 2 + 100 ];
+			Arrays.fill( value, ( byte ) 'x' );
+			// Act
+			stream.write( value, 0, value.length );
+			ByteBuffer[] views = stream.toByteBuffers();
+			stream.close();
+			// Assert
+			Assertions.assertEquals( 3, views.length );
+			Assertions.assertArrayEquals( value, new ByteBuffersInputStream( views ).readAllBytes() );
+		}
+
+		@Test
+		void clear() throws IOException {
+			// Arrange
+			Path file = directory.resolve( randomString() );
+			MappedCaptureStream stream = new MappedCaptureStream( file, REGION );
+			String valueA = randomString();
+			String valueB = randomString();
+			// Act
+			stream.write( valueA.getBytes(), 0, valueA.length() );
+			stream.clear();
+			stream.write( valueB.getBytes(), 0, valueB.length() );
+			stream.close();
+			// Assert
+			Assertions.assertEquals( valueB, stream.toString() );
+			Assertions.assertEquals( valueB, Files.readString( file ) );
+		}
+
+		@Test
+		void as_override() throws IOException {
+			// Arrange
+			MappedCaptureStream capture = new MappedCaptureStream( directory.resolve( randomString() ), REGION );
+			Standard standard = new Standard( randomString(), new ByteArrayOutputStream() );
+			String value = randomString();
+			// Act
+			standard.withOverride( capture )
+				.execute( () -> standard.println( value ) );
+			capture.close();
+			// Assert
+			Assertions.assertEquals( value + "\n", capture.toCharSequence().toString() );
+			Assertions.assertEquals( value + "\n", Files.readString( capture.file() ) );
+		}
+
+		@Test
+		void after_close() throws IOException {
+			// Arrange
+			MappedCaptureStream stream = new MappedCaptureStream( directory.resolve( randomString() ), REGION );
+			stream.close();
+			// Act
+			try {
+				stream.write( 'a' );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( IOException e ) {
+				Assertions.assertEquals( SegmentedCaptureStream.closedError(), e.getMessage() );
+			}
+		}
+
+	}
+
+	private static String randomString() {
+		return UUID.randomUUID().toString();
+	}
+
+}
@@ -20,7 +20,10 @@ import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -190,6 +193,65 @@ class OverridePlanTest {
 
 	}
 
+	@Nested
+	class execute_scope {
+
+		@Test
+		void concurrent() throws InterruptedException {
+			// Arrange
+			int threads = 100;
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			DivergingOutputStream pipe = buildDivergingStream( normal );
+			CountDownLatch running = new CountDownLatch( threads );
+			List<ByteArrayOutputStream> overrides = new ArrayList<>();
+			List<String> values = new ArrayList<>();
+			List<Thread> workers = new ArrayList<>();
+			for ( int i = 0; i < threads; i++ ) {
+				ByteArrayOutputStream override = new ByteArrayOutputStream();
+				String value = randomString();
+				OverridePlan plan = new OverridePlan( pipe, override, OverrideScope.THREAD );
+				overrides.add( override );
+				values.add( value );
+				workers.add( new Thread( () -> plan.execute( () -> {
+					running.countDown();
+					awaitQuietly( running );
+					pipe.print( value );
+				} ) ) );
+			}
+			// Act
+			workers.forEach( Thread::start );
+			for ( Thread worker : workers ) worker.join();
+			// Assert
+			Assertions.assertTrue( normal.toString().isEmpty() );
+			for ( int i = 0; i < threads; i++ )
+				Assertions.assertEquals( values.get( i ), overrides.get( i ).toString() );
+		}
+
+		@Test
+		void null_scope() {
+			// Arrange
+			DivergingOutputStream pipe = buildDivergingStream();
+			// Act
+			try {
+				new OverridePlan( pipe, new ByteArrayOutputStream(), null );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( NullPointerException ignored ) {
+			}
+		}
+
+		private void awaitQuietly( CountDownLatch latch ) {
+			try {
+				latch.await();
+			}
+			catch ( InterruptedException e ) {
+				throw new IllegalStateException( e );
+			}
+		}
+
+	}
+
 	private DivergingOutputStream buildDivergingStream() {
 		return buildDivergingStream( new ByteArrayOutputStream() );
 	}
@@ -0,0 +1,250 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+class PublishingOutputStreamTest {
+
+	private static final Duration WAIT = Duration.ofMillis( 50 );
+
+	@Nested
+	class chunks {
+
+		@Test
+		void happyPath() throws Exception {
+			// Arrange
+			PublishingOutputStream<ByteBuffer> stream = PublishingOutputStream.chunks(
+				8,
+				16,
+				OverflowPolicy.BLOCK,
+				WAIT
+			);
+			Collector<ByteBuffer> collector = new Collector<>( Long.MAX_VALUE );
+			stream.subscribe( collector );
+			String value = randomString();
+			// Act
+			stream.write( value.getBytes() );
+			stream.close();
+			// Assert
+			collector.await();
+			ByteArrayOutputStream joined = new ByteArrayOutputStream();
+			for ( ByteBuffer chunk : collector.items ) {
+				Assertions.assertTrue( chunk.isReadOnly() );
+				Assertions.assertTrue( chunk.remaining() <= 8 );
+				byte[] bytes = new byte[ chunk.remaining() ];
+				chunk.get( bytes );
+				joined.write( bytes );
+			}
+			Assertions.assertEquals( value, joined.toString() );
+		}
+
+		@Test
+		void bad_chunk_size() {
+			// Arrange
+			int size = 0;
+			// Act
+			try {
+				PublishingOutputStream.chunks( size, 16, OverflowPolicy.BLOCK, WAIT );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( IllegalArgumentException e ) {
+				Assertions.assertEquals( PublishingOutputStream.chunkError( size ), e.getMessage() );
+			}
+		}
+
+		@Test
+		void bad_lag() {
+			// Arrange
+			int lag = 0;
+			// Act
+			try {
+				PublishingOutputStream.chunks( 8, lag, OverflowPolicy.BLOCK, WAIT );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( IllegalArgumentException e ) {
+				Assertions.assertEquals( PublishingOutputStream.lagError( lag ), e.getMessage() );
+			}
+		}
+
+		@Test
+		void drop_oldest() {
+			// Arrange
+			OverflowPolicy policy = OverflowPolicy.DROP_OLDEST;
+			// Act
+			try {
+				PublishingOutputStream.chunks( 8, 16, policy, WAIT );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( IllegalArgumentException e ) {
+				Assertions.assertEquals( PublishingOutputStream.policyError( policy ), e.getMessage() );
+			}
+		}
+
+	}
+
+	@Nested
+	class lines {
+
+		@Test
+		void happyPath() throws Exception {
+			// Arrange
+			PublishingOutputStream<String> stream = PublishingOutputStream.lines(
+				StandardCharsets.UTF_8,
+				16,
+				OverflowPolicy.BLOCK,
+				WAIT
+			);
+			Collector<String> collector = new Collector<>( Long.MAX_VALUE );
+			stream.subscribe( collector );
+			String valueA = randomString();
+			String valueB = randomString();
+			// Act
+			stream.write( ( valueA + "\n" + valueB ).getBytes() );
+			stream.close();
+			// Assert
+			collector.await();
+			Assertions.assertEquals( List.of( valueA, valueB ), collector.items );
+		}
+
+		@Test
+		void override() throws Exception {
+			// Arrange
+			Standard standard = new Standard( randomString(), new ByteArrayOutputStream() );
+			PublishingOutputStream<String> stream = PublishingOutputStream.lines(
+				StandardCharsets.UTF_8,
+				16,
+				OverflowPolicy.BLOCK,
+				WAIT
+			);
+			Collector<String> collector = new Collector<>( Long.MAX_VALUE );
+			stream.subscribe( collector );
+			String value = randomString();
+			// Act
+			standard.withOverride( stream ).execute( () -> standard.println( value ) );
+			stream.close();
+			// Assert
+			collector.await();
+			Assertions.assertEquals( List.of( value ), collector.items );
+		}
+
+	}
+
+	@Nested
+	class lagging {
+
+		@Test
+		void drop_newest() throws IOException {
+			// Arrange
+			PublishingOutputStream<ByteBuffer> stream = PublishingOutputStream.chunks(
+				1,
+				1,
+				OverflowPolicy.DROP_NEWEST,
+				WAIT
+			);
+			Collector<ByteBuffer> collector = new Collector<>( 0 );
+			stream.subscribe( collector );
+			int count = 64;
+			// Act
+			for ( int i = 0; i < count; i++ ) stream.write( 'x' );
+			// Assert
+			Assertions.assertTrue( stream.droppedItems() > 0 );
+			Assertions.assertTrue( stream.maxLag() <= count - stream.droppedItems() );
+			stream.close();
+		}
+
+		@Test
+		void block_bounded() throws IOException {
+			// Arrange
+			PublishingOutputStream<ByteBuffer> stream = PublishingOutputStream.chunks(
+				1,
+				1,
+				OverflowPolicy.BLOCK,
+				WAIT
+			);
+			Collector<ByteBuffer> collector = new Collector<>( 0 );
+			stream.subscribe( collector );
+			int count = 4;
+			// Act
+			long start = System.nanoTime();
+			for ( int i = 0; i < count; i++ ) stream.write( 'x' );
+			long elapsed = System.nanoTime() - start;
+			// Assert
+			Assertions.assertTrue( stream.droppedItems() > 0 );
+			Assertions.assertTrue( elapsed < TimeUnit.SECONDS.toNanos( 10 ) );
+			stream.close();
+		}
+
+	}
+
+	private static String randomString() {
+		return UUID.randomUUID().toString();
+	}
+
+	/** Requests {@code demand} items up front, and collects them. */
+	private static final class Collector<T> implements Flow.Subscriber<T> {
+
+		private final List<T> items = new CopyOnWriteArrayList<>();
+		private final CountDownLatch completed = new CountDownLatch( 1 );
+		private final long demand;
+
+		Collector( long demand ) {
+			this.demand = demand;
+		}
+
+		@Override
+		public void onSubscribe( Flow.Subscription subscription ) {
+			if ( demand > 0 ) subscription.request( demand );
+		}
+
+		@Override
+		public void onNext( T item ) {
+			items.add( item );
+		}
+
+		@Override
+		public void onError( Throwable throwable ) {
+			completed.countDown();
+		}
+
+		@Override
+		public void onComplete() {
+			completed.countDown();
+		}
+
+		void await() throws InterruptedException {
+			Assertions.assertTrue( completed.await( 10, TimeUnit.SECONDS ) );
+		}
+
+	}
+
+}
@@ -0,0 +1,263 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+class StandardInputTest {
+
+	@Nested
+	class lines {
+
+		@Test
+		void happyPath() {
+			// Arrange
+			String valueA = randomString();
+			String valueB = randomString();
+			StandardInput standard = buildStandard( valueA + "\n" + valueB + "\n" );
+			List<String> lines = new ArrayList<>();
+			// Act
+			long count = standard.lines( line -> lines.add( line.toString() ) );
+			// Assert
+			Assertions.assertEquals( 2, count );
+			Assertions.assertEquals( List.of( valueA, valueB ), lines );
+		}
+
+		@Test
+		void failing_pipe() {
+			// Arrange
+			IOException failure = new IOException( randomString() );
+			StandardInput standard = new StandardInput( randomString(), new InputStream() {
+				@Override
+				public int read() throws IOException {
+					throw failure;
+				}
+			} );
+			// Act
+			try {
+				standard.lines( line -> { } );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( UncheckedIOException e ) {
+				Assertions.assertSame( failure, e.getCause() );
+			}
+		}
+
+		@Test
+		void null_callback() {
+			// Arrange
+			StandardInput standard = buildStandard( randomString() );
+			// Act
+			try {
+				standard.lines( null );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( NullPointerException ignored ) {
+			}
+		}
+
+		@Test
+		void allocation_free() {
+			// Arrange
+			byte[] lines = ( randomString() + "\n" ).repeat( 1000 ).getBytes();
+			ByteArrayInputStream input = new ByteArrayInputStream( lines );
+			StandardInput standard = new StandardInput( randomString(), input );
+			long[] total = new long[ 1 ];
+			Consumer<CharSequence> callback = line -> total[ 0 ] += line.length();
+			com.sun.management.ThreadMXBean threads =
+				( com.sun.management.ThreadMXBean ) ManagementFactory.getThreadMXBean();
+			int passes = 1000;
+			long perPass = Long.MAX_VALUE;
+			// Act
+			for ( int round = 0; round < 50 && perPass > 0; round++ ) {
+				long before = threads.getCurrentThreadAllocatedBytes();
+				for ( int i = 0; i < passes; i++ ) {
+					input.reset();
+					standard.lines( callback );
+				}
+				perPass = ( threads.getCurrentThreadAllocatedBytes() - before ) / passes;
+			}
+			// Assert
+			Assertions.assertEquals( 0, perPass );
+		}
+
+	}
+
+	@Nested
+	class withInput {
+
+		@Test
+		void happyPath() {
+			// Arrange
+			String normal = randomString();
+			String value = randomString();
+			StandardInput standard = buildStandard( normal );
+			List<String> lines = new ArrayList<>();
+			// Act
+			standard.withInput( value )
+				.execute( () -> standard.lines( line -> lines.add( line.toString() ) ) );
+			standard.lines( line -> lines.add( line.toString() ) );
+			// Assert
+			Assertions.assertEquals( List.of( value, normal ), lines );
+		}
+
+		@Test
+		void supplier() {
+			// Arrange
+			String value = randomString();
+			StandardInput standard = buildStandard( randomString() );
+			// Act
+			String output = standard.withInput( new ByteArrayInputStream( value.getBytes() ) )
+				.execute( () -> readAll( standard.toStream() ) );
+			// Assert
+			Assertions.assertEquals( value, output );
+		}
+
+		@Test
+		void nested() {
+			// Arrange
+			String valueA = randomString();
+			String valueB = randomString();
+			StandardInput standard = buildStandard( randomString() );
+			List<String> lines = new ArrayList<>();
+			// Act
+			standard.withInput( valueA ).execute( () -> {
+				standard.withInput( valueB )
+					.execute( () -> standard.lines( line -> lines.add( line.toString() ) ) );
+				standard.lines( line -> lines.add( line.toString() ) );
+			} );
+			// Assert
+			Assertions.assertEquals( List.of( valueB, valueA ), lines );
+		}
+
+		@Test
+		void scope() throws Exception {
+			// Arrange
+			String normal = randomString();
+			String value = randomString();
+			StandardInput standard = buildStandard( normal );
+			String[] other = new String[ 1 ];
+			Thread thread = new Thread( () -> other[ 0 ] = readAll( standard.toStream() ) );
+			// Act
+			String output = standard.withInput( new ByteArrayInputStream( value.getBytes() ), OverrideScope.THREAD )
+				.execute( () -> {
+					thread.start();
+					join( thread );
+					return readAll( standard.toStream() );
+				} );
+			// Assert
+			Assertions.assertEquals( value, output );
+			Assertions.assertEquals( normal, other[ 0 ] );
+		}
+
+		@Test
+		void null_stream() {
+			// Arrange
+			StandardInput standard = buildStandard( randomString() );
+			// Act
+			try {
+				standard.withInput( ( InputStream ) null );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( NullPointerException ignored ) {
+			}
+		}
+
+	}
+
+	@Nested
+	class withCharset {
+
+		@Test
+		void happyPath() {
+			// Arrange
+			String value = "gr\u00fc\u00dfe";
+			byte[] encoded = value.getBytes( StandardCharsets.UTF_8 );
+			StandardInput utf8 = new StandardInput(
+				randomString(),
+				new ByteArrayInputStream( encoded ),
+				StandardCharsets.UTF_8
+			);
+			StandardInput latin = utf8.withCharset( StandardCharsets.ISO_8859_1 );
+			List<String> lines = new ArrayList<>();
+			// Act
+			latin.lines( line -> lines.add( line.toString() ) );
+			latin.withInput( value ).execute( () -> latin.lines( line -> lines.add( line.toString() ) ) );
+			// Assert
+			Assertions.assertEquals( StandardCharsets.ISO_8859_1, latin.charset() );
+			Assertions.assertEquals( List.of( new String( encoded, StandardCharsets.ISO_8859_1 ), value ), lines );
+		}
+
+	}
+
+	@Nested
+	class toDefaultStream {
+
+		@Test
+		void happyPath() {
+			// Arrange
+			InputStream pipe = new ByteArrayInputStream( new byte[ 0 ] );
+			StandardInput standard = new StandardInput( randomString(), pipe );
+			// Act
+			InputStream output = standard.toDefaultStream();
+			// Assert
+			Assertions.assertSame( pipe, output );
+		}
+
+	}
+
+	private StandardInput buildStandard( String content ) {
+		return new StandardInput( randomString(), new ByteArrayInputStream( content.getBytes() ) );
+	}
+
+	private String readAll( InputStream stream ) {
+		try {
+			return new String( stream.readAllBytes() );
+		}
+		catch ( IOException e ) {
+			throw new UncheckedIOException( e );
+		}
+	}
+
+	private void join( Thread thread ) {
+		try {
+			thread.join();
+		}
+		catch ( InterruptedException e ) {
+			throw new IllegalStateException( e );
+		}
+	}
+
+	private String randomString() {
+		return UUID.randomUUID().toString();
+	}
+
+}
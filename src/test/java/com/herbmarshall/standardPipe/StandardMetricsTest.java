@@ -0,0 +1,179 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+class StandardMetricsTest {
+
+	@Test
+	void writes() throws IOException {
+		// Arrange
+		Standard standard = new Standard( randomString(), new ByteArrayOutputStream() );
+		String value = randomString();
+		int count = StandardMetrics.SAMPLE_RATE * 16;
+		// Act
+		for ( int i = 0; i < count; i++ ) standard.print( value );
+		standard.toStream().flush();
+		// Assert
+		StandardMetrics metrics = standard.metrics();
+		Assertions.assertEquals( count, metrics.getWriteCount() );
+		Assertions.assertEquals( ( long ) count * value.length(), metrics.getBytesWritten() );
+		Assertions.assertEquals( 1, metrics.getFlushCount() );
+		Assertions.assertTrue( Arrays.stream( metrics.getWriteLatencyHistogram() ).sum() > 0 );
+		Assertions.assertTrue( metrics.getWriteLatencyP50Nanos() > 0 );
+		Assertions.assertTrue( metrics.getWriteLatencyP50Nanos() <= metrics.getWriteLatencyP999Nanos() );
+	}
+
+	@Test
+	void ended_threads() throws InterruptedException {
+		// Arrange
+		Standard standard = new Standard( randomString(), new ByteArrayOutputStream() );
+		String value = randomString();
+		int threads = 32;
+		// Act
+		for ( int i = 0; i < threads; i++ ) {
+			Thread thread = new Thread( () -> standard.print( value ) );
+			thread.start();
+			thread.join();
+		}
+		// Assert
+		StandardMetrics metrics = standard.metrics();
+		Assertions.assertEquals( threads, metrics.getWriteCount() );
+		Assertions.assertEquals( ( long ) threads * value.length(), metrics.getBytesWritten() );
+	}
+
+	@Test
+	void overrides() {
+		// Arrange
+		Standard standard = new Standard( randomString(), new ByteArrayOutputStream() );
+		StandardMetrics metrics = standard.metrics();
+		long[] active = new long[ 2 ];
+		// Act
+		standard.withOverride( new ByteArrayOutputStream() )
+			.execute( () -> active[ 0 ] = metrics.getActiveOverrides() );
+		standard.withOverride( new ByteArrayOutputStream(), OverrideScope.THREAD )
+			.execute( () -> active[ 1 ] = metrics.getActiveOverrides() );
+		// Assert
+		Assertions.assertArrayEquals( new long[] { 1, 1 }, active );
+		Assertions.assertEquals( 2, metrics.getOverrideCount() );
+		Assertions.assertEquals( 0, metrics.getActiveOverrides() );
+		Assertions.assertTrue( metrics.getOverrideNanos() > 0 );
+	}
+
+	@Test
+	void empty_percentile() {
+		// Arrange
+		Standard standard = new Standard( randomString(), new ByteArrayOutputStream() );
+		// Act
+		long p99 = standard.metrics().getWriteLatencyP99Nanos();
+		// Assert
+		Assertions.assertEquals( 0, p99 );
+	}
+
+	@Nested
+	class register {
+
+		@Test
+		void happyPath() throws Exception {
+			// Arrange
+			String name = randomString();
+			StandardMetrics metrics = new Standard( name, new ByteArrayOutputStream() ).metrics();
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			// Act
+			metrics.register();
+			Object attribute = server.getAttribute( metrics.objectName(), "Name" );
+			metrics.unregister();
+			// Assert
+			Assertions.assertEquals( name, attribute );
+			Assertions.assertFalse( server.isRegistered( metrics.objectName() ) );
+		}
+
+		@Test
+		void duplicate() {
+			// Arrange
+			String name = randomString();
+			StandardMetrics metricsA = new Standard( name, new ByteArrayOutputStream() ).metrics();
+			StandardMetrics metricsB = new Standard( name, new ByteArrayOutputStream() ).metrics();
+			metricsA.register();
+			// Act
+			try {
+				metricsB.register();
+				Assertions.fail();
+			}
+			// Assert
+			catch ( IllegalStateException e ) {
+				Assertions.assertEquals( StandardMetrics.registerError( name ), e.getMessage() );
+			}
+			finally {
+				metricsA.unregister();
+			}
+		}
+
+		@Test
+		void derived() throws IOException {
+			// Arrange
+			String name = randomString();
+			Standard standard = new Standard( name, new ByteArrayOutputStream() );
+			Standard async = standard.async( AsyncOutputStream.SLOT_SIZE, OverflowPolicy.BLOCK );
+			Standard sink = standard.withSink(
+				new ByteArrayOutputStream(),
+				AsyncOutputStream.SLOT_SIZE,
+				OverflowPolicy.BLOCK
+			);
+			List<Standard> standards = List.of(
+				standard,
+				standard.withCharset( StandardCharsets.UTF_16BE ),
+				async,
+				standard.lineBuffered(),
+				standard.throttled( ThrottledOutputStream.UNLIMITED, 1, ThrottlePolicy.DROP ),
+				standard.deduplicated( Duration.ofSeconds( 1 ) ),
+				sink
+			);
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			// Act
+			try {
+				for ( Standard each : standards ) each.metrics().register();
+				// Assert
+				for ( Standard each : standards )
+					Assertions.assertTrue( server.isRegistered( each.metrics().objectName() ) );
+				Assertions.assertEquals( name + "/async", async.metrics().getName() );
+			}
+			finally {
+				for ( Standard each : standards ) each.metrics().unregister();
+				async.toDefaultStream().close();
+				sink.toDefaultStream().close();
+			}
+		}
+
+	}
+
+	private static String randomString() {
+		return UUID.randomUUID().toString();
+	}
+
+}
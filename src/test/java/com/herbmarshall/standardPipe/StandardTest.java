@@ -19,13 +19,23 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 
 class StandardTest {
 
+	private static final String LINE = System.lineSeparator();
+
 	@Nested
 	class constructor {
 
@@ -157,6 +167,205 @@ class StandardTest {
 
 	}
 
+	@Nested
+	class print_number {
+
+		@Test
+		void integers() {
+			// Arrange
+			ByteArrayOutputStream pipe = new ByteArrayOutputStream();
+			Standard standard = buildStandard( pipe );
+			// Act
+			standard.print( 0 );
+			standard.print( ' ' );
+			standard.print( -42 );
+			standard.print( ' ' );
+			standard.println( Integer.MAX_VALUE );
+			standard.print( Long.MIN_VALUE );
+			standard.print( ' ' );
+			standard.println( Long.MAX_VALUE );
+			// Assert
+			Assertions.assertEquals(
+				"0 -42 " + Integer.MAX_VALUE + "\n" + Long.MIN_VALUE + " " + Long.MAX_VALUE + "\n",
+				pipe.toString()
+			);
+		}
+
+		@Test
+		void doubles() {
+			// Arrange
+			ByteArrayOutputStream pipe = new ByteArrayOutputStream();
+			Standard standard = buildStandard( pipe );
+			double[] values = {
+				0.0, -0.0, 12.0, -12.0, 0.25, 9_999_999.0, 1.0E7, Double.NaN, Double.NEGATIVE_INFINITY
+			};
+			StringBuilder expected = new StringBuilder();
+			// Act
+			for ( double value : values ) {
+				standard.println( value );
+				expected.append( value ).append( '\n' );
+			}
+			// Assert
+			Assertions.assertEquals( expected.toString(), pipe.toString() );
+		}
+
+		@Test
+		void using_override() {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			ByteArrayOutputStream override = new ByteArrayOutputStream();
+			Standard standard = buildStandard( normal );
+			// Act
+			standard.println( 1 );
+			standard.withOverride( override )
+				.execute( () -> standard.println( 2L ) );
+			standard.println( 3.0 );
+			// Assert
+			Assertions.assertEquals( "1\n3.0\n", normal.toString() );
+			Assertions.assertEquals( "2\n", override.toString() );
+		}
+
+	}
+
+	@Nested
+	class print_text {
+
+		@Test
+		void characters() {
+			// Arrange
+			ByteArrayOutputStream pipe = new ByteArrayOutputStream();
+			Standard standard = buildStandard( pipe );
+			// Act
+			standard.print( 'a' );
+			standard.println( '\u00e9' );
+			// Assert
+			Assertions.assertArrayEquals( "a\u00e9\n".getBytes(), pipe.toByteArray() );
+		}
+
+		@Test
+		void char_array() {
+			// Arrange
+			ByteArrayOutputStream pipe = new ByteArrayOutputStream();
+			Standard standard = buildStandard( pipe );
+			char[] value = randomString().toCharArray();
+			// Act
+			standard.print( value, 2, 5 );
+			standard.println( value, 0, value.length );
+			// Assert
+			Assertions.assertEquals(
+				new String( value, 2, 5 ) + new String( value ) + "\n",
+				pipe.toString()
+			);
+		}
+
+		@Test
+		void char_array_range() {
+			// Arrange
+			Standard standard = buildStandard( new ByteArrayOutputStream() );
+			// Act
+			try {
+				standard.print( new char[ 4 ], 3, 2 );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( IndexOutOfBoundsException ignored ) {
+			}
+		}
+
+		@Test
+		void char_sequence() {
+			// Arrange
+			ByteArrayOutputStream pipe = new ByteArrayOutputStream();
+			Standard standard = buildStandard( pipe );
+			StringBuilder value = new StringBuilder( randomString() );
+			// Act
+			standard.print( value );
+			standard.println( value, 1, 4 );
+			standard.println( ( CharSequence ) null );
+			// Assert
+			Assertions.assertEquals( value + value.substring( 1, 4 ) + "\nnull\n", pipe.toString() );
+		}
+
+		@Test
+		void char_sequence_long() {
+			// Arrange
+			ByteArrayOutputStream pipe = new ByteArrayOutputStream();
+			Standard standard = buildStandard( pipe );
+			String value = randomString().repeat( 100 );
+			// Act
+			standard.println( new StringBuilder( value ) );
+			// Assert
+			Assertions.assertEquals( value + "\n", pipe.toString() );
+		}
+
+		@Test
+		void char_sequence_not_ascii() {
+			// Arrange
+			ByteArrayOutputStream pipe = new ByteArrayOutputStream();
+			Standard standard = buildStandard( pipe );
+			StringBuilder value = new StringBuilder( "\u00e9t\u00e9 \u65e5\u672c" );
+			// Act
+			standard.println( value );
+			// Assert
+			Assertions.assertArrayEquals( ( value + "\n" ).getBytes(), pipe.toByteArray() );
+		}
+
+	}
+
+	@Nested
+	class write {
+
+		@Test
+		void using_default() {
+			// Arrange
+			ByteArrayOutputStream pipe = new ByteArrayOutputStream();
+			Standard standard = buildStandard( pipe );
+			String value = randomString();
+			ByteBuffer buffer = ByteBuffer.wrap( value.getBytes() );
+			// Act
+			standard.write( buffer );
+			// Assert
+			Assertions.assertEquals( value, pipe.toString() );
+			Assertions.assertFalse( buffer.hasRemaining() );
+		}
+
+		@Test
+		void using_override() {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			ByteArrayOutputStream override = new ByteArrayOutputStream();
+
+			Standard standard = buildStandard( normal );
+
+			String valueA = randomString();
+			String valueB = randomString();
+			String valueC = randomString();
+			// Act
+			standard.write( ByteBuffer.wrap( valueA.getBytes() ) );
+			standard.withOverride( override )
+				.execute( () -> standard.write( ByteBuffer.wrap( valueB.getBytes() ) ) );
+			standard.write( ByteBuffer.wrap( valueC.getBytes() ) );
+			// Assert
+			Assertions.assertEquals( valueA + valueC, normal.toString() );
+			Assertions.assertEquals( valueB, override.toString() );
+		}
+
+		@Test
+		void buffer_null() {
+			// Arrange
+			Standard standard = buildStandard( new ByteArrayOutputStream() );
+			// Act
+			try {
+				standard.write( null );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( NullPointerException ignored ) {
+			}
+		}
+
+	}
+
 	@Nested
 	class toStream {
 
@@ -245,27 +454,25 @@ class StandardTest {
 		}
 
 		@Test
-		void double_call() {
+		void nested() {
 			// Arrange
-			String name = randomString();
+			ByteArrayOutputStream outer = new ByteArrayOutputStream();
+			ByteArrayOutputStream inner = new ByteArrayOutputStream();
 			Standard standard = new Standard(
-				name,
+				randomString(),
 				new PrintStream( new ByteArrayOutputStream() )
 			);
-			standard.override( new ByteArrayOutputStream() );
-			ByteArrayOutputStream override = new ByteArrayOutputStream();
+			String valueA = randomString();
+			String valueB = randomString();
 			// Act
-			try {
-				standard.override( override );
-				Assertions.fail();
-			}
+			standard.override( outer );
+			standard.override( inner );
+			standard.print( valueA );
+			standard.reset();
+			standard.print( valueB );
 			// Assert
-			catch ( IllegalStateException e ) {
-				Assertions.assertEquals(
-					DivergingOutputStream.doubleOverrideError( name ),
-					e.getMessage()
-				);
-			}
+			Assertions.assertEquals( valueB, outer.toString() );
+			Assertions.assertEquals( valueA, inner.toString() );
 		}
 
 	}
@@ -343,49 +550,39 @@ class StandardTest {
 		}
 
 		@Test
-		void double_override() {
+		void nested_override() {
 			// Arrange
-			String name = randomString();
-
 			ByteArrayOutputStream stream = new ByteArrayOutputStream();
+			ByteArrayOutputStream streamB = new ByteArrayOutputStream();
 			PrintStream normal = new PrintStream( stream );
 			PrintStream overrideA = new PrintStream( new ByteArrayOutputStream() );
-			PrintStream overrideB = new PrintStream( new ByteArrayOutputStream() );
+			PrintStream overrideB = new PrintStream( streamB );
 
-			Standard standard = new Standard( name, normal );
+			Standard standard = new Standard( randomString(), normal );
 
 			String valueA = randomString();
 			String valueB = randomString();
 			// Act
 			standard.print( valueA );
-			try {
-				standard.override( overrideA, pipe ->
-					standard.override( overrideB )
-				);
-				Assertions.fail();
-			}
-			catch ( IllegalStateException e ) {
-				Assertions.assertEquals(
-					DivergingOutputStream.doubleOverrideError( name ),
-					e.getMessage()
-				);
-			}
+			standard.override( overrideA, pipe ->
+				standard.override( overrideB )
+			);
 			standard.print( valueB );
+			standard.reset();
 			// Assert
-			Assertions.assertEquals( valueA + valueB, stream.toString() );
+			Assertions.assertEquals( valueA, stream.toString() );
+			Assertions.assertEquals( valueB, streamB.toString() );
 		}
 
 		@Test
-		void double_call() {
+		void nested_call() {
 			// Arrange
-			String name = randomString();
-
 			ByteArrayOutputStream stream = new ByteArrayOutputStream();
 			PrintStream normal = new PrintStream( stream );
 			PrintStream overrideA = new PrintStream( new ByteArrayOutputStream() );
 			PrintStream overrideB = new PrintStream( new ByteArrayOutputStream() );
 
-			Standard standard = new Standard( name, normal );
+			Standard standard = new Standard( randomString(), normal );
 
 			String valueA = randomString();
 			String valueB = randomString();
@@ -397,11 +594,7 @@ class StandardTest {
 				);
 				Assertions.fail();
 			}
-			catch ( IllegalStateException e ) {
-				Assertions.assertEquals(
-					DivergingOutputStream.doubleOverrideError( name ),
-					e.getMessage()
-				);
+			catch ( UnsupportedOperationException ignored ) {
 			}
 			standard.print( valueB );
 			// Assert
@@ -453,27 +646,25 @@ class StandardTest {
 		}
 
 		@Test
-		void double_call() {
+		void nested() {
 			// Arrange
-			String name = randomString();
+			ByteArrayOutputStream outer = new ByteArrayOutputStream();
+			ByteArrayOutputStream inner = new ByteArrayOutputStream();
 			Standard standard = new Standard(
-				name,
+				randomString(),
 				new PrintStream( new ByteArrayOutputStream() )
 			);
-			standard.override( new PrintStream( new ByteArrayOutputStream() ) );
-			PrintStream override = new PrintStream( new ByteArrayOutputStream() );
+			String valueA = randomString();
+			String valueB = randomString();
 			// Act
-			try {
-				standard.override( override );
-				Assertions.fail();
-			}
+			standard.override( new PrintStream( outer ) );
+			standard.override( new PrintStream( inner ) );
+			standard.print( valueA );
+			standard.reset();
+			standard.print( valueB );
 			// Assert
-			catch ( IllegalStateException e ) {
-				Assertions.assertEquals(
-					DivergingOutputStream.doubleOverrideError( name ),
-					e.getMessage()
-				);
-			}
+			Assertions.assertEquals( valueB, outer.toString() );
+			Assertions.assertEquals( valueA, inner.toString() );
 		}
 
 	}
@@ -555,49 +746,39 @@ class StandardTest {
 		}
 
 		@Test
-		void double_override() {
+		void nested_override() {
 			// Arrange
-			String name = randomString();
-
 			ByteArrayOutputStream stream = new ByteArrayOutputStream();
+			ByteArrayOutputStream streamB = new ByteArrayOutputStream();
 			PrintStream normal = new PrintStream( stream );
 			PrintStream overrideA = new PrintStream( new ByteArrayOutputStream() );
-			PrintStream overrideB = new PrintStream( new ByteArrayOutputStream() );
+			PrintStream overrideB = new PrintStream( streamB );
 
-			Standard standard = new Standard( name, normal );
+			Standard standard = new Standard( randomString(), normal );
 
 			String valueA = randomString();
 			String valueB = randomString();
 			// Act
 			standard.print( valueA );
-			try {
-				standard.override( overrideA, pipe ->
-					standard.override( overrideB )
-				);
-				Assertions.fail();
-			}
-			catch ( IllegalStateException e ) {
-				Assertions.assertEquals(
-					DivergingOutputStream.doubleOverrideError( name ),
-					e.getMessage()
-				);
-			}
+			standard.override( overrideA, pipe ->
+				standard.override( overrideB )
+			);
 			standard.print( valueB );
+			standard.reset();
 			// Assert
-			Assertions.assertEquals( valueA + valueB, stream.toString() );
+			Assertions.assertEquals( valueA, stream.toString() );
+			Assertions.assertEquals( valueB, streamB.toString() );
 		}
 
 		@Test
-		void double_call() {
+		void nested_call() {
 			// Arrange
-			String name = randomString();
-
 			ByteArrayOutputStream stream = new ByteArrayOutputStream();
 			PrintStream normal = new PrintStream( stream );
 			PrintStream overrideA = new PrintStream( new ByteArrayOutputStream() );
 			PrintStream overrideB = new PrintStream( new ByteArrayOutputStream() );
 
-			Standard standard = new Standard( name, normal );
+			Standard standard = new Standard( randomString(), normal );
 
 			String valueA = randomString();
 			String valueB = randomString();
@@ -609,11 +790,7 @@ class StandardTest {
 				);
 				Assertions.fail();
 			}
-			catch ( IllegalStateException e ) {
-				Assertions.assertEquals(
-					DivergingOutputStream.doubleOverrideError( name ),
-					e.getMessage()
-				);
+			catch ( UnsupportedOperationException ignored ) {
 			}
 			standard.print( valueB );
 			// Assert
@@ -687,14 +864,573 @@ class StandardTest {
 
 	}
 
-	@Test
-	void standardOut() {
-		Standard.out.println( "Standard Out" );
+	@Nested
+	class withOverride_scope {
+
+		@Test
+		void happyPath() throws InterruptedException {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			ByteArrayOutputStream override = new ByteArrayOutputStream();
+
+			Standard standard = buildStandard( normal );
+
+			String valueA = randomString();
+			String valueB = randomString();
+			Thread other = new Thread( () -> standard.print( valueB ) );
+			// Act
+			standard.withOverride( override, OverrideScope.THREAD )
+				.execute( () -> {
+					standard.print( valueA );
+					other.start();
+				} );
+			other.join();
+			// Assert
+			Assertions.assertEquals( valueB, normal.toString() );
+			Assertions.assertEquals( valueA, override.toString() );
+		}
+
+		@Test
+		void null_scope() {
+			// Arrange
+			Standard pipe = buildStandard( new ByteArrayOutputStream() );
+			// Act
+			try {
+				pipe.withOverride( new ByteArrayOutputStream(), null );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( NullPointerException ignored ) {
+			}
+		}
+
 	}
 
-	@Test
-	void standardErr() {
-		Standard.err.println( "Standard ERR" );
+	@Nested
+	class withOverride_nesting {
+
+		@Test
+		void happyPath() {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			ByteArrayOutputStream outer = new ByteArrayOutputStream();
+			ByteArrayOutputStream inner = new ByteArrayOutputStream();
+
+			Standard standard = buildStandard( normal );
+
+			String valueA = randomString();
+			String valueB = randomString();
+			String valueC = randomString();
+			// Act
+			standard.withOverride( outer ).execute( () -> {
+				standard.print( valueA );
+				standard.withOverride( inner, OverrideScope.GLOBAL, NestingPolicy.BUBBLE )
+					.execute( () -> standard.print( valueB ) );
+				standard.print( valueC );
+			} );
+			// Assert
+			Assertions.assertTrue( normal.toString().isEmpty() );
+			Assertions.assertEquals( valueA + valueB + valueC, outer.toString() );
+			Assertions.assertEquals( valueB, inner.toString() );
+		}
+
+		@Test
+		void capture_in_capture() {
+			// Arrange
+			Standard standard = buildStandard( new ByteArrayOutputStream() );
+			String valueA = randomString();
+			String valueB = randomString();
+			String[] inner = new String[ 1 ];
+			// Act
+			try ( CaptureBuffer outer = standard.capture( () -> {
+				standard.print( valueA );
+				try ( CaptureBuffer nested = standard.capture( () -> standard.print( valueB ) ) ) {
+					inner[ 0 ] = nested.toString();
+				}
+			} ) ) {
+				// Assert
+				Assertions.assertEquals( valueA, outer.toString() );
+				Assertions.assertEquals( valueB, inner[ 0 ] );
+			}
+		}
+
+		@Test
+		void null_nesting() {
+			// Arrange
+			Standard pipe = buildStandard( new ByteArrayOutputStream() );
+			// Act
+			try {
+				pipe.withOverride( new ByteArrayOutputStream(), OverrideScope.GLOBAL, null );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( NullPointerException ignored ) {
+			}
+		}
+
+	}
+
+	@Nested
+	class install {
+
+		@Test
+		void happyPath() {
+			// Arrange
+			ByteArrayOutputStream override = new ByteArrayOutputStream();
+			String value = randomString();
+			// Act
+			Standard.install();
+			try {
+				Standard.out.withOverride( override )
+					.execute( () -> System.out.print( value ) );
+			}
+			finally {
+				Standard.uninstall();
+			}
+			// Assert
+			Assertions.assertEquals( value, override.toString() );
+		}
+
+		@Test
+		void err() {
+			// Arrange
+			ByteArrayOutputStream override = new ByteArrayOutputStream();
+			String value = randomString();
+			// Act
+			Standard.install();
+			try {
+				Standard.err.withOverride( override )
+					.execute( () -> System.err.print( value ) );
+			}
+			finally {
+				Standard.uninstall();
+			}
+			// Assert
+			Assertions.assertEquals( value, override.toString() );
+		}
+
+		@Test
+		void twice() {
+			// Arrange
+			PrintStream installed;
+			// Act
+			Standard.install();
+			try {
+				installed = System.out;
+				Standard.install();
+				// Assert
+				Assertions.assertSame( installed, System.out );
+				Assertions.assertTrue( Standard.installed() );
+			}
+			finally {
+				Standard.uninstall();
+			}
+		}
+
+		@Test
+		void uninstall() {
+			// Arrange
+			PrintStream out = System.out;
+			PrintStream err = System.err;
+			// Act
+			Standard.install();
+			Standard.uninstall();
+			// Assert
+			Assertions.assertSame( out, System.out );
+			Assertions.assertSame( err, System.err );
+			Assertions.assertFalse( Standard.installed() );
+		}
+
+		@Test
+		void uninstall_replaced() {
+			// Arrange
+			PrintStream out = System.out;
+			PrintStream replacement = new PrintStream( new ByteArrayOutputStream() );
+			// Act
+			Standard.install();
+			System.setOut( replacement );
+			Standard.uninstall();
+			// Assert
+			try {
+				Assertions.assertSame( replacement, System.out );
+			}
+			finally {
+				System.setOut( out );
+			}
+		}
+
+	}
+
+	@Nested
+	class withLineOverride {
+
+		@Test
+		void happyPath() {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			Standard standard = buildStandard( normal );
+			List<String> lines = new ArrayList<>();
+			String valueA = randomString();
+			String valueB = randomString();
+			String valueC = randomString();
+			// Act
+			standard.withLineOverride( line -> lines.add( line.toString() ) ).execute( () -> {
+				standard.println( valueA );
+				Assertions.assertEquals( List.of( valueA ), lines );
+				standard.println( valueB );
+				standard.print( valueC );
+			} );
+			// Assert
+			Assertions.assertEquals( List.of( valueA, valueB, valueC ), lines );
+			Assertions.assertEquals( 0, normal.size() );
+		}
+
+		@Test
+		void null_callback() {
+			// Arrange
+			Standard standard = buildStandard( new ByteArrayOutputStream() );
+			// Act
+			try {
+				standard.withLineOverride( null );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( NullPointerException ignored ) {
+			}
+		}
+
+	}
+
+	@Nested
+	class propagate {
+
+		@Test
+		void happyPath() throws Exception {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			ByteArrayOutputStream override = new ByteArrayOutputStream();
+
+			Standard standard = buildStandard( normal );
+			ExecutorService executor = Executors.newSingleThreadExecutor();
+			executor.submit( () -> { } ).get();
+
+			String valueA = randomString();
+			String valueB = randomString();
+			// Act
+			standard.withOverride( override, OverrideScope.THREAD )
+				.execute( () -> {
+					try {
+						executor.submit( standard.propagate( () -> standard.print( valueA ) ) ).get();
+						executor.submit( () -> standard.print( valueB ) ).get();
+					}
+					catch ( Exception e ) {
+						throw new IllegalStateException( e );
+					}
+				} );
+			executor.shutdown();
+			// Assert
+			Assertions.assertEquals( valueB, normal.toString() );
+			Assertions.assertEquals( valueA, override.toString() );
+		}
+
+		@Test
+		void null_action() {
+			// Arrange
+			Standard pipe = buildStandard( new ByteArrayOutputStream() );
+			// Act
+			try {
+				pipe.propagate( ( Runnable ) null );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( NullPointerException ignored ) {
+			}
+		}
+
+	}
+
+	@Nested
+	class toDefaultStream {
+
+		@Test
+		void happyPath() {
+			// Arrange
+			ByteArrayOutputStream pipe = new ByteArrayOutputStream();
+			Standard standard = buildStandard( pipe );
+			// Act
+			OutputStream output = standard.toDefaultStream();
+			// Assert
+			Assertions.assertSame( pipe, output );
+		}
+
+	}
+
+	@Nested
+	class withCharset {
+
+		@Test
+		void happyPath() {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			String name = randomString();
+			Standard standard = new Standard( name, normal );
+			String value = "\u00e9t\u00e9 \u65e5\u672c \ud83d\ude00";
+			// Act
+			Standard output = standard.withCharset( StandardCharsets.UTF_8 );
+			output.println( value );
+			// Assert
+			Assertions.assertEquals( name + "/UTF-8", output.toStream().toString() );
+			Assertions.assertEquals( StandardCharsets.UTF_8, output.charset() );
+			Assertions.assertEquals( value + "\n", normal.toString( StandardCharsets.UTF_8 ) );
+		}
+
+		@Test
+		void derived() {
+			// Arrange
+			Standard standard = new Standard( randomString(), new ByteArrayOutputStream() )
+				.withCharset( StandardCharsets.ISO_8859_1 );
+			// Act
+			Standard output = standard.lineBuffered();
+			// Assert
+			Assertions.assertEquals( StandardCharsets.ISO_8859_1, output.charset() );
+		}
+
+		@Test
+		void null_charset() {
+			// Arrange
+			Standard standard = new Standard( randomString(), new ByteArrayOutputStream() );
+			// Act
+			try {
+				standard.withCharset( null );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( NullPointerException ignored ) {
+			}
+		}
+
+	}
+
+	@Nested
+	class async {
+
+		@Test
+		void happyPath() throws IOException {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			ByteArrayOutputStream override = new ByteArrayOutputStream();
+			String name = randomString();
+			Standard standard = new Standard( name, normal );
+			String valueA = randomString();
+			String valueB = randomString();
+			// Act
+			Standard output = standard.async( AsyncOutputStream.SLOT_SIZE, OverflowPolicy.BLOCK );
+			output.println( valueA );
+			output.withOverride( override )
+				.execute( () -> output.println( valueB ) );
+			output.toStream().flush();
+			// Assert
+			Assertions.assertEquals( name + "/async", output.toStream().toString() );
+			Assertions.assertEquals( valueA + "\n", normal.toString() );
+			Assertions.assertEquals( valueB + "\n", override.toString() );
+			output.toDefaultStream().close();
+		}
+
+		@Test
+		void null_policy() {
+			// Arrange
+			Standard standard = buildStandard( new ByteArrayOutputStream() );
+			// Act
+			try {
+				standard.async( AsyncOutputStream.SLOT_SIZE, null );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( NullPointerException ignored ) {
+			}
+		}
+
+	}
+
+	@Nested
+	class withSink {
+
+		@Test
+		void happyPath() throws IOException {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			ByteArrayOutputStream sinkA = new ByteArrayOutputStream();
+			ByteArrayOutputStream sinkB = new ByteArrayOutputStream();
+			String name = randomString();
+			Standard standard = new Standard( name, normal );
+			String value = randomString();
+			// Act
+			Standard output = standard.withSink( sinkA, 1024, OverflowPolicy.BLOCK )
+				.withSink( sinkB, 1024, OverflowPolicy.DROP_NEWEST );
+			output.println( value );
+			output.toDefaultStream().close();
+			// Assert
+			Assertions.assertEquals( name + "/sink/sink", output.toStream().toString() );
+			Assertions.assertEquals( 2, ( ( TeeOutputStream ) output.toDefaultStream() ).sinks().size() );
+			Assertions.assertEquals( value + "\n", normal.toString() );
+			Assertions.assertEquals( value + "\n", sinkA.toString() );
+			Assertions.assertEquals( value + "\n", sinkB.toString() );
+		}
+
+		@Test
+		void null_sink() {
+			// Arrange
+			Standard standard = new Standard( randomString(), new ByteArrayOutputStream() );
+			// Act
+			try {
+				standard.withSink( null, 1024, OverflowPolicy.BLOCK );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( NullPointerException ignored ) {
+			}
+		}
+
+	}
+
+	@Nested
+	class lineBuffered {
+
+		@Test
+		void happyPath() throws IOException {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			String name = randomString();
+			Standard standard = new Standard( name, normal );
+			String valueA = randomString();
+			String valueB = randomString();
+			// Act
+			Standard output = standard.lineBuffered();
+			output.print( valueA );
+			String partial = normal.toString();
+			output.println( valueB );
+			// Assert
+			Assertions.assertEquals( name + "/lineBuffered", output.toStream().toString() );
+			Assertions.assertTrue( partial.isEmpty() );
+			Assertions.assertEquals( valueA + valueB + "\n", normal.toString() );
+		}
+
+	}
+
+	@Nested
+	class throttled {
+
+		@Test
+		void happyPath() {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			String name = randomString();
+			Standard standard = new Standard( name, normal );
+			String valueA = randomString();
+			String valueB = randomString();
+			// Act
+			Standard output = standard.throttled( ThrottledOutputStream.UNLIMITED, 1, ThrottlePolicy.DROP );
+			output.println( valueA );
+			output.println( valueB );
+			// Assert
+			Assertions.assertEquals( name + "/throttled", output.toStream().toString() );
+			Assertions.assertEquals( valueA + "\n", normal.toString() );
+			Assertions.assertEquals( 1, ( ( ThrottledOutputStream ) output.toDefaultStream() ).suppressedLines() );
+		}
+
+		@Test
+		void null_policy() {
+			// Arrange
+			Standard standard = new Standard( randomString(), new ByteArrayOutputStream() );
+			// Act
+			try {
+				standard.throttled( 1, 1, null );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( NullPointerException ignored ) {
+			}
+		}
+
+	}
+
+	@Nested
+	class deduplicated {
+
+		@Test
+		void happyPath() {
+			// Arrange
+			ByteArrayOutputStream normal = new ByteArrayOutputStream();
+			String name = randomString();
+			Standard standard = new Standard( name, normal );
+			String valueA = randomString();
+			String valueB = randomString();
+			// Act
+			Standard output = standard.deduplicated( Duration.ofMinutes( 1 ) );
+			output.println( valueA );
+			output.println( valueA );
+			output.println( valueA );
+			output.println( valueB );
+			// Assert
+			Assertions.assertEquals( name + "/deduplicated", output.toStream().toString() );
+			Assertions.assertEquals(
+				valueA + "\n" + DeduplicatingOutputStream.summary( 2 ) + valueB + "\n",
+				normal.toString()
+			);
+		}
+
+		@Test
+		void null_timeout() {
+			// Arrange
+			Standard standard = new Standard( randomString(), new ByteArrayOutputStream() );
+			// Act
+			try {
+				standard.deduplicated( null );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( NullPointerException ignored ) {
+			}
+		}
+
+	}
+
+	@Test
+	void standardOut() {
+		Standard.out.println( "Standard Out" );
+	}
+
+	@Test
+	void standardErr() {
+		Standard.err.println( "Standard ERR" );
+	}
+
+	@Test
+	void directOut() {
+		// Arrange
+		Standard output = Standard.directOut();
+		ByteArrayOutputStream capture = new ByteArrayOutputStream();
+		String value = randomString();
+		// Act
+		output.withOverride( capture ).execute( () -> output.println( value ) );
+		// Assert
+		Assertions.assertSame( output, Standard.directOut() );
+		Assertions.assertEquals( Standard.out.toStream() + "/direct", output.toStream().toString() );
+		Assertions.assertEquals( value + LINE, capture.toString() );
+	}
+
+	@Test
+	void directErr() {
+		// Arrange
+		Standard output = Standard.directErr();
+		ByteArrayOutputStream capture = new ByteArrayOutputStream();
+		String value = randomString();
+		// Act
+		output.withOverride( capture ).execute( () -> output.println( value ) );
+		// Assert
+		Assertions.assertSame( output, Standard.directErr() );
+		Assertions.assertEquals( Standard.err.toStream() + "/direct", output.toStream().toString() );
+		Assertions.assertEquals( value + LINE, capture.toString() );
 	}
 
 	@Test
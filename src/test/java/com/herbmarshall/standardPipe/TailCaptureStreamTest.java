@@ -0,0 +1,186 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.util.UUID;
+
+class TailCaptureStreamTest {
+
+	@Nested
+	class constructor {
+
+		@Test
+		void bad_capacity() {
+			// Arrange
+			int capacity = 0;
+			// Act
+			try {
+				new TailCaptureStream( capacity );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( IllegalArgumentException e ) {
+				Assertions.assertEquals( TailCaptureStream.capacityError( capacity ), e.getMessage() );
+			}
+		}
+
+		@Test
+		void bad_lines() {
+			// Arrange
+			int lines = -1;
+			// Act
+			try {
+				new TailCaptureStream( 16, lines );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( IllegalArgumentException e ) {
+				Assertions.assertEquals( TailCaptureStream.linesError( lines ), e.getMessage() );
+			}
+		}
+
+	}
+
+	@Nested
+	class write {
+
+		@Test
+		void under_capacity() {
+			// Arrange
+			TailCaptureStream stream = new TailCaptureStream( 1024 );
+			String value = randomString();
+			// Act
+			stream.write( value.getBytes(), 0, value.length() );
+			// Assert
+			Assertions.assertEquals( value, stream.toString() );
+			Assertions.assertEquals( value.length(), stream.size() );
+			Assertions.assertEquals( value.length(), stream.written() );
+		}
+
+		@Test
+		void wraps() {
+			// Arrange
+			TailCaptureStream stream = new TailCaptureStream( 8 );
+			// Act
+			stream.write( "0123456".getBytes(), 0, 7 );
+			stream.write( "789ab".getBytes(), 0, 5 );
+			// Assert
+			Assertions.assertEquals( "456789ab", stream.toString() );
+			Assertions.assertEquals( 12, stream.written() );
+		}
+
+		@Test
+		void larger_than_capacity() {
+			// Arrange
+			TailCaptureStream stream = new TailCaptureStream( 4 );
+			stream.write( 'z' );
+			// Act
+			stream.write( "0123456789".getBytes(), 0, 10 );
+			// Assert
+			Assertions.assertEquals( "6789", stream.toString() );
+			Assertions.assertEquals( 11, stream.written() );
+		}
+
+		@Test
+		void single_byte() {
+			// Arrange
+			TailCaptureStream stream = new TailCaptureStream( 2 );
+			// Act
+			stream.write( 'a' );
+			stream.write( 'b' );
+			stream.write( 'c' );
+			// Assert
+			Assertions.assertEquals( "bc", stream.toString() );
+		}
+
+		@Test
+		void max_lines() {
+			// Arrange
+			TailCaptureStream stream = new TailCaptureStream( 1024, 2 );
+			// Act
+			stream.write( "a\nb\nc\n".getBytes(), 0, 6 );
+			String complete = stream.toString();
+			stream.write( 'd' );
+			String partial = stream.toString();
+			// Assert
+			Assertions.assertEquals( "b\nc\n", complete );
+			Assertions.assertEquals( "c\nd", partial );
+		}
+
+		@Test
+		void max_lines_capacity() {
+			// Arrange
+			TailCaptureStream stream = new TailCaptureStream( 4, 2 );
+			// Act
+			stream.write( "aaaa\nbbbb\n".getBytes(), 0, 10 );
+			// Assert
+			Assertions.assertEquals( "bbb\n", stream.toString() );
+		}
+
+		@Test
+		void bad_range() {
+			// Arrange
+			TailCaptureStream stream = new TailCaptureStream( 16 );
+			// Act
+			try {
+				stream.write( new byte[ 4 ], 3, 2 );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( IndexOutOfBoundsException ignored ) {
+			}
+		}
+
+	}
+
+	@Test
+	void clear() {
+		// Arrange
+		TailCaptureStream stream = new TailCaptureStream( 16, 4 );
+		stream.write( "a\nb\n".getBytes(), 0, 4 );
+		String value = randomString().substring( 0, 8 );
+		// Act
+		stream.clear();
+		stream.write( value.getBytes(), 0, value.length() );
+		// Assert
+		Assertions.assertEquals( value, stream.toString() );
+	}
+
+	@Test
+	void override() {
+		// Arrange
+		Standard standard = new Standard( randomString(), OutputStream.nullOutputStream() );
+		TailCaptureStream stream = new TailCaptureStream( 1024, 1 );
+		String valueA = randomString();
+		String valueB = randomString();
+		// Act
+		standard.withOverride( stream ).execute( () -> {
+			standard.println( valueA );
+			standard.println( valueB );
+		} );
+		// Assert
+		Assertions.assertEquals( valueB + "\n", stream.toString() );
+	}
+
+	private static String randomString() {
+		return UUID.randomUUID().toString();
+	}
+
+}
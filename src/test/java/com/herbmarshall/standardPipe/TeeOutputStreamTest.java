@@ -0,0 +1,160 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+class TeeOutputStreamTest {
+
+	@Nested
+	class constructor {
+
+		@Test
+		void null_primary() {
+			// Arrange
+			// Act
+			try {
+				new TeeOutputStream( null );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( NullPointerException ignored ) {
+			}
+		}
+
+		@Test
+		void null_sink() {
+			// Arrange
+			// Act
+			try {
+				new TeeOutputStream( new ByteArrayOutputStream(), ( AsyncOutputStream ) null );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( NullPointerException ignored ) {
+			}
+		}
+
+	}
+
+	@Nested
+	class write {
+
+		@Test
+		void happyPath() throws IOException {
+			// Arrange
+			ByteArrayOutputStream primary = new ByteArrayOutputStream();
+			ByteArrayOutputStream targetA = new ByteArrayOutputStream();
+			ByteArrayOutputStream targetB = new ByteArrayOutputStream();
+			AsyncOutputStream sinkA = new AsyncOutputStream( targetA, 1024, OverflowPolicy.BLOCK );
+			AsyncOutputStream sinkB = new AsyncOutputStream( targetB, 1024, OverflowPolicy.BLOCK );
+			TeeOutputStream stream = new TeeOutputStream( primary, sinkA ).with( sinkB );
+			String value = randomString();
+			// Act
+			stream.write( value.getBytes() );
+			stream.close();
+			// Assert
+			Assertions.assertEquals( value, primary.toString() );
+			Assertions.assertEquals( value, targetA.toString() );
+			Assertions.assertEquals( value, targetB.toString() );
+			Assertions.assertEquals( List.of( sinkA, sinkB ), stream.sinks() );
+		}
+
+		@Test
+		void single_byte() throws IOException {
+			// Arrange
+			ByteArrayOutputStream primary = new ByteArrayOutputStream();
+			ByteArrayOutputStream target = new ByteArrayOutputStream();
+			AsyncOutputStream sink = new AsyncOutputStream( target, 1024, OverflowPolicy.BLOCK );
+			TeeOutputStream stream = new TeeOutputStream( primary, sink );
+			// Act
+			stream.write( 'x' );
+			stream.close();
+			// Assert
+			Assertions.assertEquals( "x", primary.toString() );
+			Assertions.assertEquals( "x", target.toString() );
+		}
+
+		@Test
+		void slow_sink() throws IOException {
+			// Arrange
+			CountDownLatch release = new CountDownLatch( 1 );
+			OutputStream slow = new OutputStream() {
+				@Override
+				public void write( int i ) {
+				}
+				@Override
+				public void write( byte[] bytes, int offset, int length ) {
+					try {
+						release.await();
+					}
+					catch ( InterruptedException e ) {
+						Thread.currentThread().interrupt();
+					}
+				}
+			};
+			ByteArrayOutputStream primary = new ByteArrayOutputStream();
+			AsyncOutputStream sink = new AsyncOutputStream(
+				slow,
+				AsyncOutputStream.SLOT_SIZE,
+				OverflowPolicy.DROP_NEWEST
+			);
+			TeeOutputStream stream = new TeeOutputStream( primary, sink );
+			byte[] value = new byte[ AsyncOutputStream.SLOT_SIZE ];
+			int count = 16;
+			// Act
+			for ( int i = 0; i < count; i++ ) stream.write( value );
+			long dropped = sink.droppedBytes();
+			release.countDown();
+			stream.close();
+			// Assert
+			Assertions.assertEquals( count * value.length, primary.size() );
+			Assertions.assertTrue( dropped > 0 );
+		}
+
+		@Test
+		void closed_sink() throws IOException {
+			// Arrange
+			ByteArrayOutputStream primary = new ByteArrayOutputStream();
+			AsyncOutputStream sink = new AsyncOutputStream(
+				new ByteArrayOutputStream(),
+				1024,
+				OverflowPolicy.BLOCK
+			);
+			TeeOutputStream stream = new TeeOutputStream( primary, sink );
+			String value = randomString();
+			sink.close();
+			// Act
+			stream.write( value.getBytes() );
+			// Assert
+			Assertions.assertEquals( value, primary.toString() );
+		}
+
+	}
+
+	private static String randomString() {
+		return UUID.randomUUID().toString();
+	}
+
+}
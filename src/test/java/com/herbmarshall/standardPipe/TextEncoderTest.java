@@ -0,0 +1,171 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+class TextEncoderTest {
+
+	private static final List<Charset> CHARSETS = List.of(
+		StandardCharsets.US_ASCII,
+		StandardCharsets.ISO_8859_1,
+		StandardCharsets.UTF_8,
+		StandardCharsets.UTF_16BE,
+		StandardCharsets.UTF_16,
+		Charset.forName( "windows-1252" ),
+		Charset.forName( "ISO-2022-JP" )
+	);
+
+	private static final List<String> TEXTS = List.of(
+		"",
+		"plain ascii",
+		"caf\u00e9 \u00fcber na\u00efve",
+		"\u65e5\u672c\u8a9e \u0440\u0443\u0441\u0441\u043a\u0438\u0439",
+		"emoji \ud83d\ude00 pair",
+		"lone \ud83d high, lone \ude00 low",
+		"euro \u20ac sign",
+		"trailing lone \ud83d",
+		"x".repeat( TextEncoder.SIZE - 1 ) + "\u00e9\u65e5\ud83d\ude00".repeat( TextEncoder.SIZE )
+	);
+
+	@Nested
+	class append {
+
+		@Test
+		void char_sequence() throws IOException {
+			for ( Charset charset : CHARSETS ) {
+				for ( String text : TEXTS ) {
+					// Arrange
+					ByteArrayOutputStream target = new ByteArrayOutputStream();
+					TextEncoder encoder = new TextEncoder( charset );
+					// Act
+					encoder.start( target ).append( new StringBuilder( text ), 0, text.length() ).finish();
+					// Assert
+					Assertions.assertArrayEquals(
+						text.getBytes( charset ),
+						target.toByteArray(),
+						charset + ": " + text
+					);
+				}
+			}
+		}
+
+		@Test
+		void char_array() throws IOException {
+			for ( Charset charset : CHARSETS ) {
+				for ( String text : TEXTS ) {
+					// Arrange
+					ByteArrayOutputStream target = new ByteArrayOutputStream();
+					TextEncoder encoder = new TextEncoder( charset );
+					char[] value = ( "[" + text + "]" ).toCharArray();
+					// Act
+					encoder.start( target ).append( value, 1, text.length() ).finish();
+					// Assert
+					Assertions.assertArrayEquals(
+						text.getBytes( charset ),
+						target.toByteArray(),
+						charset + ": " + text
+					);
+				}
+			}
+		}
+
+		@Test
+		void single_char() throws IOException {
+			for ( Charset charset : CHARSETS ) {
+				// Arrange
+				ByteArrayOutputStream target = new ByteArrayOutputStream();
+				TextEncoder encoder = new TextEncoder( charset );
+				String value = "a\u00e9\u20ac";
+				// A charset shifting state returns to its initial state after each value
+				byte[] expected = charset.name().startsWith( "ISO-2022" ) ?
+					eachEncoded( value, charset ) :
+					value.getBytes( charset );
+				// Act
+				encoder.start( target ).append( 'a' ).append( '\u00e9' ).append( '\u20ac' ).finish();
+				// Assert
+				Assertions.assertArrayEquals( expected, target.toByteArray(), charset.name() );
+			}
+		}
+
+		@Test
+		void shifting_charset() throws IOException {
+			// Arrange
+			Charset charset = Charset.forName( "ISO-2022-JP" );
+			ByteArrayOutputStream target = new ByteArrayOutputStream();
+			TextEncoder encoder = new TextEncoder( charset );
+			String valueA = "\u65e5\u672c";
+			String valueB = "ascii";
+			// Act
+			encoder.start( target ).append( valueA, 0, valueA.length() ).finish();
+			encoder.start( target ).append( valueB, 0, valueB.length() ).finish();
+			// Assert
+			Assertions.assertEquals( valueA + valueB, target.toString( charset ) );
+		}
+
+	}
+
+	@Nested
+	class appendLong {
+
+		@Test
+		void happyPath() throws IOException {
+			// Arrange
+			long[] values = { 0, 7, -7, 10, 99, 100, -1_000_000, Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE + 1 };
+			ByteArrayOutputStream target = new ByteArrayOutputStream();
+			TextEncoder encoder = new TextEncoder( StandardCharsets.UTF_8 ).start( target );
+			StringBuilder expected = new StringBuilder();
+			// Act
+			for ( long value : values ) {
+				encoder.appendLong( value ).append( ',' );
+				expected.append( value ).append( ',' );
+			}
+			encoder.finish();
+			// Assert
+			Assertions.assertEquals( expected.toString(), target.toString( StandardCharsets.UTF_8 ) );
+		}
+
+	}
+
+	@Test
+	void busy() throws IOException {
+		// Arrange
+		TextEncoder encoder = new TextEncoder( StandardCharsets.UTF_8 );
+		// Act
+		boolean before = encoder.busy();
+		encoder.start( new ByteArrayOutputStream() );
+		boolean during = encoder.busy();
+		encoder.finish();
+		// Assert
+		Assertions.assertFalse( before );
+		Assertions.assertTrue( during );
+		Assertions.assertFalse( encoder.busy() );
+	}
+
+	private static byte[] eachEncoded( String value, Charset charset ) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		for ( char c : value.toCharArray() ) bytes.writeBytes( String.valueOf( c ).getBytes( charset ) );
+		return bytes.toByteArray();
+	}
+
+}
@@ -0,0 +1,312 @@
+/*
+ * This file is part of herbmarshall.com: standardPipe.library  ( hereinafter "standardPipe.library" ).
+ *
+ * standardPipe.library is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU General Public License as published by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * standardPipe.library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with standardPipe.library.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.herbmarshall.standardPipe;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+class ThrottledOutputStreamTest {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos( 1 );
+
+	private final AtomicLong clock = new AtomicLong( 12345 );
+
+	@Nested
+	class constructor {
+
+		@Test
+		void bad_bytes() {
+			// Arrange
+			long rate = 0;
+			// Act
+			try {
+				new ThrottledOutputStream( new ByteArrayOutputStream(), rate, 1, ThrottlePolicy.DROP );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( IllegalArgumentException e ) {
+				Assertions.assertEquals( ThrottledOutputStream.rateError( rate ), e.getMessage() );
+			}
+		}
+
+		@Test
+		void bad_lines() {
+			// Arrange
+			long rate = -1;
+			// Act
+			try {
+				new ThrottledOutputStream( new ByteArrayOutputStream(), 1, rate, ThrottlePolicy.DROP );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( IllegalArgumentException e ) {
+				Assertions.assertEquals( ThrottledOutputStream.rateError( rate ), e.getMessage() );
+			}
+		}
+
+		@Test
+		void null_target() {
+			// Arrange
+			// Act
+			try {
+				new ThrottledOutputStream( null, 1, 1, ThrottlePolicy.DROP );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( NullPointerException ignored ) {
+			}
+		}
+
+		@Test
+		void null_policy() {
+			// Arrange
+			// Act
+			try {
+				new ThrottledOutputStream( new ByteArrayOutputStream(), 1, 1, null );
+				Assertions.fail();
+			}
+			// Assert
+			catch ( NullPointerException ignored ) {
+			}
+		}
+
+	}
+
+	@Nested
+	class write {
+
+		@Test
+		void within_rate() throws IOException {
+			// Arrange
+			ByteArrayOutputStream target = new ByteArrayOutputStream();
+			ThrottledOutputStream stream = create( target, 1024, 10, ThrottlePolicy.DROP );
+			String value = randomString() + "\n" + randomString() + "\n";
+			// Act
+			stream.write( value.getBytes() );
+			stream.write( 'x' );
+			// Assert
+			Assertions.assertEquals( value + "x", target.toString() );
+			Assertions.assertEquals( 0, stream.suppressedBytes() );
+		}
+
+		@Test
+		void bytes_over_rate() throws IOException {
+			// Arrange
+			ByteArrayOutputStream target = new ByteArrayOutputStream();
+			ThrottledOutputStream stream = create( target, 40, ThrottledOutputStream.UNLIMITED, ThrottlePolicy.DROP );
+			String valueA = randomString();
+			String valueB = randomString() + "\n";
+			// Act
+			stream.write( valueA.getBytes() );
+			stream.write( valueB.getBytes() );
+			// Assert
+			Assertions.assertEquals( valueA, target.toString() );
+			Assertions.assertEquals( valueB.length(), stream.suppressedBytes() );
+			Assertions.assertEquals( 1, stream.suppressedLines() );
+		}
+
+		@Test
+		void lines_over_rate() throws IOException {
+			// Arrange
+			ByteArrayOutputStream target = new ByteArrayOutputStream();
+			ThrottledOutputStream stream = create( target, ThrottledOutputStream.UNLIMITED, 2, ThrottlePolicy.DROP );
+			String value = randomString() + "\n";
+			// Act
+			for ( int i = 0; i < 5; i++ ) stream.write( value.getBytes() );
+			// Assert
+			Assertions.assertEquals( value + value, target.toString() );
+			Assertions.assertEquals( 3, stream.suppressedLines() );
+		}
+
+		@Test
+		void refills() throws IOException {
+			// Arrange
+			ByteArrayOutputStream target = new ByteArrayOutputStream();
+			ThrottledOutputStream stream = create( target, ThrottledOutputStream.UNLIMITED, 2, ThrottlePolicy.DROP );
+			String value = randomString() + "\n";
+			for ( int i = 0; i < 3; i++ ) stream.write( value.getBytes() );
+			// Act
+			clock.addAndGet( SECOND / 2 );
+			stream.write( value.getBytes() );
+			stream.write( value.getBytes() );
+			// Assert
+			Assertions.assertEquals( value + value + value, target.toString() );
+		}
+
+		@Test
+		void refunds_lines() throws IOException {
+			// Arrange
+			ByteArrayOutputStream target = new ByteArrayOutputStream();
+			ThrottledOutputStream stream = create( target, 10, 2, ThrottlePolicy.DROP );
+			// Act
+			stream.write( "12345678\n".getBytes() );
+			stream.write( "12345678\n".getBytes() );
+			stream.write( "\n".getBytes() );
+			// Assert
+			Assertions.assertEquals( "12345678\n\n", target.toString() );
+		}
+
+		@Test
+		void larger_than_rate() throws IOException {
+			// Arrange
+			ByteArrayOutputStream target = new ByteArrayOutputStream();
+			ThrottledOutputStream stream = create( target, 4, ThrottledOutputStream.UNLIMITED, ThrottlePolicy.DROP );
+			String value = randomString();
+			// Act
+			stream.write( value.getBytes() );
+			stream.write( value.getBytes() );
+			// Assert
+			Assertions.assertEquals( value, target.toString() );
+		}
+
+		@Test
+		void summarize() throws IOException {
+			// Arrange
+			ByteArrayOutputStream target = new ByteArrayOutputStream();
+			ThrottledOutputStream stream =
+				create( target, ThrottledOutputStream.UNLIMITED, 1, ThrottlePolicy.SUMMARIZE );
+			String value = randomString() + "\n";
+			// Act
+			for ( int i = 0; i < 4; i++ ) stream.write( value.getBytes() );
+			String before = target.toString();
+			clock.addAndGet( ThrottledOutputStream.SUMMARY_INTERVAL );
+			stream.write( value.getBytes() );
+			// Assert
+			Assertions.assertEquals( value, before );
+			String summary = ThrottledOutputStream.summary( 3, 3L * value.length() );
+			Assertions.assertEquals( value + summary + value, target.toString() );
+		}
+
+		@Test
+		void concurrent() throws InterruptedException {
+			// Arrange
+			int threads = 8;
+			int lines = 1000;
+			long rate = 100;
+			ByteArrayOutputStream target = new ByteArrayOutputStream();
+			ThrottledOutputStream stream = create( target, ThrottledOutputStream.UNLIMITED, rate, ThrottlePolicy.DROP );
+			byte[] value = ( randomString() + "\n" ).getBytes();
+			List<Thread> workers = new ArrayList<>();
+			for ( int i = 0; i < threads; i++ )
+				workers.add( new Thread( () -> {
+					for ( int j = 0; j < lines; j++ ) writeQuietly( stream, value );
+				} ) );
+			// Act
+			workers.forEach( Thread::start );
+			for ( Thread worker : workers ) worker.join();
+			// Assert
+			Assertions.assertEquals( rate * value.length, target.size() );
+			Assertions.assertEquals( threads * lines - rate, stream.suppressedLines() );
+		}
+
+	}
+
+	@Nested
+	class flush {
+
+		@Test
+		void summarize() throws IOException {
+			// Arrange
+			ByteArrayOutputStream target = new ByteArrayOutputStream();
+			ThrottledOutputStream stream =
+				create( target, ThrottledOutputStream.UNLIMITED, 1, ThrottlePolicy.SUMMARIZE );
+			String value = randomString() + "\n";
+			stream.write( value.getBytes() );
+			stream.write( value.getBytes() );
+			// Act
+			stream.flush();
+			stream.flush();
+			// Assert
+			Assertions.assertEquals( value + ThrottledOutputStream.summary( 1, value.length() ), target.toString() );
+		}
+
+		@Test
+		void partial_line() throws IOException {
+			// Arrange
+			ByteArrayOutputStream target = new ByteArrayOutputStream();
+			ThrottledOutputStream stream =
+				create( target, 4, ThrottledOutputStream.UNLIMITED, ThrottlePolicy.SUMMARIZE );
+			stream.write( "abcd".getBytes() );
+			stream.write( "ef".getBytes() );
+			// Act
+			stream.flush();
+			// Assert
+			Assertions.assertEquals( "abcd... 2 bytes suppressed\n", target.toString() );
+		}
+
+		@Test
+		void drop() throws IOException {
+			// Arrange
+			ByteArrayOutputStream target = new ByteArrayOutputStream();
+			ThrottledOutputStream stream = create( target, ThrottledOutputStream.UNLIMITED, 1, ThrottlePolicy.DROP );
+			String value = randomString() + "\n";
+			stream.write( value.getBytes() );
+			stream.write( value.getBytes() );
+			// Act
+			stream.flush();
+			// Assert
+			Assertions.assertEquals( value, target.toString() );
+			Assertions.assertEquals( 1, stream.suppressedLines() );
+		}
+
+	}
+
+	@Nested
+	class cost {
+
+		@Test
+		void above_a_unit_per_nanosecond() {
+			// Arrange
+			long rate = 2_000_000_000L;
+			// Act
+			long cost = ThrottledOutputStream.cost( rate, 1 );
+			// Assert
+			Assertions.assertEquals( 1, cost );
+		}
+
+	}
+
+	private ThrottledOutputStream create(
+		ByteArrayOutputStream target,
+		long bytesPerSecond,
+		long linesPerSecond,
+		ThrottlePolicy policy
+	) {
+		return new ThrottledOutputStream( target, bytesPerSecond, linesPerSecond, policy, clock::get );
+	}
+
+	private static void writeQuietly( ThrottledOutputStream stream, byte[] value ) {
+		try {
+			stream.write( value );
+		}
+		catch ( IOException e ) {
+			throw new AssertionError( e );
+		}
+	}
+
+	private static String randomString() {
+		return UUID.randomUUID().toString();
+	}
+
+}